@@ -3,7 +3,6 @@ package net.sf.jabref.benchmarks;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
@@ -18,6 +17,7 @@ import net.sf.jabref.exporter.SaveException;
 import net.sf.jabref.exporter.SavePreferences;
 import net.sf.jabref.importer.ParserResult;
 import net.sf.jabref.importer.fileformat.BibtexParser;
+import net.sf.jabref.logic.search.SearchExecutor;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
@@ -34,15 +34,18 @@ import org.openjdk.jmh.runner.RunnerException;
 @State(Scope.Thread)
 public class Benchmarks {
 
+    private static final int NUMBER_OF_ENTRIES = 100000;
+
     String bibtexString;
     BibDatabase database = new BibDatabase();
+    SearchExecutor searchExecutor = new SearchExecutor();
 
     @Setup
     public void init() throws IOException, SaveException {
         Globals.prefs = JabRefPreferences.getInstance();
 
         Random randomizer = new Random();
-        for (int i = 0; i < 1000; i++) {
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
             BibEntry entry = new BibEntry();
             entry.setCiteKey("id" + i);
             entry.setField("title", "This is my title " + i);
@@ -82,11 +85,21 @@ public class Benchmarks {
 
     @Benchmark
     public List<BibEntry> search() {
-        // FIXME: Reuse SearchWorker here
+        // the same as the search worker does
+        SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
+        return searchExecutor.search(searchQuery, database);
+    }
+
+    @Benchmark
+    public List<BibEntry> searchRegularExpression() {
+        SearchQuery searchQuery = new SearchQuery("Journal Title 50+$", false, true);
+        return searchExecutor.search(searchQuery, database);
+    }
+
+    @Benchmark
+    public List<BibEntry> searchSequentially() {
         SearchQuery searchQuery = new SearchQuery("Journal Title 500", false, false);
-        List<BibEntry> matchedEntries = new ArrayList<>();
-        matchedEntries.addAll(database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList()));
-        return matchedEntries;
+        return database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
     }
 
     @Benchmark
@@ -0,0 +1,138 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.SimilarityKernel;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the similarity kernel used by {@link DuplicateCheck} with the former implementation, which lower cased,
+ * split and allocated a new cost array for every comparison.
+ */
+@State(Scope.Thread)
+public class DuplicateCheckBenchmarks {
+
+    private final List<String> titles = new ArrayList<>();
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final SimilarityKernel kernel = new SimilarityKernel();
+
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        Random randomizer = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            String title = "On the Efficient Computation of Similarities " + randomizer.nextInt(1000)
+                    + " in Large Bibliographic Databases";
+            titles.add(title);
+
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("title", title);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA" + randomizer.nextInt(10));
+            entry.setField("journal", "Journal Title " + randomizer.nextInt(10));
+            entry.setField("year", String.valueOf(2000 + randomizer.nextInt(10)));
+            entry.setField("pages", "1--" + randomizer.nextInt(10));
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public double legacyCorrelateByWords() {
+        double sum = 0;
+        for (int i = 1; i < titles.size(); i++) {
+            sum += legacyCorrelateByWords(titles.get(i - 1).toLowerCase(), titles.get(i).toLowerCase());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int kernelCorrelatesByWords() {
+        int similar = 0;
+        for (int i = 1; i < titles.size(); i++) {
+            if (kernel.correlatesByWords(kernel.getTextTokens(titles.get(i - 1)), kernel.getTextTokens(titles.get(i)),
+                    0.8)) {
+                similar++;
+            }
+        }
+        return similar;
+    }
+
+    @Benchmark
+    public int isDuplicate() {
+        int duplicates = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            if (DuplicateCheck.isDuplicate(entries.get(i - 1), entries.get(i), BibDatabaseMode.BIBTEX)) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    private static double legacyCorrelateByWords(String s1, String s2) {
+        String[] w1 = s1.split("\\s");
+        String[] w2 = s2.split("\\s");
+        int n = Math.min(w1.length, w2.length);
+        int misses = 0;
+        for (int i = 0; i < n; i++) {
+            double corr = legacySimilarity(w1[i], w2[i]);
+            if (corr < 0.75) {
+                misses++;
+            }
+        }
+        double missRate = (double) misses / (double) n;
+        return 1 - missRate;
+    }
+
+    private static double legacySimilarity(String s1, String s2) {
+        String longer = s1;
+        String shorter = s2;
+        if (s1.length() < s2.length()) {
+            longer = s2;
+            shorter = s1;
+        }
+        int longerLength = longer.length();
+        if (longerLength == 0) {
+            return 1.0;
+        }
+        return (longerLength - legacyEditDistance(longer, shorter)) / (double) longerLength;
+    }
+
+    private static int legacyEditDistance(String s1, String s2) {
+        String s1LowerCase = s1.toLowerCase();
+        String s2LowerCase = s2.toLowerCase();
+
+        int[] costs = new int[s2LowerCase.length() + 1];
+        for (int i = 0; i <= s1LowerCase.length(); i++) {
+            int lastValue = i;
+            for (int j = 0; j <= s2LowerCase.length(); j++) {
+                if (i == 0) {
+                    costs[j] = j;
+                } else if (j > 0) {
+                    int newValue = costs[j - 1];
+                    if (s1LowerCase.charAt(i - 1) != s2LowerCase.charAt(j - 1)) {
+                        newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
+                    }
+                    costs[j - 1] = lastValue;
+                    lastValue = newValue;
+                }
+            }
+            if (i > 0) {
+                costs[s2LowerCase.length()] = lastValue;
+            }
+        }
+        return costs[s2LowerCase.length()];
+    }
+}
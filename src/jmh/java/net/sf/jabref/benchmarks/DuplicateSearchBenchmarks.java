@@ -0,0 +1,91 @@
+package net.sf.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.DuplicateCandidateIndex;
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the blocked duplicate search on databases of increasing size. The time per entry should stay nearly
+ * constant, as only candidates sharing a bucket are compared.
+ */
+@State(Scope.Thread)
+public class DuplicateSearchBenchmarks {
+
+    private static final String[] SYLLABLES = {"ab", "bi", "co", "da", "ef", "fu", "ga", "hi", "in", "jo", "ka",
+            "lo", "me", "no", "op", "pu", "qua", "re", "si", "ta", "un", "ve", "wo", "xy", "ze"};
+
+    @Param({"1000", "10000", "50000"})
+    public int numberOfEntries;
+
+    private List<BibEntry> entries;
+
+
+    @Setup
+    public void init() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        Random randomizer = new Random(42);
+        entries = new ArrayList<>(numberOfEntries);
+        for (int i = 0; i < numberOfEntries; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setField("title", randomTitle(randomizer));
+            entry.setField("author", "Firstname Lastname" + randomizer.nextInt(numberOfEntries / 10) + " and Other Author");
+            entry.setField("journal", "Journal Title " + randomizer.nextInt(100));
+            entry.setField("year", String.valueOf(1950 + randomizer.nextInt(70)));
+            entries.add(entry);
+            // every tenth entry gets a duplicate
+            if ((i % 10) == 0) {
+                BibEntry duplicate = (BibEntry) entry.clone();
+                duplicate.setField("title", entry.getField("title") + "s");
+                entries.add(duplicate);
+                i++;
+            }
+        }
+    }
+
+    private static String randomTitle(Random randomizer) {
+        StringBuilder title = new StringBuilder();
+        for (int word = 0; word < 6; word++) {
+            int syllables = 1 + randomizer.nextInt(4);
+            for (int syllable = 0; syllable < syllables; syllable++) {
+                title.append(SYLLABLES[randomizer.nextInt(SYLLABLES.length)]);
+            }
+            title.append(' ');
+        }
+        return title.toString().trim();
+    }
+
+    @Benchmark
+    public int blockedDuplicateSearch() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(entries);
+        int duplicates = 0;
+        for (int i = 0; i < (entries.size() - 1); i++) {
+            BibEntry first = entries.get(i);
+            for (BibEntry second : index.getSubsequentCandidates(i)) {
+                if (DuplicateCheck.isDuplicate(first, second, BibDatabaseMode.BIBTEX)) {
+                    duplicates++;
+                }
+            }
+        }
+        return duplicates;
+    }
+
+    @Benchmark
+    public DuplicateCandidateIndex buildCandidateIndex() {
+        return new DuplicateCandidateIndex(entries);
+    }
+}
@@ -20,6 +20,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 
 import net.sf.jabref.gui.undo.UndoableInsertEntry;
@@ -41,6 +43,11 @@ public class JabRefExecutorService implements Executor {
         thread.setName("JabRef CachedThreadPool");
         return thread;
     });
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("JabRef ForkJoinPool - " + thread.getPoolIndex());
+        return thread;
+    }, null, false);
     private final ConcurrentLinkedQueue<Thread> startedThreads = new ConcurrentLinkedQueue<>();
 
     private JabRefExecutorService() {}
@@ -74,6 +81,14 @@ public class JabRefExecutorService implements Executor {
         }
     }
 
+    /**
+     * Returns the work-stealing pool used for splitting CPU bound work (e.g., comparing all entries of a database)
+     * across all cores. Tasks which may block for a long time have to use a {@link ForkJoinPool.ManagedBlocker}.
+     */
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
     private static class AutoCleanupRunnable implements Runnable {
 
         private final Runnable runnable;
@@ -138,6 +153,7 @@ public class JabRefExecutorService implements Executor {
 
     public void shutdownEverything() {
         this.executorService.shutdown();
+        this.forkJoinPool.shutdownNow();
         for(Thread thread : startedThreads) {
             thread.interrupt();
         }
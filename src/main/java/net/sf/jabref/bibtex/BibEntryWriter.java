@@ -1,6 +1,7 @@
 package net.sf.jabref.bibtex;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Calendar;
 import java.util.HashSet;
@@ -54,10 +55,25 @@ public class BibEntryWriter {
             return;
         }
         out.write(Globals.NEWLINE);
-        writeRequiredFieldsFirstRemainingFieldsSecond(entry, out, bibDatabaseMode);
+        writeAndUpdate(entry, out, bibDatabaseMode);
         out.write(Globals.NEWLINE);
     }
 
+    /**
+     * Formats the given entry like {@link #write(BibEntry, Writer, BibDatabaseMode, Boolean)} does when reformatting,
+     * but neither changes the entry nor shows errors. Thus, several entries may be formatted concurrently, each by its
+     * own writer. The changes of the entry are applied afterwards by {@link FormattedEntry#applyTo(BibEntry)}.
+     */
+    public FormattedEntry format(BibEntry entry, BibDatabaseMode bibDatabaseMode) throws IOException {
+        StringWriter out = new StringWriter();
+        FormattedEntry formatted = new FormattedEntry();
+        out.write(Globals.NEWLINE);
+        writeRequiredFieldsFirstRemainingFieldsSecond(entry, out, bibDatabaseMode, formatted);
+        out.write(Globals.NEWLINE);
+        formatted.text = out.toString();
+        return formatted;
+    }
+
     public void writeWithoutPrependedNewlines(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode) throws IOException {
         // if the entry has not been modified, write it as it was
         if (!entry.hasChanged()) {
@@ -65,7 +81,14 @@ public class BibEntryWriter {
             return;
         }
 
-        writeRequiredFieldsFirstRemainingFieldsSecond(entry, out, bibDatabaseMode);
+        writeAndUpdate(entry, out, bibDatabaseMode);
+    }
+
+    private void writeAndUpdate(BibEntry entry, Writer out, BibDatabaseMode bibDatabaseMode) throws IOException {
+        FormattedEntry formatted = new FormattedEntry();
+        writeRequiredFieldsFirstRemainingFieldsSecond(entry, out, bibDatabaseMode, formatted);
+        formatted.getError().ifPresent(error -> JOptionPane.showMessageDialog(null, error));
+        formatted.applyTo(entry);
     }
 
     /**
@@ -76,12 +99,12 @@ public class BibEntryWriter {
      * @throws IOException
      */
     private void writeRequiredFieldsFirstRemainingFieldsSecond(BibEntry entry, Writer out,
-            BibDatabaseMode bibDatabaseMode) throws IOException {
+            BibDatabaseMode bibDatabaseMode, FormattedEntry formatted) throws IOException {
         // Write header with type and bibtex-key.
         TypedBibEntry typedEntry = new TypedBibEntry(entry, Optional.empty(), bibDatabaseMode);
         out.write('@' + typedEntry.getTypeForDisplay() + '{');
 
-        writeKeyField(entry, out);
+        writeKeyField(entry, out, formatted);
 
         Set<String> written = new HashSet<>();
         written.add(BibEntry.KEY_FIELD);
@@ -93,7 +116,7 @@ public class BibEntryWriter {
         List<String> fields = type.getRequiredFieldsFlat();
         if (fields != null) {
             for (String value : fields) {
-                writeField(entry, out, value, indentation);
+                writeField(entry, out, value, indentation, formatted);
                 written.add(value);
             }
         }
@@ -102,7 +125,7 @@ public class BibEntryWriter {
         if (fields != null) {
             for (String value : fields) {
                 if (!written.contains(value)) { // If field appears both in req. and opt. don't repeat.
-                    writeField(entry, out, value, indentation);
+                    writeField(entry, out, value, indentation, formatted);
                     written.add(value);
                 }
             }
@@ -117,21 +140,21 @@ public class BibEntryWriter {
             }
         }
         for (String field : remainingFields) {
-            writeField(entry, out, field, indentation);
+            writeField(entry, out, field, indentation, formatted);
         }
 
         // Finally, end the entry.
         out.write('}');
     }
 
-    private void writeKeyField(BibEntry entry, Writer out) throws IOException {
+    private void writeKeyField(BibEntry entry, Writer out, FormattedEntry formatted) throws IOException {
         String keyField = StringUtil.shaveString(entry.getCiteKey());
 
         if ((keyField.length() == 0) || (keyField.length() == 1) || !Character.isLetter(keyField.charAt(0))) {
             keyField = LabelPatternUtil.checkLegalKey(keyField, true);
         }
 
-        entry.setCiteKey(keyField);
+        formatted.key = keyField;
         out.write(keyField + ',' + Globals.NEWLINE);
     }
 
@@ -141,9 +164,11 @@ public class BibEntryWriter {
      * @param entry             the entry to write
      * @param out               the target of the write
      * @param name              The field name
+     * @param formatted         collects the changes of the entry and the errors
      * @throws IOException In case of an IO error
      */
-    private void writeField(BibEntry entry, Writer out, String name, int indentation) throws IOException {
+    private void writeField(BibEntry entry, Writer out, String name, int indentation, FormattedEntry formatted)
+            throws IOException {
         String field = entry.getField(name);
         // only write field if is is not empty or if empty fields should be included
         // the first condition mirrors mirror behavior of com.jgoodies.common.base.Strings.isNotBlank(str)
@@ -153,13 +178,11 @@ public class BibEntryWriter {
             try {
                 y = Integer.parseInt(field);
             } catch (NumberFormatException | NullPointerException ex) {
-                JOptionPane.showMessageDialog(null, "Error in field '" + name + "': " + ex.getMessage());
+                formatted.error = "Error in field '" + name + "': " + ex.getMessage();
             }
 
             if (y < 0) {
                 field = null;
-            } else {
-                entry.setChanged(true);
             }
         }
 
@@ -203,4 +226,38 @@ public class BibEntryWriter {
 
         return actualField.toLowerCase() + StringUtil.repeatSpaces(intendation - actualField.length()) + " = ";
     }
+
+
+    /**
+     * An entry formatted by {@link BibEntryWriter#format(BibEntry, BibDatabaseMode)}, together with the changes
+     * writing makes to the entry and the error found in its fields, if any.
+     */
+    public static class FormattedEntry {
+
+        private String text;
+        private String key;
+        private String error;
+
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Returns the message of the error found in the fields of the entry. The field with the error is not written.
+         */
+        public Optional<String> getError() {
+            return Optional.ofNullable(error);
+        }
+
+        /**
+         * Sets the key which has been written and marks the entry as changed, so that it is written as text again.
+         */
+        public void applyTo(BibEntry entry) {
+            if (key.isEmpty() ? (entry.getCiteKey() != null) : !key.equals(entry.getCiteKey())) {
+                entry.setCiteKey(key);
+            }
+            entry.setChanged(true);
+        }
+    }
 }
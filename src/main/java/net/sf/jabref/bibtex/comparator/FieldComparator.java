@@ -15,6 +15,7 @@
 */
 package net.sf.jabref.bibtex.comparator;
 
+import java.text.CollationKey;
 import java.text.Collator;
 import java.text.ParseException;
 import java.text.RuleBasedCollator;
@@ -40,12 +41,12 @@ import net.sf.jabref.model.entry.MonthUtil;
  * @author alver
  * @version Date: Oct 13, 2005 Time: 10:10:04 PM To
  *
- * TODO: Testcases
- *
  */
 public class FieldComparator implements Comparator<BibEntry> {
 
     private static final Collator COLLATOR = getCollator();
+    // the sort keys of all field comparators, by the field name of the comparator
+    private static final SortKeyCache<SortKey> SORT_KEYS = new SortKeyCache<>();
 
     private static Collator getCollator() {
         try {
@@ -65,6 +66,8 @@ public class FieldComparator implements Comparator<BibEntry> {
     private final FieldType fieldType;
     private final boolean isNumeric;
     private final int multiplier;
+    // the name of the sort keys of this comparator, comparators with the same name share their sort keys
+    private final String sortKeyName;
 
     public FieldComparator(String field) {
         this(field, false);
@@ -75,6 +78,7 @@ public class FieldComparator implements Comparator<BibEntry> {
         this.field = fieldName.split(MainTableFormat.COL_DEFINITION_FIELD_SEPARATOR);
         fieldType = determineFieldType();
         isNumeric = InternalBibtexFields.isNumeric(this.field[0]);
+        sortKeyName = fieldType + ":" + fieldName;
 
         if(fieldType == FieldType.MONTH) {
             /*
@@ -108,45 +112,26 @@ public class FieldComparator implements Comparator<BibEntry> {
 
     @Override
     public int compare(BibEntry e1, BibEntry e2) {
-        String f1;
-        String f2;
-
-        if (fieldType == FieldType.TYPE) {
-            // Sort by type.
-            f1 = e1.getType();
-            f2 = e2.getType();
-        } else {
-            // If the field is author or editor, we rearrange names so they are
-            // sorted according to last name.
-            f1 = getField(e1);
-            f2 = getField(e2);
-        }
+        SortKey k1 = getSortKey(e1);
+        SortKey k2 = getSortKey(e2);
 
         // Catch all cases involving null:
-        if ((f1 == null) && (f2 == null)) {
+        if (k1.missing && k2.missing) {
             return 0;
-        } else if(f1 == null) {
+        } else if (k1.missing) {
             return multiplier;
-        } else if (f2 == null) {
+        } else if (k2.missing) {
             return -multiplier;
         }
 
-        // Now we now that both f1 and f2 are != null
-        if (fieldType == FieldType.NAME) {
-            f1 = AuthorList.fixAuthorForAlphabetization(f1);
-            f2 = AuthorList.fixAuthorForAlphabetization(f2);
-        } else if (fieldType == FieldType.YEAR) {
-            Integer f1year = StringUtil.intValueOfWithNull(f1);
-            Integer f2year = StringUtil.intValueOfWithNull(f2);
-            int comparisonResult = Integer.compare(f1year == null ? 0 : f1year, f2year == null ? 0 : f2year);
-            return comparisonResult * multiplier;
-        } else if (fieldType == FieldType.MONTH) {
-            return Integer.compare(MonthUtil.getMonth(f1).number, MonthUtil.getMonth(f2).number) * multiplier;
+        // Now we now that both fields are present
+        if ((fieldType == FieldType.YEAR) || (fieldType == FieldType.MONTH)) {
+            return Integer.compare(k1.number, k2.number) * multiplier;
         }
 
         if (isNumeric) {
-            Integer i1 = StringUtil.intValueOfWithNull(f1);
-            Integer i2 = StringUtil.intValueOfWithNull(f2);
+            Integer i1 = k1.numericValue;
+            Integer i2 = k2.numericValue;
 
             if ((i2 != null) && (i1 != null)) {
                 // Ok, parsing was successful. Update f1 and f2:
@@ -163,9 +148,47 @@ public class FieldComparator implements Comparator<BibEntry> {
             // Else none of them were parseable, and we can fall back on comparing strings.
         }
 
-        String ours = f1.toLowerCase(Locale.ENGLISH);
-        String theirs = f2.toLowerCase(Locale.ENGLISH);
-        return COLLATOR.compare(ours, theirs) * multiplier;
+        return k1.text.compareTo(k2.text) * multiplier;
+    }
+
+    /**
+     * Returns the cached sort key of the entry, see {@link #computeSortKey(BibEntry)}.
+     */
+    private SortKey getSortKey(BibEntry entry) {
+        return SORT_KEYS.getSortKey(entry, sortKeyName, this::computeSortKey);
+    }
+
+    /**
+     * Prepares the field value of the entry for comparisons: names are rearranged and years, months and numbers
+     * are parsed. The text is converted to a collation key, which compares like the collator does, but faster.
+     */
+    private SortKey computeSortKey(BibEntry entry) {
+        String value;
+        if (fieldType == FieldType.TYPE) {
+            // Sort by type.
+            value = entry.getType();
+        } else {
+            value = getField(entry);
+        }
+
+        if (value == null) {
+            return SortKey.MISSING;
+        }
+
+        if (fieldType == FieldType.NAME) {
+            // If the field is author or editor, we rearrange names so they are
+            // sorted according to last name.
+            value = AuthorList.fixAuthorForAlphabetization(value);
+        } else if (fieldType == FieldType.YEAR) {
+            Integer year = StringUtil.intValueOfWithNull(value);
+            return new SortKey(year == null ? 0 : year, null, null);
+        } else if (fieldType == FieldType.MONTH) {
+            return new SortKey(MonthUtil.getMonth(value).number, null, null);
+        }
+
+        // parsed for all fields, as the sort key may be shared with a comparator for which the field is numeric
+        Integer numericValue = StringUtil.intValueOfWithNull(value);
+        return new SortKey(0, numericValue, COLLATOR.getCollationKey(value.toLowerCase(Locale.ENGLISH)));
     }
 
     private String getField(BibEntry entry) {
@@ -186,4 +209,35 @@ public class FieldComparator implements Comparator<BibEntry> {
     public String getFieldName() {
         return fieldName;
     }
+
+
+    /**
+     * The prepared value of the sort field of an entry.
+     */
+    private static class SortKey {
+
+        private static final SortKey MISSING = new SortKey();
+
+        private final boolean missing;
+        // the year or month
+        private final int number;
+        // the value of a numeric field, null if it is not a number
+        private final Integer numericValue;
+        private final CollationKey text;
+
+
+        private SortKey() {
+            this.missing = true;
+            this.number = 0;
+            this.numericValue = null;
+            this.text = null;
+        }
+
+        SortKey(int number, Integer numericValue, CollationKey text) {
+            this.missing = false;
+            this.number = number;
+            this.numericValue = numericValue;
+            this.text = text;
+        }
+    }
 }
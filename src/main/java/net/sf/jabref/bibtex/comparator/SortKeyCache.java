@@ -0,0 +1,63 @@
+package net.sf.jabref.bibtex.comparator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the sort keys of entries, so that sorting does not have to prepare the field values again for every
+ * comparison. The keys of an entry are computed once per sort field and dropped as soon as the
+ * {@link BibEntry#getModificationCount()} of the entry changes, as a sort field may depend on several fields (e.g.,
+ * "author/editor" or aliases). The count also covers the keys which are set without a {@link FieldChangedEvent}.
+ *
+ * Entries are referenced weakly and compared by identity.
+ */
+class SortKeyCache<K> {
+
+    // weak keys are compared by identity
+    private final Map<BibEntry, EntrySortKeys<K>> entrySortKeys = CacheBuilder.newBuilder().weakKeys()
+            .<BibEntry, EntrySortKeys<K>> build().asMap();
+
+
+    /**
+     * Returns the sort key of the entry for the given sort field, computing it if it is not cached.
+     */
+    public K getSortKey(BibEntry entry, String sortField, Function<BibEntry, K> computeSortKey) {
+        // read before computing, so that a key computed while the entry changed is dropped on the next call
+        int modificationCount = entry.getModificationCount();
+        EntrySortKeys<K> sortKeys = entrySortKeys.get(entry);
+        if ((sortKeys == null) || (sortKeys.modificationCount != modificationCount)) {
+            sortKeys = new EntrySortKeys<>(modificationCount);
+            entrySortKeys.put(entry, sortKeys);
+        }
+        K sortKey = sortKeys.keys.get(sortField);
+        if (sortKey == null) {
+            sortKey = computeSortKey.apply(entry);
+            if (sortKey != null) {
+                sortKeys.keys.put(sortField, sortKey);
+            }
+        }
+        return sortKey;
+    }
+
+
+    /**
+     * The sort keys of a single entry at the given modification count. Must not reference the entry itself,
+     * otherwise it would never be collected.
+     */
+    private static class EntrySortKeys<K> {
+
+        private final int modificationCount;
+        private final Map<String, K> keys = new ConcurrentHashMap<>();
+
+
+        EntrySortKeys(int modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
+}
@@ -32,7 +32,7 @@ import net.sf.jabref.importer.fetcher.EntryFetcher;
 import net.sf.jabref.importer.fetcher.EntryFetchers;
 import net.sf.jabref.logic.CustomEntryTypesManager;
 import net.sf.jabref.logic.l10n.Localization;
-import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
+import net.sf.jabref.logic.labelpattern.BibtexKeyGenerator;
 import net.sf.jabref.logic.logging.JabRefLogger;
 import net.sf.jabref.logic.search.DatabaseSearcher;
 import net.sf.jabref.logic.search.SearchQuery;
@@ -428,10 +428,7 @@ public class ArgumentProcessor {
             MetaData metaData = parserResult.getMetaData();
             if (metaData != null) {
                 LOGGER.info(Localization.lang("Regenerating BibTeX keys according to metadata"));
-                for (BibEntry entry : database.getEntries()) {
-                    // try to make a new label
-                    LabelPatternUtil.makeLabel(metaData, database, entry);
-                }
+                new BibtexKeyGenerator(metaData, database).makeLabels(new ArrayList<>(database.getEntries()));
             } else {
                 LOGGER.info(Localization.lang("No meta data present in bibfile. Cannot regenerate BibTeX keys"));
             }
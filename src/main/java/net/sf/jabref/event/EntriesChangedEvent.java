@@ -0,0 +1,27 @@
+package net.sf.jabref.event;
+
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * <code>EntriesChangedEvent</code> is fired once when several <code>BibEntry</code> objects have been changed
+ * together, e.g., when the keys of many entries have been generated.
+ */
+public class EntriesChangedEvent {
+
+    private final List<BibEntry> bibEntries;
+
+
+    /**
+     * @param bibEntries <code>BibEntry</code> objects the changes were applied on.
+     */
+    public EntriesChangedEvent(List<BibEntry> bibEntries) {
+        this.bibEntries = Collections.unmodifiableList(bibEntries);
+    }
+
+    public List<BibEntry> getBibEntries() {
+        return bibEntries;
+    }
+}
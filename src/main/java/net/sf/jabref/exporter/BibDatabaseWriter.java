@@ -15,6 +15,7 @@
  */
 package net.sf.jabref.exporter;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -36,6 +37,7 @@ import net.sf.jabref.BibDatabaseContext;
 import net.sf.jabref.Globals;
 import net.sf.jabref.MetaData;
 import net.sf.jabref.bibtex.BibEntryWriter;
+import net.sf.jabref.bibtex.BibEntryWriter.FormattedEntry;
 import net.sf.jabref.bibtex.comparator.BibtexStringComparator;
 import net.sf.jabref.bibtex.comparator.CrossRefEntryComparator;
 import net.sf.jabref.bibtex.comparator.FieldComparator;
@@ -46,6 +48,7 @@ import net.sf.jabref.logic.id.IdComparator;
 import net.sf.jabref.logic.util.strings.StringUtil;
 import net.sf.jabref.model.EntryTypes;
 import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
 import net.sf.jabref.model.entry.CustomEntryType;
@@ -144,11 +147,21 @@ public class BibDatabaseWriter {
      */
     public SaveSession saveDatabase(BibDatabaseContext bibDatabaseContext, SavePreferences preferences)
             throws SaveException {
-        return savePartOfDatabase(bibDatabaseContext, bibDatabaseContext.getDatabase().getEntries(), preferences);
+        return save(bibDatabaseContext, bibDatabaseContext.getDatabase().getEntries(), preferences, true);
     }
 
     public SaveSession savePartOfDatabase(BibDatabaseContext bibDatabaseContext, List<BibEntry> entries,
             SavePreferences preferences) throws SaveException {
+        return save(bibDatabaseContext, entries, preferences, false);
+    }
+
+    /**
+     * Saves the entries to a temporary file. When the whole database is saved and the file is not reformatted, the
+     * save is incremental: the unchanged entries are copied from the regions of the current database file holding
+     * them, only the changed entries are formatted and encoded.
+     */
+    private SaveSession save(BibDatabaseContext bibDatabaseContext, List<BibEntry> entries,
+            SavePreferences preferences, boolean wholeDatabase) throws SaveException {
 
         SaveSession session;
         try {
@@ -157,11 +170,25 @@ public class BibDatabaseWriter {
             throw new SaveException(e.getMessage(), e.getLocalizedMessage());
         }
 
+        BibDatabase database = bibDatabaseContext.getDatabase();
+        File oldFile = bibDatabaseContext.getDatabaseFile();
+        Optional<EntryFileRegions> oldRegions = Optional.empty();
+        if (wholeDatabase && !preferences.isReformatFile() && (preferences.getEncoding() != null)
+                && (oldFile != null) && oldFile.isFile()) {
+            oldRegions = EntryFileRegions.find(database, oldFile, preferences.getEncoding());
+        }
+
         exceptionCause = null;
         // Get our data stream. This stream writes only to a temporary file until committed.
-        try (VerifyingWriter writer = session.getWriter()) {
-            List<FieldChange> saveActionChanges = writePartOfDatabase(writer, bibDatabaseContext, entries, preferences);
+        try (VerifyingWriter writer = session.getWriter();
+                UnchangedEntryCopier copier = oldRegions.isPresent() ? new UnchangedEntryCopier(session,
+                        oldRegions.get(), oldFile) : null) {
+            List<FieldChange> saveActionChanges = writePartOfDatabase(writer, bibDatabaseContext, entries,
+                    preferences, copier);
             session.addFieldChanges(saveActionChanges);
+            if (wholeDatabase) {
+                session.setEntryFileRegions(database, copier == null ? null : copier.getNewRegions());
+            }
         } catch (IOException ex) {
             LOGGER.error("Could not write file", ex);
             session.cancel();
@@ -174,6 +201,14 @@ public class BibDatabaseWriter {
 
     public List<FieldChange> writePartOfDatabase(Writer writer, BibDatabaseContext bibDatabaseContext,
             List<BibEntry> entries, SavePreferences preferences) throws IOException {
+        return writePartOfDatabase(writer, bibDatabaseContext, entries, preferences, null);
+    }
+
+    /**
+     * @param copier writes the unchanged entries of an incremental save, null to write all entries as text
+     */
+    private List<FieldChange> writePartOfDatabase(Writer writer, BibDatabaseContext bibDatabaseContext,
+            List<BibEntry> entries, SavePreferences preferences, UnchangedEntryCopier copier) throws IOException {
         Objects.requireNonNull(writer);
 
         // Map to collect entry type definitions that we must save along with entries using them.
@@ -193,22 +228,20 @@ public class BibDatabaseWriter {
         // Write database entries.
         List<BibEntry> sortedEntries = BibDatabaseWriter.getSortedEntries(bibDatabaseContext, entries, preferences);
         List<FieldChange> saveActionChanges = BibDatabaseWriter.applySaveActions(sortedEntries, bibDatabaseContext.getMetaData());
-        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(new LatexFieldFormatter(), true);
-        for (BibEntry entry : sortedEntries) {
-            exceptionCause = entry;
-
-            // Check if we must write the type definition for this
-            // entry, as well. Our criterion is that all non-standard
-            // types (*not* all customized standard types) must be written.
-            if (!EntryTypes.getStandardType(entry.getType(), bibDatabaseContext.getMode()).isPresent()) {
-                // If user-defined entry type, then add it
-                // Otherwise (getType returns empty optional) it is a completely unknown entry type, so ignore it
-                EntryTypes.getType(entry.getType(), bibDatabaseContext.getMode()).ifPresent(
-                        entryType -> typesToWrite.put(entryType.getName(), entryType));
-            }
-
-            bibtexEntryWriter.write(entry, writer, bibDatabaseContext.getMode(), preferences.isReformatFile());
-
+        // the entries are formatted in parallel, but written here in their order. Getting the mode of a database
+        // without entries would store the default mode in its meta data.
+        if (!sortedEntries.isEmpty()) {
+            BibDatabaseMode mode = bibDatabaseContext.getMode();
+            boolean reformat = preferences.isReformatFile();
+            new EntryFormattingPipeline<FormattedEntry>(sortedEntries, () -> {
+                // formatters are not thread safe
+                BibEntryWriter entryWriter = new BibEntryWriter(new LatexFieldFormatter(), true);
+                return (entry, index) -> formatEntry(entryWriter, entry, mode, reformat);
+            }).writeTo((entry, formatted) -> writeEntry(writer, entry, formatted, bibDatabaseContext, typesToWrite,
+                    copier));
+        }
+        if (copier != null) {
+            copier.flush();
         }
 
         if (preferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
@@ -225,6 +258,60 @@ public class BibDatabaseWriter {
         return saveActionChanges;
     }
 
+    /**
+     * Returns the formatted entry, or null if the entry is unchanged and not reformatted. Does not change the entry, as
+     * the entries are formatted concurrently.
+     */
+    private static FormattedEntry formatEntry(BibEntryWriter entryWriter, BibEntry entry, BibDatabaseMode mode,
+            boolean reformat) throws IOException {
+        if (!reformat && !entry.hasChanged()) {
+            return null;
+        }
+        return entryWriter.format(entry, mode);
+    }
+
+    /**
+     * Applies the changes of formatting to the entry and writes it.
+     *
+     * @param formatted the formatted entry, or null if the entry is unchanged and not reformatted
+     */
+    private void writeEntry(Writer writer, BibEntry entry, FormattedEntry formatted,
+            BibDatabaseContext bibDatabaseContext, Map<String, EntryType> typesToWrite, UnchangedEntryCopier copier)
+            throws IOException {
+        exceptionCause = entry;
+        if (formatted != null) {
+            Optional<String> error = formatted.getError();
+            if (error.isPresent()) {
+                throw new IOException(error.get());
+            }
+            formatted.applyTo(entry);
+        }
+
+        // Check if we must write the type definition for this
+        // entry, as well. Our criterion is that all non-standard
+        // types (*not* all customized standard types) must be written.
+        if (!EntryTypes.getStandardType(entry.getType(), bibDatabaseContext.getMode()).isPresent()) {
+            // If user-defined entry type, then add it
+            // Otherwise (getType returns empty optional) it is a completely unknown entry type, so ignore it
+            EntryTypes.getType(entry.getType(), bibDatabaseContext.getMode()).ifPresent(
+                    entryType -> typesToWrite.put(entryType.getName(), entryType));
+        }
+
+        if (formatted == null) {
+            // the entry has not been modified, write it as it was
+            if (copier == null) {
+                writer.write(entry.getParsedSerialization());
+            } else {
+                copier.write(entry);
+            }
+        } else {
+            if (copier != null) {
+                copier.flush();
+            }
+            writer.write(formatted.getText());
+        }
+    }
+
     /**
      * Saves the database to file, including only the entries included in the
      * supplied input array bes.
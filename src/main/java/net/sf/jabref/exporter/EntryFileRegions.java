@@ -0,0 +1,220 @@
+package net.sf.jabref.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.file.Files;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The byte regions of a database file which hold the serializations of the unchanged entries of the database. An
+ * incremental save copies these regions from the old file instead of encoding the entries again.
+ *
+ * After a database is read, the regions are found by locating the parsed serializations of the entries in the file.
+ * After every save, the regions of the new file are recorded. The regions are only used as long as the file keeps the
+ * length, the modification time and the checksum it had when they were recorded, and a region is only used as long as
+ * its entry keeps the parsed serialization it had then. Otherwise the regions are located again, and the entries
+ * which cannot be located are written as text.
+ */
+class EntryFileRegions {
+
+    private static final Log LOGGER = LogFactory.getLog(EntryFileRegions.class);
+
+    // databases are referenced weakly and compared by identity
+    private static final Cache<BibDatabase, EntryFileRegions> REGIONS = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static final HashFunction CHECKSUM = Hashing.crc32();
+
+    private final Charset encoding;
+    private final Map<BibEntry, Region> regions = new IdentityHashMap<>();
+    private File file;
+    private long length;
+    private long lastModified;
+    private HashCode checksum;
+
+
+    EntryFileRegions(Charset encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Returns the regions of the unchanged entries of the database in the given file, or an empty optional if the
+     * file does not hold any of them.
+     */
+    static Optional<EntryFileRegions> find(BibDatabase database, File file, Charset encoding) {
+        EntryFileRegions recorded = REGIONS.getIfPresent(database);
+        if ((recorded != null) && recorded.isValidFor(file, encoding)) {
+            return Optional.of(recorded);
+        }
+
+        try {
+            EntryFileRegions located = locate(file, encoding, database.getEntries());
+            if (located.regions.isEmpty()) {
+                REGIONS.invalidate(database);
+                return Optional.empty();
+            }
+            REGIONS.put(database, located);
+            return Optional.of(located);
+        } catch (IOException e) {
+            LOGGER.info("Could not read entries from " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Drops the recorded regions of the database, e.g., because its file has been written without recording them.
+     */
+    static void forget(BibDatabase database) {
+        REGIONS.invalidate(database);
+    }
+
+    /**
+     * Records these regions for the database, after they have been written to the given file.
+     */
+    void register(BibDatabase database, File savedFile) {
+        file = savedFile;
+        length = savedFile.length();
+        lastModified = savedFile.lastModified();
+        try {
+            checksum = checksum(savedFile);
+        } catch (IOException e) {
+            LOGGER.info("Could not compute the checksum of " + savedFile, e);
+            REGIONS.invalidate(database);
+            return;
+        }
+        REGIONS.put(database, this);
+    }
+
+    /**
+     * Returns the region of the entry, or null if the entry has not been located or its parsed serialization has been
+     * replaced since.
+     */
+    Region get(BibEntry entry) {
+        Region region = regions.get(entry);
+        // compared by identity, as comparing the contents would take as long as writing them
+        if ((region == null) || (region.serialization != entry.getParsedSerialization())) {
+            return null;
+        }
+        return region;
+    }
+
+    /**
+     * Adds the region holding the current parsed serialization of the entry.
+     */
+    void add(BibEntry entry, long start, long end) {
+        regions.put(entry, new Region(entry.getParsedSerialization(), start, end));
+    }
+
+    private boolean isValidFor(File otherFile, Charset otherEncoding) {
+        if (!file.equals(otherFile) || !encoding.equals(otherEncoding) || (otherFile.length() != length)
+                || (otherFile.lastModified() != lastModified)) {
+            return false;
+        }
+        // the file may have been changed without changing its length and modification time
+        try {
+            return checksum(otherFile).equals(checksum);
+        } catch (IOException e) {
+            LOGGER.info("Could not compute the checksum of " + otherFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Locates the serializations of the unchanged entries in the file, in the order of the given list, which is the
+     * order of the file right after it has been read. Every located serialization is encoded again and compared to
+     * the bytes of the file, so a region is only used if copying it gives exactly the bytes a full save writes.
+     */
+    private static EntryFileRegions locate(File file, Charset encoding, List<BibEntry> entries) throws IOException {
+        EntryFileRegions result = new EntryFileRegions(encoding);
+        result.file = file;
+        result.length = file.length();
+        result.lastModified = file.lastModified();
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        result.checksum = CHECKSUM.hashBytes(bytes);
+        String text = new String(bytes, encoding);
+        CharsetEncoder encoder = encoding.newEncoder();
+        int textPosition = 0;
+        long bytePosition = 0;
+        for (BibEntry entry : entries) {
+            String serialization = entry.getParsedSerialization();
+            if (entry.hasChanged() || (serialization == null) || serialization.isEmpty()) {
+                continue;
+            }
+            int start = text.indexOf(serialization, textPosition);
+            if (start < 0) {
+                continue;
+            }
+
+            try {
+                bytePosition += encoder.encode(CharBuffer.wrap(text, textPosition, start)).remaining();
+                ByteBuffer encoded = encoder.encode(CharBuffer.wrap(serialization));
+                if (!matches(bytes, bytePosition, encoded)) {
+                    // the characters cannot be mapped to the bytes of the file
+                    return new EntryFileRegions(encoding);
+                }
+                result.add(entry, bytePosition, bytePosition + encoded.remaining());
+                bytePosition += encoded.remaining();
+            } catch (CharacterCodingException e) {
+                return new EntryFileRegions(encoding);
+            }
+            textPosition = start + serialization.length();
+        }
+        return result;
+    }
+
+    private static HashCode checksum(File file) throws IOException {
+        return com.google.common.io.Files.hash(file, CHECKSUM);
+    }
+
+    private static boolean matches(byte[] bytes, long position, ByteBuffer encoded) {
+        if ((position + encoded.remaining()) > bytes.length) {
+            return false;
+        }
+        return ByteBuffer.wrap(bytes, (int) position, encoded.remaining()).equals(encoded);
+    }
+
+
+    /**
+     * The bytes [start, end) of the file, which hold the given parsed serialization of an entry.
+     */
+    static class Region {
+
+        private final String serialization;
+        private final long start;
+        private final long end;
+
+
+        Region(String serialization, long start, long end) {
+            this.serialization = serialization;
+            this.start = start;
+            this.end = end;
+        }
+
+        long getStart() {
+            return start;
+        }
+
+        long getEnd() {
+            return end;
+        }
+    }
+}
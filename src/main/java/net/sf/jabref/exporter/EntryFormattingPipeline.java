@@ -0,0 +1,137 @@
+package net.sf.jabref.exporter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Formats the entries of a save or an export on all cores, while a single sink writes them in their order.
+ *
+ * The entries are split into batches, which are formatted by the fork/join pool into one result per entry. Only a
+ * bounded number of batches is formatted ahead of the batch being written, so the memory needed does not grow with
+ * the number of entries. Formatters must not change the entries, as other threads may read them meanwhile; changes
+ * resulting from the formatting are to be returned with the result and applied by the sink.
+ *
+ * @param <T> the type of a formatted entry
+ */
+class EntryFormattingPipeline<T> {
+
+    // number of entries formatted by a single task
+    private static final int BATCH_SIZE = 256;
+    // number of batches formatted ahead of the written one, per core
+    private static final int BATCHES_AHEAD_PER_CORE = 4;
+
+    private final List<BibEntry> entries;
+    private final Supplier<EntryFormatter<T>> formatterFactory;
+
+
+    /**
+     * @param formatterFactory creates the formatter of a batch, called on the thread writing the entries. Every batch
+     *                         has its own formatter, so formatters do not have to be thread safe.
+     */
+    EntryFormattingPipeline(List<BibEntry> entries, Supplier<EntryFormatter<T>> formatterFactory) {
+        this.entries = entries;
+        this.formatterFactory = formatterFactory;
+    }
+
+    /**
+     * Formats a single entry.
+     */
+    @FunctionalInterface
+    interface EntryFormatter<T> {
+
+        /**
+         * @param index the position of the entry in the list of all entries
+         * @return the formatted entry, or null if the entry does not have to be formatted
+         */
+        T format(BibEntry entry, int index) throws IOException;
+    }
+
+    /**
+     * Receives the formatted entries in their order.
+     */
+    @FunctionalInterface
+    interface EntrySink<T> {
+
+        /**
+         * @param formatted the formatted entry, or null if the entry has not been formatted
+         */
+        void write(BibEntry entry, T formatted) throws IOException;
+    }
+
+
+    /**
+     * Formats all entries and passes them to the sink in their order. Exceptions thrown while formatting an entry
+     * are thrown when the entry would be written.
+     */
+    void writeTo(EntrySink<T> sink) throws IOException {
+        ForkJoinPool pool = JabRefExecutorService.INSTANCE.getForkJoinPool();
+        int maximumBatchesAhead = BATCHES_AHEAD_PER_CORE * pool.getParallelism();
+        Deque<ForkJoinTask<FormattedBatch<T>>> formatting = new ArrayDeque<>();
+        int nextBatchStart = 0;
+        try {
+            while ((nextBatchStart < entries.size()) || !formatting.isEmpty()) {
+                while ((nextBatchStart < entries.size()) && (formatting.size() < maximumBatchesAhead)) {
+                    int end = Math.min(nextBatchStart + BATCH_SIZE, entries.size());
+                    EntryFormatter<T> formatter = formatterFactory.get();
+                    int start = nextBatchStart;
+                    formatting.add(pool.submit(() -> format(formatter, start, end)));
+                    nextBatchStart = end;
+                }
+
+                formatting.removeFirst().join().writeTo(sink);
+            }
+        } finally {
+            formatting.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private FormattedBatch<T> format(EntryFormatter<T> formatter, int start, int end) {
+        FormattedBatch<T> batch = new FormattedBatch<>(entries.subList(start, end));
+        for (int i = 0; i < batch.entries.size(); i++) {
+            try {
+                batch.formatted.add(formatter.format(batch.entries.get(i), start + i));
+            } catch (IOException | RuntimeException e) {
+                batch.failure = e;
+                batch.failedIndex = i;
+                break;
+            }
+        }
+        return batch;
+    }
+
+
+    private static class FormattedBatch<T> {
+
+        private final List<BibEntry> entries;
+        private final List<T> formatted;
+        private Exception failure;
+        private int failedIndex = -1;
+
+
+        FormattedBatch(List<BibEntry> entries) {
+            this.entries = entries;
+            this.formatted = new ArrayList<>(entries.size());
+        }
+
+        void writeTo(EntrySink<T> sink) throws IOException {
+            for (int i = 0; i < entries.size(); i++) {
+                if (i == failedIndex) {
+                    if (failure instanceof IOException) {
+                        throw (IOException) failure;
+                    }
+                    throw (RuntimeException) failure;
+                }
+                sink.write(entries.get(i), formatted.get(i));
+            }
+        }
+    }
+}
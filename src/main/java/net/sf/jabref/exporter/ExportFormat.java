@@ -16,10 +16,8 @@
 package net.sf.jabref.exporter;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -29,13 +27,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.swing.filechooser.FileFilter;
 
 import net.sf.jabref.BibDatabaseContext;
 import net.sf.jabref.Globals;
 import net.sf.jabref.logic.layout.Layout;
-import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.logic.layout.LayoutCache;
+import net.sf.jabref.logic.layout.LayoutContext;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -123,18 +124,13 @@ public class ExportFormat implements IExportFormat {
     }
 
     /**
-     * This method should return a reader from which the given layout file can
-     * be read.
-     * <p>
-     * <p>
-     * Subclasses of ExportFormat are free to override and provide their own
-     * implementation.
+     * Returns the compiled layout of the given layout file, or an empty optional if the file does not exist. Layouts
+     * are cached by the {@link LayoutCache}, so they are only parsed again when their file is modified.
      *
      * @param filename the filename
-     * @return a newly created reader
-     * @throws IOException if the reader could not be created
+     * @throws IOException if the layout could not be read
      */
-    private Reader getReader(String filename) throws IOException {
+    private Optional<Layout> getLayout(String filename) throws IOException {
         // If this is a custom export, just use the given filename:
         String dir;
         if (customExport) {
@@ -143,27 +139,18 @@ public class ExportFormat implements IExportFormat {
             dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
         }
 
-        // Attempt to get a Reader for the file path given, either by
-        // loading it as a resource (from within jar), or as a normal file. If
-        // unsuccessful (e.g. file not found), an IOException is thrown.
+        // Attempt to get the layout for the file path given, either by
+        // loading it as a resource (from within jar), or as a normal file.
         String name = dir + filename;
-        Reader reader;
         // Try loading as a resource first. This works for files inside the jar:
         URL reso = Globals.class.getResource(name);
 
         // If that didn't work, try loading as a normal file URL:
-        try {
-            if (reso == null) {
-                File f = new File(name);
-                reader = new FileReader(f);
-            } else {
-                reader = new InputStreamReader(reso.openStream());
-            }
-        } catch (FileNotFoundException ex) {
-            throw new IOException("Cannot find layout file: '" + name + "'.");
+        if (reso == null) {
+            reso = new File(name).toURI().toURL();
         }
 
-        return reader;
+        return LayoutCache.getLayout(reso, Globals.journalAbbreviationLoader.getRepository());
     }
 
     /**
@@ -212,9 +199,8 @@ public class ExportFormat implements IExportFormat {
             List<String> missingFormatters = new ArrayList<>(1);
 
             // Print header
-            try (Reader reader = getReader(lfFileName + ".begin.layout")) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, Globals.journalAbbreviationLoader.getRepository());
-                beginLayout = layoutHelper.getLayoutFromText();
+            try {
+                beginLayout = getLayout(lfFileName + ".begin.layout").orElse(null);
             } catch (IOException ex) {
                 // If an exception was cast, export filter doesn't have a begin
                 // file.
@@ -236,57 +222,60 @@ public class ExportFormat implements IExportFormat {
             List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePrefs);
 
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + ".layout")) {
-                layoutHelper = new LayoutHelper(reader, Globals.journalAbbreviationLoader.getRepository());
-                defLayout = layoutHelper.getLayoutFromText();
-            }
-            if (defLayout != null) {
-                missingFormatters.addAll(defLayout.getMissingFormatters());
-                if (!missingFormatters.isEmpty()) {
-                    LOGGER.warn(missingFormatters);
-                }
+            Layout defLayout = getLayout(lfFileName + ".layout")
+                    .orElseThrow(() -> new IOException("Cannot find layout file: '" + lfFileName + ".layout'."));
+            missingFormatters.addAll(defLayout.getMissingFormatters());
+            if (!missingFormatters.isEmpty()) {
+                LOGGER.warn(missingFormatters);
             }
+            // Get the layouts of all entry types first, so that the entries can be rendered concurrently
             Map<String, Layout> layouts = new HashMap<>();
-            Layout layout;
-
-            ExportFormats.entryNumber = 0;
             for (BibEntry entry : sorted) {
-                ExportFormats.entryNumber++; // Increment entry counter.
-                // Get the layout
                 String type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type + ".layout")) {
+                if (!layouts.containsKey(type)) {
+                    Layout layout;
+                    try {
                         // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, Globals.journalAbbreviationLoader.getRepository());
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
-                        if (layout != null) {
+                        Optional<Layout> typeLayout = getLayout(lfFileName + '.' + type + ".layout");
+                        if (typeLayout.isPresent()) {
+                            layout = typeLayout.get();
                             missingFormatters.addAll(layout.getMissingFormatters());
+                        } else {
+                            // no type-specific layout exists, so we go with the default one.
+                            layout = defLayout;
                         }
-
                     } catch (IOException ex) {
-                        // The exception indicates that no type-specific layout
-                        // exists, so we
-                        // go with the default one.
+                        LOGGER.warn("Could not read layout for type " + type, ex);
                         layout = defLayout;
                     }
+                    layouts.put(type, layout);
                 }
+            }
 
-                // Write the entry
-                ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
+            // Write the entries
+            BibDatabase database = databaseContext.getDatabase();
+            if (layouts.values().stream().anyMatch(Layout::startsGroups)) {
+                // a group is only started when its field changes, so the entries are rendered one after the other
+                LayoutContext context = new LayoutContext();
+                for (int i = 0; i < sorted.size(); i++) {
+                    BibEntry entry = sorted.get(i);
+                    context.setEntryNumber(i + 1);
+                    ps.write(layouts.get(entry.getType()).doLayout(entry, database, Optional.empty(), context));
+                }
+            } else {
+                new EntryFormattingPipeline<String>(sorted, () -> (entry, index) -> {
+                    LayoutContext context = new LayoutContext();
+                    context.setEntryNumber(index + 1);
+                    return layouts.get(entry.getType()).doLayout(entry, database, Optional.empty(), context);
+                }).writeTo((entry, formatted) -> ps.write(formatted));
             }
 
             // Print footer
 
             // changed section - begin (arudert)
             Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + ".end.layout")) {
-                layoutHelper = new LayoutHelper(reader, Globals.journalAbbreviationLoader.getRepository());
-                endLayout = layoutHelper.getLayoutFromText();
+            try {
+                endLayout = getLayout(lfFileName + ".end.layout").orElse(null);
             } catch (IOException ex) {
                 // If an exception was thrown, export filter doesn't have an end
                 // file.
@@ -55,9 +55,6 @@ public class ExportFormats {
 
     private static final Map<String, IExportFormat> EXPORT_FORMATS = new TreeMap<>();
 
-    // Global variable that is used for counting output entries when exporting:
-    public static int entryNumber;
-
 
     public static void initAllExports() {
 
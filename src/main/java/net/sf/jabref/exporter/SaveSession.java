@@ -15,9 +15,11 @@
 */
 package net.sf.jabref.exporter;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +31,7 @@ import net.sf.jabref.logic.FieldChange;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.util.io.FileBasedLock;
 import net.sf.jabref.logic.util.io.FileUtil;
+import net.sf.jabref.model.database.BibDatabase;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -57,12 +60,19 @@ public class SaveSession {
     private static final String TEMP_PREFIX = "jabref";
 
     private static final String TEMP_SUFFIX = "save.bib";
+    // the writer encodes into this buffer, so that large databases are written in few system calls
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
     private final File tmp;
     private final Charset encoding;
     private boolean backup;
     private final boolean useLockFile;
 
     private final VerifyingWriter writer;
+    private final FileChannel channel;
+
+    // the database saved incrementally, and the regions of its unchanged entries in the temporary file
+    private BibDatabase database;
+    private EntryFileRegions entryFileRegions;
 
     private final List<FieldChange> undoableFieldChanges = new ArrayList<>();
 
@@ -79,7 +89,9 @@ public class SaveSession {
 	   doesn't work since fos is closed after assigning write,
 	   leading to that fos may never be closed at all
 	 */
-        writer = new VerifyingWriter(new FileOutputStream(tmp), encoding);
+        FileOutputStream outputStream = new FileOutputStream(tmp);
+        channel = outputStream.getChannel();
+        writer = new VerifyingWriter(new BufferedOutputStream(outputStream, WRITE_BUFFER_SIZE), encoding);
     }
 
     public VerifyingWriter getWriter() {
@@ -94,6 +106,38 @@ public class SaveSession {
         this.backup = useBackup;
     }
 
+    /**
+     * Returns the number of bytes written to the temporary file so far.
+     */
+    long getPosition() throws IOException {
+        writer.flush();
+        return channel.position();
+    }
+
+    /**
+     * Appends the given bytes of the source channel to the temporary file, after everything written so far.
+     */
+    void transferFrom(FileChannel source, long position, long count) throws IOException {
+        writer.flush();
+        long transferred = 0;
+        while (transferred < count) {
+            long bytes = source.transferTo(position + transferred, count - transferred, channel);
+            if (bytes <= 0) {
+                throw new IOException("Could not copy unchanged entries from the old file");
+            }
+            transferred += bytes;
+        }
+    }
+
+    /**
+     * Sets the regions of the unchanged entries of the database written to the temporary file. They are recorded for
+     * the next save when the session is committed; null drops the recorded regions.
+     */
+    void setEntryFileRegions(BibDatabase database, EntryFileRegions entryFileRegions) {
+        this.database = database;
+        this.entryFileRegions = entryFileRegions;
+    }
+
     public void commit(File file) throws SaveException {
         if (file == null) {
             return;
@@ -137,6 +181,13 @@ public class SaveSession {
                 deleteLockFile(file);
             }
         }
+        if (database != null) {
+            if (entryFileRegions == null) {
+                EntryFileRegions.forget(database);
+            } else {
+                entryFileRegions.register(database, file);
+            }
+        }
         if (!tmp.delete()) {
             LOGGER.info("Cannot delete temporary file");
         }
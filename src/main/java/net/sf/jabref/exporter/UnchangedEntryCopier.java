@@ -0,0 +1,92 @@
+package net.sf.jabref.exporter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Writes the unchanged entries of an incremental save. Entries found in the regions of the old file are copied from
+ * there by a bulk transfer between the file channels, consecutive regions in a single transfer. All other entries are
+ * written as text.
+ *
+ * The regions of all unchanged entries in the new file are recorded, so that the next save can copy them again.
+ */
+class UnchangedEntryCopier implements Closeable {
+
+    private final SaveSession session;
+    private final EntryFileRegions oldRegions;
+    private final FileChannel oldFile;
+    private final EntryFileRegions newRegions;
+
+    // the entries whose regions are transferred next, and the range of the old file covering them
+    private final List<BibEntry> pendingEntries = new ArrayList<>();
+    private long pendingStart;
+    private long pendingEnd;
+
+
+    UnchangedEntryCopier(SaveSession session, EntryFileRegions oldRegions, File oldFile) throws IOException {
+        this.session = session;
+        this.oldRegions = oldRegions;
+        this.oldFile = FileChannel.open(oldFile.toPath(), StandardOpenOption.READ);
+        this.newRegions = new EntryFileRegions(session.getEncoding());
+    }
+
+    /**
+     * Writes the parsed serialization of the unchanged entry.
+     */
+    void write(BibEntry entry) throws IOException {
+        EntryFileRegions.Region region = oldRegions.get(entry);
+        if (region == null) {
+            flush();
+            long start = session.getPosition();
+            session.getWriter().write(entry.getParsedSerialization());
+            newRegions.add(entry, start, session.getPosition());
+            return;
+        }
+
+        if (!pendingEntries.isEmpty() && (region.getStart() != pendingEnd)) {
+            flush();
+        }
+        if (pendingEntries.isEmpty()) {
+            pendingStart = region.getStart();
+        }
+        pendingEntries.add(entry);
+        pendingEnd = region.getEnd();
+    }
+
+    /**
+     * Transfers the pending regions. Must be called before anything else is written to the session.
+     */
+    void flush() throws IOException {
+        if (pendingEntries.isEmpty()) {
+            return;
+        }
+
+        long destination = session.getPosition();
+        session.transferFrom(oldFile, pendingStart, pendingEnd - pendingStart);
+        for (BibEntry entry : pendingEntries) {
+            EntryFileRegions.Region region = oldRegions.get(entry);
+            newRegions.add(entry, (destination + region.getStart()) - pendingStart,
+                    (destination + region.getEnd()) - pendingStart);
+        }
+        pendingEntries.clear();
+    }
+
+    /**
+     * Returns the regions of the unchanged entries in the new file.
+     */
+    EntryFileRegions getNewRegions() {
+        return newRegions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        oldFile.close();
+    }
+}
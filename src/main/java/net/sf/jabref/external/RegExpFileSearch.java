@@ -335,7 +335,7 @@ public class RegExpFileSearch {
 
         // If no field value was found, try to interpret it as a key generator field marker:
         if (fieldValue == null) {
-            fieldValue = LabelPatternUtil.makeLabel(entry, beforeColon);
+            fieldValue = LabelPatternUtil.makeLabel(entry, beforeColon, database);
         }
 
         if (fieldValue == null) {
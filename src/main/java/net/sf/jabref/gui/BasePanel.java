@@ -26,18 +26,19 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
@@ -60,6 +61,7 @@ import net.sf.jabref.JabRefPreferences;
 import net.sf.jabref.collab.ChangeScanner;
 import net.sf.jabref.collab.FileUpdateListener;
 import net.sf.jabref.collab.FileUpdatePanel;
+import net.sf.jabref.event.EntriesChangedEvent;
 import net.sf.jabref.event.EntryAddedEvent;
 import net.sf.jabref.event.EntryChangedEvent;
 import net.sf.jabref.exporter.BibDatabaseWriter;
@@ -118,9 +120,10 @@ import net.sf.jabref.logic.autocompleter.AutoCompleterFactory;
 import net.sf.jabref.logic.autocompleter.ContentAutoCompleters;
 import net.sf.jabref.logic.l10n.Encodings;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.labelpattern.BibtexKeyGenerator;
 import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
 import net.sf.jabref.logic.layout.Layout;
-import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.logic.layout.LayoutCache;
 import net.sf.jabref.logic.util.UpdateField;
 import net.sf.jabref.logic.util.io.FileBasedLock;
 import net.sf.jabref.logic.util.io.FileUtil;
@@ -657,26 +660,20 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                     }
                 }
 
-                Map<BibEntry, Object> oldvals = new HashMap<>();
-                // Iterate again, removing already set keys. This is skipped if overwriting
-                // is disabled, since all entries with keys set will have been removed.
-                if (!Globals.prefs.getBoolean(JabRefPreferences.AVOID_OVERWRITING_KEY)) {
-                    for (BibEntry entry : entries) {
-                        bes = entry;
-                        // Store the old value:
-                        oldvals.put(bes, bes.getCiteKey());
-                        database.setCiteKeyForEntry(bes, null);
-                    }
+                // Generate the keys of all entries on all cores. If overwriting is disabled, all entries with keys set
+                // have been removed. Otherwise, the old keys of the entries are ignored when the keys are made unique.
+                List<String> oldKeys = new ArrayList<>(entries.size());
+                for (BibEntry entry : entries) {
+                    oldKeys.add(entry.getCiteKey());
                 }
-
-                final NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
+                List<String> newKeys = new BibtexKeyGenerator(bibDatabaseContext.getMetaData(), database)
+                        .generateUniqueKeys(entries);
 
                 // Finally, set the new keys:
-                for (BibEntry entry : entries) {
-                    bes = entry;
-                    LabelPatternUtil.makeLabel(bibDatabaseContext.getMetaData(), database, bes);
-                    ce.addEdit(new UndoableKeyChange(database, bes, (String) oldvals.get(bes),
-                            bes.getCiteKey()));
+                database.setCiteKeysForEntries(entries, newKeys);
+                final NamedCompound ce = new NamedCompound(Localization.lang("Autogenerate BibTeX keys"));
+                for (int i = 0; i < entries.size(); i++) {
+                    ce.addEdit(new UndoableKeyChange(database, entries.get(i), oldKeys.get(i), newKeys.get(i)));
                 }
                 ce.end();
                 undoManager.addEdit(ce);
@@ -691,19 +688,30 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                     return;
                 }
                 markBaseChanged();
+                // the keys have been set without notifying the editor and the preview of the entries
+                updateEntryEditorIfShowing();
+                if (mode == BasePanelMode.SHOWING_PREVIEW) {
+                    currentPreview.update();
+                }
                 numSelected = entries.size();
 
                 ////////////////////////////////////////////////////////////////////////////////
                 //          Prevent selection loss for autogenerated BibTeX-Keys
                 ////////////////////////////////////////////////////////////////////////////////
-                for (final BibEntry bibEntry : entries) {
-                    SwingUtilities.invokeLater(() -> {
-                        final int row = mainTable.findEntry(bibEntry);
-                        if ((row >= 0) && (mainTable.getSelectedRowCount() < entries.size())) {
+                SwingUtilities.invokeLater(() -> {
+                    if (mainTable.getSelectedRowCount() >= entries.size()) {
+                        return;
+                    }
+                    Set<BibEntry> keyedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+                    keyedEntries.addAll(entries);
+                    mainTable.getSelectionModel().setValueIsAdjusting(true);
+                    for (int row = 0; row < mainTable.getRowCount(); row++) {
+                        if (keyedEntries.contains(mainTable.getEntryAt(row))) {
                             mainTable.addRowSelectionInterval(row, row);
                         }
-                    });
-                }
+                    }
+                    mainTable.getSelectionModel().setValueIsAdjusting(false);
+                });
                 ////////////////////////////////////////////////////////////////////////////////
                 output(formatOutputMessage(Localization.lang("Generated BibTeX key for"), numSelected));
                 frame.unblock();
@@ -785,12 +793,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                 storeCurrentEdit();
 
                 // OK: in a future version, this string should be configurable to allow arbitrary exports
-                StringReader sr = new StringReader(
-                        "\\bibtexkey - \\begin{title}\\format[RemoveBrackets]{\\title}\\end{title}\n");
                 Layout layout;
                 try {
-                    layout = new LayoutHelper(sr, Globals.journalAbbreviationLoader.getRepository())
-                            .getLayoutFromText();
+                    layout = LayoutCache.getLayoutFromText(
+                            "\\bibtexkey - \\begin{title}\\format[RemoveBrackets]{\\title}\\end{title}\n",
+                            Globals.journalAbbreviationLoader.getRepository());
                 } catch (IOException e) {
                     LOGGER.info("Could not get layout", e);
                     return;
@@ -1289,6 +1296,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         public void listen(EntryChangedEvent entryChangedEvent) {
             searchAutoCompleter.addBibtexEntry(entryChangedEvent.getBibEntry());
         }
+
+        @Subscribe
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            entriesChangedEvent.getBibEntries().forEach(searchAutoCompleter::addBibtexEntry);
+        }
     }
 
     /**
@@ -1306,6 +1318,11 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         public void listen(EntryChangedEvent entryChangedEvent) {
             BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
         }
+
+        @Subscribe
+        public void listen(EntriesChangedEvent entriesChangedEvent) {
+            entriesChangedEvent.getBibEntries().forEach(BasePanel.this.autoCompleters::addEntry);
+        }
     }
 
 
@@ -1356,6 +1373,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         database.registerListener(tableModel.getListSynchronizer());
         database.registerListener(SpecialFieldDatabaseChangeListener.getInstance());
 
+        if (tableFormat != null) {
+            tableFormat.close();
+        }
         tableFormat = new MainTableFormat(database);
         tableFormat.updateTableFormat();
         mainTable = new MainTable(tableFormat, tableModel, frame, this);
@@ -2175,6 +2195,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                 sidePaneManager.hideComponent("fileUpdate");
             }
         }
+        if (tableFormat != null) {
+            tableFormat.close();
+        }
     }
 
     public void setUpdatedExternally(boolean b) {
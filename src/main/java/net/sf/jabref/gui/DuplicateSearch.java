@@ -23,6 +23,9 @@ package net.sf.jabref.gui;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.SwingUtilities;
 
@@ -35,16 +38,26 @@ import net.sf.jabref.gui.undo.UndoableInsertEntry;
 import net.sf.jabref.gui.undo.UndoableRemoveEntry;
 import net.sf.jabref.gui.worker.CallBack;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.model.DuplicateCandidateIndex;
 import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.BibEntry;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import spin.Spin;
 
 public class DuplicateSearch implements Runnable {
 
+    private static final Log LOGGER = LogFactory.getLog(DuplicateSearch.class);
+
+    // Number of entries whose candidates are compared by a single task:
+    private static final int CHUNK_SIZE = 64;
+
     private final BasePanel panel;
     private List<BibEntry> bes;
-    private final List<BibEntry[]> duplicates = new ArrayList<>();
+    private final AtomicInteger duplicatesFound = new AtomicInteger();
+    private volatile boolean cancelled;
 
 
     public DuplicateSearch(BasePanel bp) {
@@ -61,9 +74,18 @@ public class DuplicateSearch implements Runnable {
             return;
         }
 
-        SearcherRunnable st = new SearcherRunnable();
-        JabRefExecutorService.INSTANCE.executeWithLowPriorityInOwnThread(st, "Searcher");
-        int current = 0;
+        // Only pairs sharing a bucket of the index are candidates for being duplicates. The chunks of entries are
+        // searched in parallel, but their pairs are shown in the order of the entries, so that the dialogs come up
+        // in the same order on every run.
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(bes);
+        BibDatabaseMode mode = panel.getBibDatabaseContext().getMode();
+        List<ForkJoinTask<List<BibEntry[]>>> searches = new ArrayList<>();
+        for (int from = 0; from < (index.size() - 1); from += CHUNK_SIZE) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + CHUNK_SIZE, index.size() - 1);
+            searches.add(JabRefExecutorService.INSTANCE.getForkJoinPool()
+                    .submit(() -> findDuplicates(index, chunkStart, chunkEnd, mode)));
+        }
 
         final List<BibEntry> toRemove = new ArrayList<>();
         final List<BibEntry> toAdd = new ArrayList<>();
@@ -71,57 +93,56 @@ public class DuplicateSearch implements Runnable {
         int duplicateCounter = 0;
         boolean autoRemoveExactDuplicates = false;
 
-        synchronized (duplicates) {
-            while (!st.finished() || (current < duplicates.size())) {
-
-                if (current >= duplicates.size()) {
-                    // wait until the search thread puts something into duplicates vector
-                    // or finish its work
-
-                    try {
-                        duplicates.wait();
-                    } catch (InterruptedException ignored) {
-                        // Ignore
-                    }
+        searching: for (ForkJoinTask<List<BibEntry[]>> search : searches) {
+            List<BibEntry[]> pairs;
+            try {
+                // wait until the chunk has been searched
+                pairs = search.get();
+            } catch (InterruptedException e) {
+                cancel(searches);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                LOGGER.error("Problem while searching for duplicates", e);
+                cancel(searches);
+                break;
+            }
 
-                } else { // duplicates found
-                    BibEntry[] be = duplicates.get(current);
-                    current++;
-                    if (!toRemove.contains(be[0]) && !toRemove.contains(be[1])) {
-                        // Check if they are exact duplicates:
-                        boolean askAboutExact = false;
-                        if (DuplicateCheck.compareEntriesStrictly(be[0], be[1]) > 1) {
-                            if (autoRemoveExactDuplicates) {
-                                toRemove.add(be[1]);
-                                duplicateCounter++;
-                                continue;
-                            }
-                            askAboutExact = true;
+            for (BibEntry[] be : pairs) {
+                if (!toRemove.contains(be[0]) && !toRemove.contains(be[1])) {
+                    // Check if they are exact duplicates:
+                    boolean askAboutExact = false;
+                    if (DuplicateCheck.compareEntriesStrictly(be[0], be[1]) > 1) {
+                        if (autoRemoveExactDuplicates) {
+                            toRemove.add(be[1]);
+                            duplicateCounter++;
+                            continue;
                         }
+                        askAboutExact = true;
+                    }
 
-                        DuplicateCallBack cb = new DuplicateCallBack(JabRefGUI.getMainFrame(), be[0], be[1],
-                                askAboutExact ? DuplicateResolverType.DUPLICATE_SEARCH_WITH_EXACT : DuplicateResolverType.DUPLICATE_SEARCH);
-                        ((CallBack) Spin.over(cb)).update();
-
-                        duplicateCounter++;
-                        DuplicateResolverResult answer = cb.getSelected();
-                        if ((answer == DuplicateResolverResult.KEEP_UPPER)
-                                || (answer == DuplicateResolverResult.AUTOREMOVE_EXACT)) {
-                            toRemove.add(be[1]);
-                            if (answer == DuplicateResolverResult.AUTOREMOVE_EXACT) {
-                                autoRemoveExactDuplicates = true; // Remember choice
-                            }
-                        } else if (answer == DuplicateResolverResult.KEEP_LOWER) {
-                            toRemove.add(be[0]);
-                        } else if (answer == DuplicateResolverResult.BREAK) {
-                            st.setFinished(); // thread killing
-                            current = Integer.MAX_VALUE;
-                            duplicateCounter--; // correct counter
-                        } else if (answer == DuplicateResolverResult.KEEP_MERGE) {
-                            toRemove.add(be[0]);
-                            toRemove.add(be[1]);
-                            toAdd.add(cb.getMergedEntry());
+                    DuplicateCallBack cb = new DuplicateCallBack(JabRefGUI.getMainFrame(), be[0], be[1],
+                            askAboutExact ? DuplicateResolverType.DUPLICATE_SEARCH_WITH_EXACT : DuplicateResolverType.DUPLICATE_SEARCH);
+                    ((CallBack) Spin.over(cb)).update();
+
+                    duplicateCounter++;
+                    DuplicateResolverResult answer = cb.getSelected();
+                    if ((answer == DuplicateResolverResult.KEEP_UPPER)
+                            || (answer == DuplicateResolverResult.AUTOREMOVE_EXACT)) {
+                        toRemove.add(be[1]);
+                        if (answer == DuplicateResolverResult.AUTOREMOVE_EXACT) {
+                            autoRemoveExactDuplicates = true; // Remember choice
                         }
+                    } else if (answer == DuplicateResolverResult.KEEP_LOWER) {
+                        toRemove.add(be[0]);
+                    } else if (answer == DuplicateResolverResult.BREAK) {
+                        cancel(searches); // thread killing
+                        duplicateCounter--; // correct counter
+                        break searching;
+                    } else if (answer == DuplicateResolverResult.KEEP_MERGE) {
+                        toRemove.add(be[0]);
+                        toRemove.add(be[1]);
+                        toAdd.add(cb.getMergedEntry());
                     }
                 }
             }
@@ -151,10 +172,8 @@ public class DuplicateSearch implements Runnable {
                     panel.markBaseChanged();
                 }
 
-                synchronized (duplicates) {
-                    panel.output(Localization.lang("Duplicates found") + ": " + duplicates.size() + ' '
-                            + Localization.lang("pairs processed") + ": " + dupliC);
-                }
+                panel.output(Localization.lang("Duplicates found") + ": " + duplicatesFound.get() + ' '
+                        + Localization.lang("pairs processed") + ": " + dupliC);
                 ce.end();
                 panel.undoManager.addEdit(ce);
 
@@ -164,44 +183,34 @@ public class DuplicateSearch implements Runnable {
 
     }
 
+    private void cancel(List<ForkJoinTask<List<BibEntry[]>>> searches) {
+        cancelled = true;
+        for (ForkJoinTask<List<BibEntry[]>> search : searches) {
+            search.cancel(true);
+        }
+    }
 
-    class SearcherRunnable implements Runnable {
-
-        private volatile boolean finished;
-
-        @Override
-        public void run() {
-            for (int i = 0; (i < (bes.size() - 1)) && !finished; i++) {
-                for (int j = i + 1; (j < bes.size()) && !finished; j++) {
-                    BibEntry first = bes.get(i);
-                    BibEntry second = bes.get(j);
-                    boolean eq = DuplicateCheck.isDuplicate(first, second, panel.getBibDatabaseContext().getMode());
-
-                    // If (suspected) duplicates, add them to the duplicates vector.
-                    if (eq) {
-                        synchronized (duplicates) {
-                            duplicates.add(new BibEntry[]{first, second});
-                            duplicates.notifyAll(); // send wake up all
-                        }
-                    }
+    /**
+     * Compares the entries in the ordinal range [from, to) of the index with their subsequent candidates.
+     *
+     * @return the suspected duplicates, ordered by the ordinals of the first and then of the second entry
+     */
+    private List<BibEntry[]> findDuplicates(DuplicateCandidateIndex index, int from, int to, BibDatabaseMode mode) {
+        List<BibEntry[]> pairs = new ArrayList<>();
+        for (int i = from; (i < to) && !cancelled; i++) {
+            BibEntry first = index.getEntries().get(i);
+            for (BibEntry second : index.getSubsequentCandidates(i)) {
+                if (cancelled) {
+                    return pairs;
+                }
+                // If (suspected) duplicates, hand them over to the resolution dialog.
+                if (DuplicateCheck.isDuplicate(first, second, mode)) {
+                    pairs.add(new BibEntry[] {first, second});
+                    duplicatesFound.incrementAndGet();
                 }
             }
-            finished = true;
-            // if no duplicates found, the graphical thread will never wake up
-            synchronized (duplicates) {
-                duplicates.notifyAll();
-            }
-        }
-
-        public boolean finished() {
-            return finished;
-        }
-
-        // Thread cancel option
-        // no synchronized used because no "really" critical situations expected
-        public void setFinished() {
-            finished = true;
         }
+        return pairs;
     }
 
     static class DuplicateCallBack implements CallBack {
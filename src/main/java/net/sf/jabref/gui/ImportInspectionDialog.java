@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -100,6 +101,7 @@ import net.sf.jabref.logic.groups.GroupTreeNode;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.labelpattern.LabelPatternUtil;
 import net.sf.jabref.logic.util.UpdateField;
+import net.sf.jabref.model.DuplicateCandidateIndex;
 import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
@@ -177,6 +179,11 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
     private boolean defaultSelected = true;
     private final Rectangle toRect = new Rectangle(0, 0, 1, 1);
     private final Map<BibEntry, Set<GroupTreeNode>> groupAdditions = new HashMap<>();
+    // the entries marked to be kept and the suspected duplicates, compared by identity as equal entries may be imported
+    private final Set<BibEntry> keptEntries = Collections
+            .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private final Set<BibEntry> duplicateEntries = Collections
+            .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
     private final JCheckBox autoGenerate = new JCheckBox(Localization.lang("Generate keys"),
             Globals.prefs.getBoolean(JabRefPreferences.GENERATE_KEYS_AFTER_INSPECTION));
     private final JLabel duplLabel = new JLabel(IconTheme.JabRefIcon.DUPLICATE.getSmallIcon());
@@ -375,19 +382,20 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
      */
     public void addEntries(Collection<BibEntry> entriesToAdd) {
 
+        DuplicateCandidateIndex databaseIndex = null;
+        if (panel != null) {
+            databaseIndex = new DuplicateCandidateIndex(panel.getDatabase().getEntries());
+        }
+
         for (BibEntry entry : entriesToAdd) {
-            // We exploit the entry's search status for indicating "Keep"
-            // status:
-            entry.setSearchHit(defaultSelected);
-            // We exploit the entry's group status for indicating duplicate
-            // status.
+            setKept(entry, defaultSelected);
             // Checking duplicates means both checking against the background
             // database (if
             // applicable) and against entries already in the table.
             if ((panel != null) && (DuplicateCheck
-                    .containsDuplicate(panel.getDatabase(), entry, panel.getBibDatabaseContext().getMode()).isPresent()
+                    .containsDuplicate(databaseIndex, entry, panel.getBibDatabaseContext().getMode()).isPresent()
                     || (internalDuplicate(this.entries, entry).isPresent()))) {
-                entry.setGroupHit(true);
+                duplicateEntries.add(entry);
                 deselectAllDuplicates.setEnabled(true);
             }
             this.entries.getReadWriteLock().writeLock().lock();
@@ -399,6 +407,14 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         }
     }
 
+    private void setKept(BibEntry entry, boolean kept) {
+        if (kept) {
+            keptEntries.add(entry);
+        } else {
+            keptEntries.remove(entry);
+        }
+    }
+
     /**
      * Checks if there are duplicates to the given entry in the Collection. Does
      * not report the entry as duplicate of itself if it is in the Collection.
@@ -637,17 +653,13 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
 
                 for (BibEntry entry : entries) {
 
-                    // Only check entries that are to be imported. Keep status
-                    // is indicated
-                    // through the search hit status of the entry:
-                    if (!entry.isSearchHit()) {
+                    // Only check entries that are to be imported:
+                    if (!keptEntries.contains(entry)) {
                         continue;
                     }
 
-                    // Check if the entry is a suspected, unresolved, duplicate.
-                    // This status
-                    // is indicated by the entry's group hit status:
-                    if (entry.isGroupHit()) {
+                    // Check if the entry is a suspected, unresolved, duplicate:
+                    if (duplicateEntries.contains(entry)) {
                         CheckBoxMessage cbm = new CheckBoxMessage(
                                 Localization
                                         .lang("There are possible duplicates (marked with an icon) that haven't been resolved. Do you want to proceed (yes) or add them to a new database (no)?"),
@@ -748,10 +760,6 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             }
 
             for (BibEntry entry : selected) {
-                // Remove settings to group/search hit status:
-                entry.setSearchHit(false);
-                entry.setGroupHit(false);
-
                 // If this entry should be added to any groups, do it now:
                 Set<GroupTreeNode> groups = groupAdditions.get(entry);
                 if (!groupingCanceled && (groups != null)) {
@@ -812,7 +820,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         private List<BibEntry> getSelectedEntries() {
             List<BibEntry> selected = new ArrayList<>();
             for (BibEntry entry : entries) {
-                if (entry.isSearchHit()) {
+                if (keptEntries.contains(entry)) {
                     selected.add(entry);
                 }
             }
@@ -1064,13 +1072,11 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                         // to be deleted. We only delete
                         // it after Ok is clicked.
                         entriesToDelete.add(other.get());
-                        // Clear duplicate icon, which is controlled by the
-                        // group hit
-                        // field of the entry:
+                        // Clear duplicate icon:
 
                         entries.getReadWriteLock().writeLock().lock();
                         try {
-                            first.setGroupHit(false);
+                            duplicateEntries.remove(first);
                         } finally {
                             entries.getReadWriteLock().writeLock().unlock();
                         }
@@ -1087,7 +1093,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                         // Do nothing.
                         entries.getReadWriteLock().writeLock().lock();
                         try {
-                            first.setGroupHit(false);
+                            duplicateEntries.remove(first);
                         } finally {
                             entries.getReadWriteLock().writeLock().unlock();
                         }
@@ -1097,13 +1103,10 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                         // it after Ok is clicked.
                         entriesToDelete.add(other.get());
                         // Store merged entry for later adding
-                        // Clear duplicate icon, which is controlled by the
-                        // group hit
-                        // field of the entry:
+                        // The merged entry is kept and not marked as duplicate:
                         entries.getReadWriteLock().writeLock().lock();
                         try {
-                            diag.getMergedEntry().setGroupHit(false);
-                            diag.getMergedEntry().setSearchHit(true);
+                            keptEntries.add(diag.getMergedEntry());
                             entries.add(diag.getMergedEntry());
                             entries.remove(first);
                             first = new BibEntry(); // Reset first so the next duplicate doesn't trigger
@@ -1123,14 +1126,13 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                     DuplicateResolverResult answer = diag.getSelected();
                     if (answer == DuplicateResolverResult.KEEP_UPPER) {
                         entries.remove(other.get());
-                        first.setGroupHit(false);
+                        duplicateEntries.remove(first);
                     } else if (answer == DuplicateResolverResult.KEEP_LOWER) {
                         entries.remove(first);
                     } else if (answer == DuplicateResolverResult.KEEP_BOTH) {
-                        first.setGroupHit(false);
+                        duplicateEntries.remove(first);
                     } else if (answer == DuplicateResolverResult.KEEP_MERGE) {
-                        diag.getMergedEntry().setGroupHit(false);
-                        diag.getMergedEntry().setSearchHit(true);
+                        keptEntries.add(diag.getMergedEntry());
                         entries.add(diag.getMergedEntry());
                         entries.remove(first);
                         entries.remove(other.get());
@@ -1409,12 +1411,12 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
 
         @Override
         public void setValueAt(Object value, int row, int column) {
-            // Only column 0, which is controlled by BibEntry.searchHit, is
+            // Only column 0, which shows whether the entry is kept, is
             // editable:
             entries.getReadWriteLock().writeLock().lock();
             try {
                 BibEntry entry = sortedList.get(row);
-                entry.setSearchHit((Boolean) value);
+                setKept(entry, (Boolean) value);
             } finally {
                 entries.getReadWriteLock().writeLock().unlock();
             }
@@ -1442,11 +1444,11 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         @Override
         public Object getColumnValue(BibEntry entry, int i) {
             if (i == 0) {
-                return entry.isSearchHit() ? Boolean.TRUE : Boolean.FALSE;
+                return keptEntries.contains(entry) ? Boolean.TRUE : Boolean.FALSE;
             } else if (i < PAD) {
                 switch (i) {
                 case DUPL_COL:
-                    return entry.isGroupHit() ? duplLabel : null;
+                    return duplicateEntries.contains(entry) ? duplLabel : null;
                 case FILE_COL:
                     if (entry.hasField(Globals.FILE_FIELD)) {
                         FileListTableModel model = new FileListTableModel();
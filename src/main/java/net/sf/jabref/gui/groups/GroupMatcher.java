@@ -15,20 +15,42 @@
 */
 package net.sf.jabref.gui.groups;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 import ca.odell.glazedlists.matchers.Matcher;
 
 /**
  * Matcher for filtering or sorting the table according to whether entries
- * are tagged as group matches.
+ * are contained in the selected groups. The entries are fixed when the
+ * matcher is created, so it can be used by several threads and every table
+ * keeps its own selection.
  */
 public class GroupMatcher implements Matcher<BibEntry> {
 
-    public static final GroupMatcher INSTANCE = new GroupMatcher();
+    public static final GroupMatcher NO_HITS = new GroupMatcher(Collections.emptyList(), false);
+
+    // compared by identity, as different entries may be equal
+    private final Set<BibEntry> entriesInGroups;
+    private final boolean invert;
+
+
+    /**
+     * @param entriesInGroups the entries contained in the selected groups
+     * @param invert          whether the entries not contained in the selected groups match
+     */
+    public GroupMatcher(Collection<BibEntry> entriesInGroups, boolean invert) {
+        this.entriesInGroups = Collections.newSetFromMap(new IdentityHashMap<>(entriesInGroups.size()));
+        this.entriesInGroups.addAll(entriesInGroups);
+        this.invert = invert;
+    }
 
     @Override
     public boolean matches(BibEntry entry) {
-        return entry.isGroupHit();
+        return entriesInGroups.contains(entry) != invert;
     }
 }
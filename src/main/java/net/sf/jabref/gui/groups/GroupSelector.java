@@ -28,6 +28,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Optional;
@@ -73,13 +74,11 @@ import net.sf.jabref.gui.undo.NamedCompound;
 import net.sf.jabref.gui.worker.AbstractWorker;
 import net.sf.jabref.logic.groups.AbstractGroup;
 import net.sf.jabref.logic.groups.AllEntriesGroup;
+import net.sf.jabref.logic.groups.GroupMembershipIndex;
 import net.sf.jabref.logic.groups.GroupTreeNode;
 import net.sf.jabref.logic.groups.MoveGroupChange;
 import net.sf.jabref.logic.l10n.Localization;
-import net.sf.jabref.logic.search.SearchMatcher;
-import net.sf.jabref.logic.search.matchers.MatcherSet;
-import net.sf.jabref.logic.search.matchers.MatcherSets;
-import net.sf.jabref.logic.search.matchers.NotMatcher;
+import net.sf.jabref.logic.util.CompressedBitSet;
 import net.sf.jabref.model.entry.BibEntry;
 
 import org.apache.commons.logging.Log;
@@ -622,15 +621,22 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
     }
 
     private void updateShownEntriesAccordingToSelectedGroups() {
-        final MatcherSet searchRules = MatcherSets
-                .build(andCb.isSelected() ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
-
-        for(GroupTreeNodeViewModel node : getLeafsOfSelection()) {
-            SearchMatcher searchRule = node.getNode().getSearchRule();
-            searchRules.addRule(searchRule);
+        // combine the members of the selected groups instead of checking every entry against every group
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(panel.getDatabase());
+        CompressedBitSet selectedEntries = null;
+        for (GroupTreeNodeViewModel node : getLeafsOfSelection()) {
+            CompressedBitSet matchingEntries = index.getMatchingEntries(node.getNode());
+            if (selectedEntries == null) {
+                selectedEntries = matchingEntries;
+            } else if (andCb.isSelected()) {
+                selectedEntries.and(matchingEntries);
+            } else {
+                selectedEntries.or(matchingEntries);
+            }
         }
-        SearchMatcher searchRule = invCb.isSelected() ? new NotMatcher(searchRules) : searchRules;
-        GroupingWorker worker = new GroupingWorker(searchRule);
+        List<BibEntry> entriesInGroups = selectedEntries == null ? Collections.emptyList() : index
+                .getEntries(selectedEntries);
+        GroupingWorker worker = new GroupingWorker(new GroupMatcher(entriesInGroups, invCb.isSelected()));
         worker.getWorker().run();
         worker.getCallBack().update();
     }
@@ -658,28 +664,30 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
 
     class GroupingWorker extends AbstractWorker {
 
-        private final SearchMatcher matcher;
+        private final GroupMatcher matcher;
         private final List<BibEntry> matches = new ArrayList<>();
         private final boolean showOverlappingGroupsP;
 
-        public GroupingWorker(SearchMatcher matcher) {
+        public GroupingWorker(GroupMatcher matcher) {
             this.matcher = matcher;
             showOverlappingGroupsP = showOverlappingGroups.isSelected();
         }
 
         @Override
         public void run() {
-            for (BibEntry entry : panel.getDatabase().getEntries()) {
-                boolean hit = matcher.isMatch(entry);
-                entry.setGroupHit(hit);
-                if (hit && showOverlappingGroupsP) {
-                    matches.add(entry);
+            // the table only needs the matcher, the entries are only collected to show overlapping groups
+            if (showOverlappingGroupsP) {
+                for (BibEntry entry : panel.getDatabase().getEntries()) {
+                    if (matcher.matches(entry)) {
+                        matches.add(entry);
+                    }
                 }
             }
         }
 
         @Override
         public void update() {
+            panel.mainTable.getTableModel().updateGroupMatcher(matcher);
             // Show the result in the chosen way:
             if (hideNonHits.isSelected()) {
                 panel.mainTable.getTableModel().updateGroupingState(MainTableDataModel.DisplayOption.FILTER);
@@ -697,6 +705,16 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
         }
     }
 
+    /**
+     * Repaints the groups tree after the numbers of entries of groups have become known.
+     */
+    public void numberOfEntriesChanged() {
+        if (groupsTree != null) {
+            groupsTree.invalidate();
+            groupsTree.repaint();
+        }
+    }
+
     /**
      * Revalidate the groups tree (e.g. after the data stored in the model has been changed) and maintain the current
      * selection and expansion state.
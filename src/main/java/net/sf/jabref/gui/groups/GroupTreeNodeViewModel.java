@@ -27,6 +27,7 @@ import java.util.function.Consumer;
 
 import javax.swing.Icon;
 import javax.swing.JTree;
+import javax.swing.SwingUtilities;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import javax.swing.undo.AbstractUndoableEdit;
@@ -42,6 +43,7 @@ import net.sf.jabref.logic.groups.AbstractGroup;
 import net.sf.jabref.logic.groups.AllEntriesGroup;
 import net.sf.jabref.logic.groups.EntriesGroupChange;
 import net.sf.jabref.logic.groups.ExplicitGroup;
+import net.sf.jabref.logic.groups.GroupMembershipIndex;
 import net.sf.jabref.logic.groups.GroupTreeNode;
 import net.sf.jabref.logic.groups.KeywordGroup;
 import net.sf.jabref.logic.groups.MoveGroupChange;
@@ -200,16 +202,16 @@ public class GroupTreeNodeViewModel implements Transferable, TreeNode {
             if (group instanceof ExplicitGroup) {
                 sb.append(" [").append(((ExplicitGroup) group).getNumEntries()).append(']');
             } else if ((group instanceof KeywordGroup) || (group instanceof SearchGroup)) {
-                int hits = 0;
                 BasePanel currentBasePanel = JabRefGUI.getMainFrame().getCurrentBasePanel();
-                if(currentBasePanel != null) {
-                    for (BibEntry entry : currentBasePanel.getDatabase().getEntries()) {
-                        if (group.contains(entry)) {
-                            hits++;
-                        }
-                    }
+                if (currentBasePanel == null) {
+                    sb.append(" [0]");
+                } else {
+                    // the number is left out until the entries of the group have been counted in the background
+                    GroupMembershipIndex.getIndex(currentBasePanel.getDatabase())
+                            .getNumberOfEntries(group, () -> SwingUtilities.invokeLater(
+                                    () -> JabRefGUI.getMainFrame().getGroupSelector().numberOfEntriesChanged()))
+                            .ifPresent(hits -> sb.append(" [").append(hits).append(']'));
                 }
-                sb.append(" [").append(hits).append(']');
             }
         }
 
@@ -0,0 +1,120 @@
+package net.sf.jabref.gui.maintable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.event.EntriesChangedEvent;
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps the values shown in the columns of the main table, so that the field contents are not converted from LaTeX
+ * and the names are not formatted again whenever a cell is painted.
+ *
+ * The values of an entry are computed when the entry is shown, and ahead of time for all entries by a background
+ * thread. They are dropped when a field of the entry changes, or when the database posts an {@link EntriesChangedEvent}
+ * for it. The columns and the preferences used for formatting do not change, as the main table gets a new
+ * {@link MainTableFormat} when they do. Only values for which {@link MainTableColumn#dependsOnFieldsOnly(BibEntry)}
+ * holds are kept.
+ */
+class ColumnValueCache {
+
+    // stands for a computed value which is null
+    private static final Object NO_VALUE = new Object();
+
+    private final BibDatabase database;
+    private final List<MainTableColumn> columns;
+    // weak keys are compared by identity, every array holds the values of the columns at the same positions
+    private final Map<BibEntry, AtomicReferenceArray<Object>> values = CacheBuilder.newBuilder().weakKeys()
+            .<BibEntry, AtomicReferenceArray<Object>> build().asMap();
+    private final Set<BibEntry> listenedEntries = Collections
+            .newSetFromMap(CacheBuilder.newBuilder().weakKeys().<BibEntry, Boolean> build().asMap());
+    private volatile boolean closed;
+
+
+    ColumnValueCache(List<MainTableColumn> columns, BibDatabase database) {
+        this.database = database;
+        this.columns = new ArrayList<>(columns);
+        database.registerListener(this);
+        List<BibEntry> entriesToFill = new ArrayList<>(database.getEntries());
+        JabRefExecutorService.INSTANCE.executeWithLowPriorityInOwnThread(() -> fill(entriesToFill),
+                "MainTableValues");
+    }
+
+    Object getValue(BibEntry entry, int column) {
+        MainTableColumn tableColumn = columns.get(column);
+        if (closed || !tableColumn.dependsOnFieldsOnly(entry)) {
+            return tableColumn.getColumnValue(entry);
+        }
+        return getCachedValue(entry, column, tableColumn);
+    }
+
+    private Object getCachedValue(BibEntry entry, int column, MainTableColumn tableColumn) {
+        AtomicReferenceArray<Object> entryValues = values.get(entry);
+        if (entryValues == null) {
+            // listen before computing, so that a change during the computation drops the values
+            listenTo(entry);
+            entryValues = values.computeIfAbsent(entry, key -> new AtomicReferenceArray<>(columns.size()));
+        }
+        Object value = entryValues.get(column);
+        if (value == null) {
+            value = tableColumn.getColumnValue(entry);
+            // values computed after a change are stored in a dropped array, which is not used anymore
+            entryValues.set(column, value == null ? NO_VALUE : value);
+        }
+        return value == NO_VALUE ? null : value;
+    }
+
+    /**
+     * Stops filling the cache and listening to the database and the entries.
+     */
+    synchronized void close() {
+        closed = true;
+        database.unregisterListener(this);
+        for (BibEntry entry : listenedEntries) {
+            entry.unregisterListener(this);
+        }
+        listenedEntries.clear();
+        values.clear();
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent fieldChangedEvent) {
+        values.remove(fieldChangedEvent.getBibEntry());
+    }
+
+    @Subscribe
+    public void listen(EntriesChangedEvent entriesChangedEvent) {
+        entriesChangedEvent.getBibEntries().forEach(values::remove);
+    }
+
+    private synchronized void listenTo(BibEntry entry) {
+        if (!closed && listenedEntries.add(entry)) {
+            entry.registerListener(this);
+        }
+    }
+
+    private void fill(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            if (closed) {
+                return;
+            }
+            // the other columns are left to the event dispatch thread, as they create labels
+            for (int column = 0; column < columns.size(); column++) {
+                MainTableColumn tableColumn = columns.get(column);
+                if (tableColumn.dependsOnFieldsOnly(entry)) {
+                    getCachedValue(entry, column, tableColumn);
+                }
+            }
+        }
+    }
+}
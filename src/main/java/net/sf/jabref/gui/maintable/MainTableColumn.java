@@ -106,19 +106,9 @@ public class MainTableColumn {
             return null;
         }
 
-        String content = null;
-        for (String field : bibtexFields) {
-            if (field.equals(BibEntry.TYPE_HEADER)) {
-                content = EntryUtil.capitalizeFirst(entry.getType());
-            } else {
-                content = entry.getFieldOrAlias(field);
-                if (database.isPresent() && "Author".equalsIgnoreCase(columnName) && (content != null)) {
-                    content = database.get().resolveForStrings(content);
-                }
-            }
-            if (content != null) {
-                break;
-            }
+        String content = getContent(entry);
+        if (resolvesStrings() && (content != null)) {
+            content = database.get().resolveForStrings(content);
         }
 
         if (content != null) {
@@ -132,6 +122,44 @@ public class MainTableColumn {
 
     }
 
+    /**
+     * Checks whether the value of this column for the given entry only depends on the fields of the entry, so that it
+     * can be kept until a field of the entry changes. This is not the case for icon columns, whose labels are shared,
+     * and for references to strings of the database.
+     */
+    public boolean dependsOnFieldsOnly(BibEntry entry) {
+        if (isIconColumn || bibtexFields.isEmpty()) {
+            return false;
+        }
+        if (resolvesStrings()) {
+            String content = getContent(entry);
+            return (content == null) || (content.indexOf('#') < 0);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the content of the first of the fields which is set, before any formatting.
+     */
+    private String getContent(BibEntry entry) {
+        for (String field : bibtexFields) {
+            String content;
+            if (field.equals(BibEntry.TYPE_HEADER)) {
+                content = EntryUtil.capitalizeFirst(entry.getType());
+            } else {
+                content = entry.getFieldOrAlias(field);
+            }
+            if (content != null) {
+                return content;
+            }
+        }
+        return null;
+    }
+
+    private boolean resolvesStrings() {
+        return database.isPresent() && "Author".equalsIgnoreCase(columnName);
+    }
+
     public JLabel getHeaderLabel() {
         if (isIconColumn) {
             return iconLabel.get();
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.BibDatabaseContext;
@@ -45,10 +46,10 @@ public class MainTableDataModel {
         sortedForMarkingSearchGrouping = new SortedList<>(sortedForUserDefinedTableColumnSorting, null);
 
         FilterList<BibEntry> groupFilterList = new FilterList<>(sortedForMarkingSearchGrouping, EverythingMatcher.INSTANCE);
-        filterGroupToggle = new StartStopListFilterAction(groupFilterList, GroupMatcher.INSTANCE,
+        filterGroupToggle = new StartStopListFilterAction(groupFilterList, () -> filterAndSortingState.groupMatcher,
                 EverythingMatcher.INSTANCE);
         FilterList<BibEntry> searchFilterList = new FilterList<>(groupFilterList, EverythingMatcher.INSTANCE);
-        filterSearchToggle = new StartStopListFilterAction(searchFilterList, SearchMatcher.INSTANCE,
+        filterSearchToggle = new StartStopListFilterAction(searchFilterList, () -> filterAndSortingState.searchMatcher,
                 EverythingMatcher.INSTANCE);
 
         finalList = searchFilterList;
@@ -56,8 +57,8 @@ public class MainTableDataModel {
 
     public void updateSortOrder() {
         Comparator<BibEntry> markingComparator = filterAndSortingState.markingState ? IsMarkedComparator.INSTANCE : null;
-        Comparator<BibEntry> searchComparator = getSearchState() == DisplayOption.FLOAT ? new HitOrMissComparator(SearchMatcher.INSTANCE) : null;
-        Comparator<BibEntry> groupingComparator = getGroupingState() == DisplayOption.FLOAT ? new HitOrMissComparator(GroupMatcher.INSTANCE) : null;
+        Comparator<BibEntry> searchComparator = getSearchState() == DisplayOption.FLOAT ? new HitOrMissComparator(getSearchMatcher()) : null;
+        Comparator<BibEntry> groupingComparator = getGroupingState() == DisplayOption.FLOAT ? new HitOrMissComparator(getGroupMatcher()) : null;
         GenericCompositeComparator comparator = new GenericCompositeComparator(
                 markingComparator,
                 searchComparator,
@@ -128,6 +129,39 @@ public class MainTableDataModel {
         }
     }
 
+    /**
+     * Replaces the shown search result by the given one. The table is only updated if the search result is shown.
+     */
+    public void updateSearchMatcher(SearchMatcher searchMatcher) {
+        filterAndSortingState.searchMatcher = Objects.requireNonNull(searchMatcher);
+        if (getSearchState() == DisplayOption.FLOAT) {
+            updateSortOrder();
+        } else if (getSearchState() == DisplayOption.FILTER) {
+            filterSearchToggle.start();
+        }
+    }
+
+    /**
+     * Replaces the shown group selection by the given one. The table is only updated if the group selection is
+     * shown.
+     */
+    public void updateGroupMatcher(GroupMatcher groupMatcher) {
+        filterAndSortingState.groupMatcher = Objects.requireNonNull(groupMatcher);
+        if (getGroupingState() == DisplayOption.FLOAT) {
+            updateSortOrder();
+        } else if (getGroupingState() == DisplayOption.FILTER) {
+            filterGroupToggle.start();
+        }
+    }
+
+    public SearchMatcher getSearchMatcher() {
+        return filterAndSortingState.searchMatcher;
+    }
+
+    GroupMatcher getGroupMatcher() {
+        return filterAndSortingState.groupMatcher;
+    }
+
     public DisplayOption getSearchState() {
         return filterAndSortingState.searchState;
     }
@@ -187,6 +221,9 @@ public class MainTableDataModel {
         private DisplayOption searchState = DisplayOption.DISABLED;
         private DisplayOption groupingState = DisplayOption.DISABLED;
         private boolean markingState = false;
+        // the shown search result and group selection
+        private SearchMatcher searchMatcher = SearchMatcher.NO_HITS;
+        private GroupMatcher groupMatcher = GroupMatcher.NO_HITS;
     }
 
     private static class GenericCompositeComparator implements Comparator<BibEntry> {
@@ -211,11 +248,12 @@ public class MainTableDataModel {
 
     private static class StartStopListFilterAction {
 
-        private final Matcher<BibEntry> active;
+        private final Supplier<? extends Matcher<BibEntry>> active;
         private final Matcher<BibEntry> inactive;
         private FilterList<BibEntry> list;
 
-        private StartStopListFilterAction(FilterList<BibEntry> list, Matcher<BibEntry> active, Matcher<BibEntry> inactive) {
+        private StartStopListFilterAction(FilterList<BibEntry> list, Supplier<? extends Matcher<BibEntry>> active,
+                Matcher<BibEntry> inactive) {
             this.list = list;
             this.active = active;
             this.inactive = inactive;
@@ -224,7 +262,7 @@ public class MainTableDataModel {
         }
 
         public void start() {
-            update(active);
+            update(active.get());
         }
 
         public void stop() {
@@ -50,6 +50,8 @@ public class MainTableFormat implements TableFormat<BibEntry> {
 
     private final List<MainTableColumn> tableColumns = new ArrayList<>();
 
+    private ColumnValueCache valueCache;
+
     public MainTableFormat(BibDatabase database) {
         this.database = database;
     }
@@ -91,11 +93,21 @@ public class MainTableFormat implements TableFormat<BibEntry> {
 
     @Override
     public Object getColumnValue(BibEntry be, int col) {
-        return tableColumns.get(col).getColumnValue(be);
+        return valueCache.getValue(be, col);
+    }
+
+    /**
+     * Stops keeping the values of the columns, once this format is not used by a table anymore.
+     */
+    public void close() {
+        if (valueCache != null) {
+            valueCache.close();
+        }
     }
 
     public void updateTableFormat() {
         // clear existing column configuration
+        close();
         tableColumns.clear();
 
         // Add numbering column to tableColumns
@@ -167,7 +179,7 @@ public class MainTableFormat implements TableFormat<BibEntry> {
             }
         }
 
-
+        valueCache = new ColumnValueCache(tableColumns, database);
     }
 
 }
@@ -2,12 +2,12 @@ package net.sf.jabref.gui.search;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.gui.worker.AbstractWorker;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.search.SearchExecutor;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -32,9 +32,10 @@ class GlobalSearchWorker extends AbstractWorker {
     @Override
     public void run() {
         // Search all databases
+        SearchExecutor searchExecutor = new SearchExecutor();
         for (int i = 0; i < frame.getTabbedPane().getTabCount(); i++) {
             BasePanel basePanel = frame.getBasePanelAt(i);
-            List<BibEntry> matches = basePanel.getDatabase().getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
+            List<BibEntry> matches = searchExecutor.search(searchQuery, basePanel.getDatabase());
             dialog.addEntries(matches, basePanel);
         }
     }
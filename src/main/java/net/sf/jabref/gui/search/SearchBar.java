@@ -46,6 +46,7 @@ import net.sf.jabref.gui.util.component.JTextFieldWithUnfocusedText;
 import net.sf.jabref.gui.worker.AbstractWorker;
 import net.sf.jabref.logic.autocompleter.AutoCompleter;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.search.SearchExecutor;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.logic.search.SearchQueryHighlightObservable;
 import net.sf.jabref.logic.util.OS;
@@ -85,6 +86,8 @@ public class SearchBar extends JPanel {
     private AutoCompleteSupport<String> autoCompleteSupport;
     private final JLabel searchIcon;
     private SearchWorker searchWorker;
+    // runs the searches of the search workers, so that a new search cancels the running one
+    private final SearchExecutor searchExecutor = new SearchExecutor();
 
 
     /**
@@ -123,7 +126,8 @@ public class SearchBar extends JPanel {
                     Localization.lang("Search results in database %0 for %1",
                             basePanel.getBibDatabaseContext().getDatabaseFile().getName(),
                             this.getSearchQuery().localize()));
-            List<BibEntry> entries = basePanel.getDatabase().getEntries().stream().filter(BibEntry::isSearchHit)
+            List<BibEntry> entries = basePanel.getDatabase().getEntries().stream()
+                    .filter(basePanel.mainTable.getTableModel().getSearchMatcher()::matches)
                     .collect(Collectors.toList());
             searchDialog.addEntries(entries, basePanel);
             searchDialog.selectFirstEntry();
@@ -294,6 +298,7 @@ public class SearchBar extends JPanel {
      */
     private void performSearch() {
         if (searchWorker != null) {
+            searchExecutor.cancel();
             searchWorker.cancel(true);
         }
 
@@ -312,7 +317,7 @@ public class SearchBar extends JPanel {
             return;
         }
 
-        searchWorker = new SearchWorker(basePanel, searchQuery, searchMode);
+        searchWorker = new SearchWorker(basePanel, searchExecutor, searchQuery, searchMode);
         searchWorker.execute();
     }
 
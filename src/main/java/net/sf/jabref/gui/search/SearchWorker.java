@@ -1,15 +1,16 @@
 package net.sf.jabref.gui.search;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.maintable.MainTableDataModel;
+import net.sf.jabref.gui.search.matchers.SearchMatcher;
+import net.sf.jabref.logic.search.SearchExecutor;
 import net.sf.jabref.logic.search.SearchQuery;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
@@ -26,13 +27,15 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
 
     private final BasePanel basePanel;
     private final BibDatabase database;
+    private final SearchExecutor searchExecutor;
 
     private final SearchQuery searchQuery;
     private final SearchMode mode;
 
-    SearchWorker(BasePanel basePanel, SearchQuery searchQuery, SearchMode mode) {
+    SearchWorker(BasePanel basePanel, SearchExecutor searchExecutor, SearchQuery searchQuery, SearchMode mode) {
         this.basePanel = Objects.requireNonNull(basePanel);
         this.database = Objects.requireNonNull(basePanel.getDatabase());
+        this.searchExecutor = Objects.requireNonNull(searchExecutor);
         this.searchQuery = Objects.requireNonNull(searchQuery);
         this.mode = Objects.requireNonNull(mode);
         LOGGER.debug("Search (" + this.mode.getDisplayName() + "): " + this.searchQuery);
@@ -40,10 +43,8 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
 
     @Override
     protected List<BibEntry> doInBackground() throws Exception {
-        // Search the current database
-        List<BibEntry> matchedEntries = new LinkedList<>();
-        matchedEntries.addAll(database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList()));
-        return matchedEntries;
+        // Search the current database, a newer search cancels this one
+        return searchExecutor.search(searchQuery, database);
     }
 
     @Override
@@ -55,6 +56,10 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
         try {
             updateUIWithSearchResult(get());
         } catch (InterruptedException | ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                // a newer search was started
+                return;
+            }
             LOGGER.error("something went wrong during the search", e);
         }
     }
@@ -67,16 +72,7 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
             return;
         }
 
-        // clear
-        for (BibEntry entry : basePanel.getDatabase().getEntries()) {
-            entry.setSearchHit(false);
-        }
-
-        for (BibEntry entry : matchedEntries) {
-            entry.setSearchHit(true);
-        }
-
-        basePanel.mainTable.getTableModel().updateSearchState(MainTableDataModel.DisplayOption.DISABLED);
+        basePanel.mainTable.getTableModel().updateSearchMatcher(new SearchMatcher(matchedEntries));
 
         // Show the result in the chosen way:
         switch (mode) {
@@ -87,6 +83,7 @@ class SearchWorker extends SwingWorker<List<BibEntry>, Void> {
             basePanel.mainTable.getTableModel().updateSearchState(MainTableDataModel.DisplayOption.FILTER);
             break;
         default:
+            basePanel.mainTable.getTableModel().updateSearchState(MainTableDataModel.DisplayOption.DISABLED);
             break;
         }
 
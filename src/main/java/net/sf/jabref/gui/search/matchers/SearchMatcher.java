@@ -15,20 +15,35 @@
 */
 package net.sf.jabref.gui.search.matchers;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 import ca.odell.glazedlists.matchers.Matcher;
 
 /**
- * Matcher for filtering or sorting the table according to whether entries are
- * tagged as search matches.
+ * Matcher for filtering or sorting the table according to whether entries
+ * are hits of a search. The hits are fixed when the matcher is created, so
+ * it can be used by several threads and every table keeps its own result.
  */
 public class SearchMatcher implements Matcher<BibEntry> {
 
-    public static final Matcher<BibEntry> INSTANCE = new SearchMatcher();
+    public static final SearchMatcher NO_HITS = new SearchMatcher(Collections.emptyList());
+
+    // compared by identity, as different entries may be equal
+    private final Set<BibEntry> hits;
+
+
+    public SearchMatcher(Collection<BibEntry> hits) {
+        this.hits = Collections.newSetFromMap(new IdentityHashMap<>(hits.size()));
+        this.hits.addAll(hits);
+    }
 
     @Override
     public boolean matches(BibEntry entry) {
-        return entry.isSearchHit();
+        return hits.contains(entry);
     }
 }
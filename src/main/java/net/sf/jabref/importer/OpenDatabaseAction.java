@@ -375,7 +375,7 @@ public class OpenDatabaseAction extends MnemonicAwareAction {
         try (InputStreamReader reader = openFile(fileToOpen, suppliedEncoding, defaultEncoding)) {
             BibtexParser parser = new BibtexParser(reader);
 
-            ParserResult result = parser.parse();
+            ParserResult result = parser.parseInParallel();
             result.setEncoding(Charset.forName(reader.getEncoding()));
             result.setFile(fileToOpen);
 
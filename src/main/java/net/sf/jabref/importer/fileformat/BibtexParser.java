@@ -16,18 +16,22 @@
 package net.sf.jabref.importer.fileformat;
 
 import java.io.IOException;
-import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.MetaData;
 import net.sf.jabref.bibtex.FieldProperties;
 import net.sf.jabref.bibtex.InternalBibtexFields;
@@ -63,7 +67,11 @@ import org.apache.commons.logging.LogFactory;
 public class BibtexParser {
     private static final Log LOGGER = LogFactory.getLog(BibtexParser.class);
 
-    private final PushbackReader pushbackReader;
+    private static final char EOF_CHARACTER = (char) -1;
+    // inputs are only split into chunks of at least this number of characters
+    private static final int MIN_CHUNK_LENGTH = 1 << 16;
+
+    private final Reader reader;
     private BibDatabase database;
     private Map<String, EntryType> entryTypes;
     private boolean eof;
@@ -71,13 +79,56 @@ public class BibtexParser {
     private final FieldContentParser fieldContentParser = new FieldContentParser();
     private ParserResult parserResult;
     private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final StringBuilder comment = new StringBuilder(20);
+    private final Map<String, String> meta = new HashMap<>();
+
+    /**
+     * The whole input is held in this buffer. The text of an entry is the slice between textStart and position.
+     */
+    private char[] buffer;
+    private int bufferLength;
+    // index of the next character to read
+    private int position;
+    // index of the first character read since the last call of dumpTextReadSoFarToString()
+    private int textStart;
+    // characters fixKey() pushes back in a different order than they were read, read before the buffer
+    private final char[] pushback = new char[LOOKAHEAD];
+    private int pushbackCount;
+    // EOFs pushed back at the end of the buffer, read as EOF_CHARACTER like from a pushback reader
+    private int unreadEOFs;
+
+    /**
+     * When parsing a chunk of the input, the entries and strings are collected here instead of being added to the
+     * database, as duplicate keys and names can only be detected when the chunks are merged.
+     */
+    private List<BibEntry> chunkEntries;
+    private List<BibtexString> chunkStrings;
+    // the number of warnings before each string, to keep the order of the warnings about duplicate strings
+    private List<Integer> chunkStringWarnings;
+    // an entry could not be parsed, so the parser skipped to the next entry
+    private boolean recoveredFromError;
 
     public BibtexParser(Reader in) {
         Objects.requireNonNull(in);
 
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        reader = in;
+    }
+
+    /**
+     * Creates a parser for the part of the given buffer between start and end.
+     *
+     * @param line the line number at start
+     */
+    private BibtexParser(char[] buffer, int start, int end, int line) {
+        reader = null;
+        this.buffer = buffer;
+        this.position = start;
+        this.textStart = start;
+        this.bufferLength = end;
+        this.line = line;
+        chunkEntries = new ArrayList<>();
+        chunkStrings = new ArrayList<>();
+        chunkStringWarnings = new ArrayList<>();
     }
 
     /**
@@ -144,7 +195,62 @@ public class BibtexParser {
         }
         // Bibtex related contents.
         initializeParserResult();
+        readInput();
+
+        return parseSequentially();
+    }
+
+    /**
+     * Like {@link #parse()}, but splits large inputs behind the top-level entries and parses the parts in parallel.
+     * The parts are merged in order, so the result is the same as the one of {@link #parse()}. If an entry cannot be
+     * parsed, the whole input is parsed again sequentially, as the parser may then skip over the end of a part.
+     *
+     * @return ParserResult
+     * @throws IOException
+     */
+    public ParserResult parseInParallel() throws IOException {
+        // If we already parsed this, just return it.
+        if (parserResult != null) {
+            return parserResult;
+        }
+        initializeParserResult();
+        readInput();
+
+        ForkJoinPool pool = JabRefExecutorService.INSTANCE.getForkJoinPool();
+        List<BibtexParser> chunkParsers = splitIntoChunks(pool.getParallelism());
+        if (chunkParsers.size() < 2) {
+            return parseSequentially();
+        }
 
+        List<Callable<Void>> tasks = new ArrayList<>(chunkParsers.size());
+        for (BibtexParser chunkParser : chunkParsers) {
+            tasks.add(() -> {
+                chunkParser.parseChunk();
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> task : pool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing was interrupted", e);
+        } catch (ExecutionException e) {
+            LOGGER.debug("Could not parse chunk, parsing sequentially", e.getCause());
+            return parseSequentially();
+        }
+
+        for (BibtexParser chunkParser : chunkParsers) {
+            if (chunkParser.recoveredFromError) {
+                return parseSequentially();
+            }
+        }
+        mergeChunks(chunkParsers);
+        return finishParserResult();
+    }
+
+    private ParserResult parseSequentially() throws IOException {
         skipWhitespace();
 
         try {
@@ -154,6 +260,132 @@ public class BibtexParser {
         }
     }
 
+    /**
+     * Splits the buffer into chunks of at least the minimum length. A chunk only ends where the sequential parser
+     * would end the text of an entry, string or preamble enclosed in braces, i.e., after the closing brace at the top
+     * level and one line break.
+     */
+    private List<BibtexParser> splitIntoChunks(int parallelism) {
+        int minimumChunkLength = Math.max(MIN_CHUNK_LENGTH, bufferLength / (4 * parallelism));
+        List<BibtexParser> chunkParsers = new ArrayList<>();
+        int chunkStart = 0;
+        int chunkStartLine = 1;
+        int currentLine = 1;
+        int depth = 0;
+        boolean inBracedItem = false;
+        for (int i = 0; i < bufferLength; i++) {
+            char character = buffer[i];
+            if (character == '\n') {
+                currentLine++;
+            } else if (character == '{') {
+                depth++;
+            } else if ((character == '}') && (depth > 0)) {
+                depth--;
+                if ((depth == 0) && inBracedItem) {
+                    inBracedItem = false;
+
+                    // skip like skipOneNewline()
+                    int end = i + 1;
+                    while ((end < bufferLength) && (buffer[end] == ' ')) {
+                        end++;
+                    }
+                    if ((end < bufferLength) && (buffer[end] == '\r')) {
+                        end++;
+                    }
+                    int endLine = currentLine;
+                    if ((end < bufferLength) && (buffer[end] == '\n')) {
+                        end++;
+                        endLine++;
+                    }
+
+                    if (((end - chunkStart) >= minimumChunkLength) && ((bufferLength - end) >= minimumChunkLength)) {
+                        chunkParsers.add(new BibtexParser(buffer, chunkStart, end, chunkStartLine));
+                        chunkStart = end;
+                        chunkStartLine = endLine;
+                    }
+                }
+            } else if ((character == '@') && (depth == 0)) {
+                inBracedItem = isBracedItem(i + 1);
+            }
+        }
+        chunkParsers.add(new BibtexParser(buffer, chunkStart, bufferLength, chunkStartLine));
+        return chunkParsers;
+    }
+
+    /**
+     * Checks whether the item type starting at the given index is followed by a brace. Comments are excluded, as user
+     * comments are not dumped, but become part of the text of the next entry.
+     */
+    private boolean isBracedItem(int typeStart) {
+        int index = typeStart;
+        while ((index < bufferLength) && Character.isWhitespace(buffer[index])) {
+            index++;
+        }
+        int start = index;
+        while ((index < bufferLength) && Character.isLetter(buffer[index])) {
+            index++;
+        }
+        if ("comment".equalsIgnoreCase(new String(buffer, start, index - start))) {
+            return false;
+        }
+        while ((index < bufferLength) && Character.isWhitespace(buffer[index])) {
+            index++;
+        }
+        return (index < bufferLength) && (buffer[index] == '{');
+    }
+
+    private void parseChunk() throws IOException {
+        initializeParserResult();
+        skipWhitespace();
+        parseItems();
+    }
+
+    /**
+     * Adds the results of the chunks to this parser in the order of the chunks.
+     */
+    private void mergeChunks(List<BibtexParser> chunkParsers) {
+        for (BibtexParser chunkParser : chunkParsers) {
+            List<String> warnings = chunkParser.parserResult.warnings();
+            int warning = 0;
+            for (int i = 0; i < chunkParser.chunkStrings.size(); i++) {
+                for (; warning < chunkParser.chunkStringWarnings.get(i); warning++) {
+                    parserResult.addWarning(warnings.get(warning));
+                }
+                addString(chunkParser.chunkStrings.get(i));
+            }
+            for (; warning < warnings.size(); warning++) {
+                parserResult.addWarning(warnings.get(warning));
+            }
+
+            if (chunkParser.database.getPreamble() != null) {
+                database.setPreamble(chunkParser.database.getPreamble());
+            }
+            for (BibEntry entry : chunkParser.chunkEntries) {
+                if (database.insertEntry(entry)) {
+                    parserResult.addDuplicateKey(entry.getCiteKey());
+                }
+            }
+            meta.putAll(chunkParser.meta);
+            entryTypes.putAll(chunkParser.entryTypes);
+            comment.append(chunkParser.comment);
+        }
+    }
+
+
+    /**
+     * Reads the complete input into the buffer, so that the parser works on a single array instead of a stream.
+     */
+    private void readInput() throws IOException {
+        buffer = new char[8192];
+        bufferLength = 0;
+        int read;
+        while ((read = reader.read(buffer, bufferLength, buffer.length - bufferLength)) != -1) {
+            bufferLength += read;
+            if (bufferLength == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+    }
 
     private void initializeParserResult() {
         database = new BibDatabase();
@@ -162,8 +394,11 @@ public class BibtexParser {
     }
 
     private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
+        parseItems();
+        return finishParserResult();
+    }
 
+    private void parseItems() throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -184,7 +419,7 @@ public class BibtexParser {
             } else if ("string".equals(entryType)) {
                 parseBibtexString();
             } else if ("comment".equals(entryType)) {
-                parseJabRefComment(meta);
+                parseJabRefComment();
             } else {
                 // Not a comment, preamble, or string. Thus, it is an entry
                 parseAndAddEntry(entryType);
@@ -192,7 +427,9 @@ public class BibtexParser {
 
             skipWhitespace();
         }
+    }
 
+    private ParserResult finishParserResult() {
         // Instantiate meta data:
         try {
             parserResult.setMetaData(new MetaData(meta));
@@ -226,7 +463,13 @@ public class BibtexParser {
         try {
             BibEntry entry = parseEntry(type);
 
-            boolean duplicateKey = database.insertEntry(entry);
+            boolean duplicateKey;
+            if (chunkEntries == null) {
+                duplicateKey = database.insertEntry(entry);
+            } else {
+                chunkEntries.add(entry);
+                duplicateKey = false;
+            }
             entry.setParsedSerialization(dumpTextReadSoFarToString());
             if (duplicateKey) {
                 parserResult.addDuplicateKey(entry.getCiteKey());
@@ -235,6 +478,7 @@ public class BibtexParser {
                         + " (" + Localization.lang("Grouping may not work for this entry.") + ")");
             }
         } catch (IOException ex) {
+            recoveredFromError = true;
             LOGGER.warn("Could not parse entry", ex);
             parserResult.addWarning(Localization.lang("Error occurred when parsing entry") + ": '"
                     + ex.getMessage() + "'. " + Localization.lang("Skipped entry."));
@@ -242,7 +486,7 @@ public class BibtexParser {
         }
     }
 
-    private void parseJabRefComment(Map<String, String> meta) throws IOException {
+    private void parseJabRefComment() throws IOException {
         StringBuilder buffer = parseBracketedTextExactly();
         /**
          *
@@ -308,6 +552,15 @@ public class BibtexParser {
     private void parseBibtexString() throws IOException {
         BibtexString bibtexString = parseString();
         bibtexString.setParsedSerialization(dumpTextReadSoFarToString());
+        if (chunkStrings == null) {
+            addString(bibtexString);
+        } else {
+            chunkStrings.add(bibtexString);
+            chunkStringWarnings.add(parserResult.warnings().size());
+        }
+    }
+
+    private void addString(BibtexString bibtexString) {
         try {
             database.addString(bibtexString);
         } catch (KeyCollisionException ex) {
@@ -323,62 +576,62 @@ public class BibtexParser {
      * @return the text read so far
      */
     private String dumpTextReadSoFarToString() {
-        String result = getPureTextFromFile();
-        int indexOfAt = result.indexOf("@");
+        int start = textStart;
+        int end = position;
+        textStart = position;
+
+        int indexOfAt = start;
+        while ((indexOfAt < end) && (buffer[indexOfAt] != '@')) {
+            indexOfAt++;
+        }
 
         // if there is no entry found, simply return the content (necessary to parse text remaining after the last entry)
-        if (indexOfAt == -1) {
-            return purgeEOFCharacters(result);
+        if (indexOfAt == end) {
+            return purgeEOFCharacters(start, end);
         } else {
 
             //skip all text except newlines and whitespaces before first @. This is necessary to remove the file header
             int runningIndex = indexOfAt - 1;
-            while (runningIndex >= 0) {
-                if (!Character.isWhitespace(result.charAt(runningIndex))) {
+            while (runningIndex >= start) {
+                if (!Character.isWhitespace(buffer[runningIndex])) {
                     break;
                 }
                 runningIndex--;
             }
 
-            if(runningIndex > -1) {
+            if(runningIndex > (start - 1)) {
                 // We have to ignore some text at the beginning
                 // so we view the first line break as the end of the previous text and don't store it
-                if(result.charAt(runningIndex + 1) == '\r') {
+                if(buffer[runningIndex + 1] == '\r') {
                     runningIndex++;
                 }
-                if(result.charAt(runningIndex + 1) == '\n') {
+                if(buffer[runningIndex + 1] == '\n') {
                     runningIndex++;
                 }
             }
 
-            return result.substring(runningIndex + 1);
-        }
-    }
-
-    private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
+            return purgeEOFCharacters(runningIndex + 1, end);
         }
-
-        return entry.toString();
     }
 
     /**
-     * Removes all eof characters from a StringBuilder and returns a new String with the resulting content
+     * Returns the text of the buffer in the given range without eof characters. The buffer is only copied once.
      *
      * @return a String without eof characters
      */
-    private String purgeEOFCharacters(String input) {
-
-        StringBuilder remainingText = new StringBuilder();
-        for (Character character : input.toCharArray()) {
-            if (!(isEOFCharacter(character))) {
-                remainingText.append(character);
+    private String purgeEOFCharacters(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == EOF_CHARACTER) {
+                StringBuilder remainingText = new StringBuilder(end - start);
+                for (int j = start; j < end; j++) {
+                    if (buffer[j] != EOF_CHARACTER) {
+                        remainingText.append(buffer[j]);
+                    }
+                }
+                return remainingText.toString();
             }
         }
-
-        return remainingText.toString();
+        return new String(buffer, start, end - start);
     }
 
     private void skipWhitespace() throws IOException {
@@ -463,12 +716,19 @@ public class BibtexParser {
         return character;
     }
 
-    private int read() throws IOException {
-        int character = pushbackReader.read();
-
-        if(! isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+    private int read() {
+        int character;
+        if (pushbackCount > 0) {
+            character = pushback[--pushbackCount];
+        } else if (position < bufferLength) {
+            character = buffer[position++];
+        } else if (unreadEOFs > 0) {
+            unreadEOFs--;
+            character = EOF_CHARACTER;
+        } else {
+            character = -1;
         }
+
         if (character == '\n') {
             line++;
         }
@@ -479,9 +739,16 @@ public class BibtexParser {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if(pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        if ((pushbackCount == 0) && (position > textStart) && (character != -1)
+                && (buffer[position - 1] == character)) {
+            position--;
+        } else if ((pushbackCount == 0) && (position == bufferLength) && isEOFCharacter(character)) {
+            unreadEOFs++;
+        } else {
+            if (pushbackCount == pushback.length) {
+                throw new IOException("Pushback buffer overflow");
+            }
+            pushback[pushbackCount++] = (char) character;
         }
     }
 
@@ -14,13 +14,8 @@
 package net.sf.jabref.logic.autocompleter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * Delivers possible completions for a given string.
@@ -31,22 +26,11 @@ import java.util.TreeSet;
 public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
 
     private static final int SHORTEST_WORD_TO_ADD = 4;
+    // number of completions offered at most, the most frequent ones are chosen
+    private static final int MAXIMUM_COMPLETIONS = 100;
     private final AutoCompletePreferences preferences;
 
-    /**
-     * Stores the strings as is.
-     */
-    private final TreeSet<String> indexCaseSensitive = new TreeSet<>();
-
-    /**
-     * Stores strings in lowercase.
-     */
-    private final TreeSet<String> indexCaseInsensitive = new TreeSet<>();
-
-    /**
-     * Stores for a lowercase string the possible expanded strings.
-     */
-    private final Map<String, Set<String>> possibleStringsForSearchString = new HashMap<>();
+    private final CompletionIndex index = new CompletionIndex();
 
 
     public AbstractAutoCompleter(AutoCompletePreferences preferences) {
@@ -57,10 +41,11 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
      * {@inheritDoc}
      * The completion is case sensitive if the string contains upper case letters.
      * Otherwise the completion is case insensitive.
+     * The most frequent completions come first.
      */
     @Override
     public List<String> complete(String toComplete) {
-        if(toComplete == null) {
+        if ((toComplete == null) || toComplete.isEmpty()) {
             return new ArrayList<>();
         }
         if (isTooShortToComplete(toComplete)) {
@@ -70,39 +55,14 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
 
         if (lowerCase.equals(toComplete)) {
             // user typed in lower case word -> we do an case-insensitive search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(lowerCase);
-            SortedSet<String> subset = indexCaseInsensitive.subSet(lowerCase, ender);
-
-            // As subset only contains lower case strings,
-            // we have to to determine possible strings for each hit
-            List<String> result = new ArrayList<>();
-            for (String s : subset) {
-                result.addAll(possibleStringsForSearchString.get(s));
-            }
-            return result;
+            return index.complete(lowerCase, MAXIMUM_COMPLETIONS, word -> true);
         } else {
             // user typed in a mix of upper case and lower case,
             // we assume user wants to have exact search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(toComplete);
-            SortedSet<String> subset = indexCaseSensitive.subSet(toComplete, ender);
-            return new ArrayList<>(subset);
+            return index.complete(lowerCase, MAXIMUM_COMPLETIONS, word -> word.startsWith(toComplete));
         }
     }
 
-    /**
-     * Increments the last character of a string.
-     *
-     * Example: incrementLastCharacter("abc") returns "abd".
-     */
-    private static String incrementLastCharacter(String toIncrement) {
-        if (toIncrement.isEmpty()) {
-            return "";
-        }
-
-        char lastChar = toIncrement.charAt(toIncrement.length() - 1);
-        return toIncrement.substring(0, toIncrement.length() - 1) + Character.toString((char) (lastChar + 1));
-    }
-
     /**
      * Returns whether the string is to short to be completed.
      */
@@ -116,19 +76,7 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
             return;
         }
 
-        indexCaseSensitive.add(word);
-
-        // insensitive treatment
-        // first, add the lower cased word to search index
-        // second, add a mapping from the lower cased word to the real word
-        String lowerCase = word.toLowerCase();
-        indexCaseInsensitive.add(lowerCase);
-        Set<String> set = possibleStringsForSearchString.get(lowerCase);
-        if (set == null) {
-            set = new TreeSet<>();
-        }
-        set.add(word);
-        possibleStringsForSearchString.put(lowerCase, set);
+        index.add(word);
     }
 
     @Override
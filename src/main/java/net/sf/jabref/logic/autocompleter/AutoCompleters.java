@@ -3,7 +3,6 @@ package net.sf.jabref.logic.autocompleter;
 import java.util.HashMap;
 import java.util.Map;
 
-import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 class AutoCompleters {
@@ -16,12 +15,6 @@ class AutoCompleters {
         return autoCompleters.get(fieldName);
     }
 
-    protected void addDatabase(BibDatabase database) {
-        for (BibEntry entry : database.getEntries()) {
-            addEntry(entry);
-        }
-    }
-
     /**
      * This methods assures all words in the given entry are recorded in their
      * respective Completers, if any.
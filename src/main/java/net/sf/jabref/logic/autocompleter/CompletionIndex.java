@@ -0,0 +1,241 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Stores the words of an auto completer together with the number of times each word has been added.
+ *
+ * The words are stored in a radix trie over their lower case forms, whose edges are labelled with whole substrings,
+ * so that words sharing a prefix share its nodes. Every node knows the largest count below it, so the most frequent
+ * completions of a prefix are found without visiting all words starting with it.
+ *
+ * All methods are synchronized, as words are added by background threads while the user is typing.
+ */
+class CompletionIndex {
+
+    private static final Comparator<Candidate> MOST_FREQUENT_FIRST = Comparator
+            .comparingInt((Candidate candidate) -> -candidate.count).thenComparing(candidate -> candidate.key)
+            // the words of a node are found before its children, which have longer keys
+            .thenComparing(candidate -> candidate.word, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Node root = new Node("", 0, 0);
+
+
+    /**
+     * Adds the word to the index, or counts it once more if it is already contained.
+     */
+    public synchronized void add(String word) {
+        String key = word.toLowerCase();
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int position = 0;
+        while (position < key.length()) {
+            int childIndex = node.findChild(key.charAt(position));
+            if (childIndex < 0) {
+                Node leaf = new Node(key, position, key.length());
+                node.insertChild(-childIndex - 1, leaf);
+                node = leaf;
+                position = key.length();
+            } else {
+                Node child = node.children[childIndex];
+                int common = child.commonPrefixLength(key, position);
+                if (common < child.getLabelLength()) {
+                    // split the edge at the end of the common prefix
+                    Node split = new Node(child.labelSource, child.labelStart, child.labelStart + common);
+                    child.labelStart += common;
+                    split.children = new Node[] {child};
+                    split.maxCount = child.maxCount;
+                    node.children[childIndex] = split;
+                    child = split;
+                }
+                node = child;
+                position += common;
+            }
+            path.add(node);
+        }
+
+        int count = node.addWord(word);
+        for (Node onPath : path) {
+            onPath.maxCount = Math.max(onPath.maxCount, count);
+        }
+    }
+
+    /**
+     * Returns the most frequent words whose lower case form starts with the given lower case prefix and which are
+     * accepted by the filter, ordered by decreasing frequency and then alphabetically. An empty prefix completes to
+     * nothing.
+     *
+     * @param maximumCount the maximum number of words returned
+     */
+    public synchronized List<String> complete(String lowerCasePrefix, int maximumCount, Predicate<String> filter) {
+        List<String> result = new ArrayList<>();
+        if ((lowerCasePrefix == null) || lowerCasePrefix.isEmpty()) {
+            return result;
+        }
+        Node node = root;
+        StringBuilder key = new StringBuilder();
+        int position = 0;
+        while (position < lowerCasePrefix.length()) {
+            int childIndex = node.findChild(lowerCasePrefix.charAt(position));
+            if (childIndex < 0) {
+                return result;
+            }
+            node = node.children[childIndex];
+            int common = node.commonPrefixLength(lowerCasePrefix, position);
+            if ((common < node.getLabelLength()) && ((position + common) < lowerCasePrefix.length())) {
+                // the prefix differs from the label of the edge
+                return result;
+            }
+            key.append(node.getLabel());
+            position += common;
+        }
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(MOST_FREQUENT_FIRST);
+        candidates.add(new Candidate(node.maxCount, key.toString(), null, node));
+        while (!candidates.isEmpty() && (result.size() < maximumCount)) {
+            Candidate candidate = candidates.poll();
+            if (candidate.word != null) {
+                if (filter.test(candidate.word)) {
+                    result.add(candidate.word);
+                }
+            } else {
+                Node candidateNode = candidate.node;
+                if (candidateNode.word != null) {
+                    candidates.add(new Candidate(candidateNode.count, candidate.key, candidateNode.word, null));
+                    for (int i = 0; i < candidateNode.moreWords.length; i++) {
+                        candidates.add(new Candidate(candidateNode.moreCounts[i], candidate.key,
+                                candidateNode.moreWords[i], null));
+                    }
+                }
+                for (Node child : candidateNode.children) {
+                    candidates.add(new Candidate(child.maxCount, candidate.key + child.getLabel(), null, child));
+                }
+            }
+        }
+        return result;
+    }
+
+
+    private static class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final String[] NO_WORDS = new String[0];
+        private static final int[] NO_COUNTS = new int[0];
+
+        // The lower case characters of the edge leading to this node. They are a range of the lower case form of the
+        // word which created the node, which usually is the word itself, so the characters are not copied.
+        private final String labelSource;
+        private int labelStart;
+        private final int labelEnd;
+        // sorted by the first character of their labels
+        private Node[] children = NO_CHILDREN;
+        // the word whose lower case form ends at this node, if any
+        private String word;
+        private int count;
+        // further words with the same lower case form, which are rare
+        private String[] moreWords = NO_WORDS;
+        private int[] moreCounts = NO_COUNTS;
+        // the largest count of a word at or below this node
+        private int maxCount;
+
+
+        Node(String labelSource, int labelStart, int labelEnd) {
+            this.labelSource = labelSource;
+            this.labelStart = labelStart;
+            this.labelEnd = labelEnd;
+        }
+
+        int getLabelLength() {
+            return labelEnd - labelStart;
+        }
+
+        String getLabel() {
+            return labelSource.substring(labelStart, labelEnd);
+        }
+
+        int commonPrefixLength(String key, int keyOffset) {
+            int length = Math.min(getLabelLength(), key.length() - keyOffset);
+            int common = 0;
+            while ((common < length) && (labelSource.charAt(labelStart + common) == key.charAt(keyOffset + common))) {
+                common++;
+            }
+            return common;
+        }
+
+        int findChild(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char middleFirst = children[middle].labelSource.charAt(children[middle].labelStart);
+                if (middleFirst < first) {
+                    low = middle + 1;
+                } else if (middleFirst > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            children = newChildren;
+        }
+
+        /**
+         * @return the count of the word after adding it
+         */
+        int addWord(String newWord) {
+            if (word == null) {
+                word = newWord;
+                count = 1;
+                return count;
+            }
+            if (word.equals(newWord)) {
+                count++;
+                return count;
+            }
+            for (int i = 0; i < moreWords.length; i++) {
+                if (moreWords[i].equals(newWord)) {
+                    moreCounts[i]++;
+                    return moreCounts[i];
+                }
+            }
+            moreWords = Arrays.copyOf(moreWords, moreWords.length + 1);
+            moreCounts = Arrays.copyOf(moreCounts, moreCounts.length + 1);
+            moreWords[moreWords.length - 1] = newWord;
+            moreCounts[moreCounts.length - 1] = 1;
+            return 1;
+        }
+    }
+
+    /**
+     * A word, or a node whose words have not been looked at yet.
+     */
+    private static class Candidate {
+
+        private final int count;
+        private final String key;
+        private final String word;
+        private final Node node;
+
+
+        Candidate(int count, String key, String word, Node node) {
+            this.count = count;
+            this.key = key;
+            this.word = word;
+            this.node = node;
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.MetaData;
 import net.sf.jabref.logic.journals.Abbreviation;
 import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
 import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 public class ContentAutoCompleters extends AutoCompleters {
 
+    private static final Log LOGGER = LogFactory.getLog(ContentAutoCompleters.class);
+
     private final JournalAbbreviationLoader abbreviationLoader;
+    private final FutureTask<Void> filling;
 
 
     public ContentAutoCompleters(JournalAbbreviationLoader abbreviationLoader) {
         this.abbreviationLoader = Objects.requireNonNull(abbreviationLoader);
+        // there is nothing to fill
+        this.filling = new FutureTask<>(() -> null);
+        filling.run();
     }
 
+    /**
+     * Creates the auto completers of the given fields and fills them with the words of the database, the journal
+     * list and the content selectors in the background, so that opening a large database is not delayed.
+     *
+     * Until the filling is done, the auto completers offer the completions found so far. Entries added or changed
+     * in the meantime still have to be passed to {@link #addEntry(BibEntry)}.
+     */
     public ContentAutoCompleters(BibDatabase database, MetaData metaData, AutoCompletePreferences preferences,
             JournalAbbreviationLoader abbreviationLoader) {
-        this(abbreviationLoader);
+        this.abbreviationLoader = Objects.requireNonNull(abbreviationLoader);
         Objects.requireNonNull(preferences);
 
         AutoCompleterFactory autoCompleterFactory = new AutoCompleterFactory(preferences);
@@ -30,10 +51,32 @@ public class ContentAutoCompleters extends AutoCompleters {
             put(field, autoCompleter);
         }
 
-        addDatabase(database);
+        // later changes of the entry list are reported through addEntry
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+        this.filling = new FutureTask<>(() -> {
+            entries.forEach(this::addEntry);
+            addJournalListToAutoCompleter();
+            addContentSelectorValuesToAutoCompleters(metaData);
+        }, null);
+        JabRefExecutorService.INSTANCE.execute(filling);
+    }
 
-        addJournalListToAutoCompleter();
-        addContentSelectorValuesToAutoCompleters(metaData);
+    /**
+     * Returns whether the auto completers contain all words of the database they were created for.
+     */
+    public boolean isFilled() {
+        return filling.isDone();
+    }
+
+    /**
+     * Waits until the auto completers contain all words of the database they were created for.
+     */
+    public void waitUntilFilled() throws InterruptedException {
+        try {
+            filling.get();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Could not fill auto completers", e);
+        }
     }
 
     /**
@@ -137,6 +137,14 @@ public abstract class AbstractGroup implements SearchMatcher {
      */
     public abstract boolean contains(BibEntry entry);
 
+    /**
+     * Returns whether a change of the given field may change whether an entry is contained in this group. Groups
+     * which cannot tell return true.
+     */
+    public boolean dependsOnField(String fieldName) {
+        return true;
+    }
+
     @Override
     public boolean isMatch(BibEntry entry) {
         return contains(entry);
@@ -82,6 +82,11 @@ public class AllEntriesGroup extends AbstractGroup {
         return true;
     }
 
+    @Override
+    public boolean dependsOnField(String fieldName) {
+        return false;
+    }
+
     @Override
     public boolean isDynamic() {
         // this is actually a special case; I define it as non-dynamic
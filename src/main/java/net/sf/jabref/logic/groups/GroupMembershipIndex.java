@@ -0,0 +1,312 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.event.EntriesChangedEvent;
+import net.sf.jabref.event.EntryAddedEvent;
+import net.sf.jabref.event.EntryRemovedEvent;
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.logic.util.CompressedBitSet;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps the entries of a single database which are contained in its groups, so that the number of entries of a
+ * group can be shown and groups can be selected without checking all entries again.
+ *
+ * Every entry gets an ordinal when it is added to the index, which it keeps until it is removed. The ordinals of
+ * removed entries are given to the entries added next, so that the ordinals stay dense, and the sets returned by the
+ * index must not be kept across changes of the database. The members of a group are stored as a {@link CompressedBitSet} of these ordinals, so that the entries of hierarchical groups and
+ * of several selected groups are found by combining sets. The members of a group are determined when they are asked
+ * for the first time, together with the other groups asked for in the meantime. Afterwards they are updated from
+ * the {@link EntryAddedEvent}s, {@link EntryRemovedEvent}s and {@link EntriesChangedEvent}s of the database and the
+ * {@link FieldChangedEvent}s of its entries, for which only the groups depending on the changed field are checked
+ * again, see {@link AbstractGroup#dependsOnField(String)}. Groups are compared by identity and forgotten once they are
+ * garbage collected.
+ */
+public class GroupMembershipIndex {
+
+    private static final LoadingCache<BibDatabase, GroupMembershipIndex> INDEXES = CacheBuilder.newBuilder()
+            .weakKeys().build(CacheLoader.from(GroupMembershipIndex::new));
+
+    // the entry and its id of every ordinal, null if the ordinal is free
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();
+    private final Map<BibEntry, Integer> ordinals = new IdentityHashMap<>();
+    // the database removes entries by their id, so the removed instance is not necessarily the indexed one
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final BitSet freeOrdinals = new BitSet();
+    // weak keys are compared by identity
+    private final Map<AbstractGroup, CompressedBitSet> members = CacheBuilder.newBuilder().weakKeys()
+            .<AbstractGroup, CompressedBitSet> build().asMap();
+    // the groups whose members are determined in the background, with the callback to run afterwards, and whether
+    // a background thread is determining them
+    private final Map<AbstractGroup, Runnable> pendingGroups = new IdentityHashMap<>();
+    private boolean determiningPendingMembers;
+    // incremented on every change of the entries, to detect changes while members are determined
+    private long modifications;
+
+
+    private GroupMembershipIndex(BibDatabase database) {
+        database.registerListener(this);
+        for (BibEntry entry : database.getEntries()) {
+            add(entry);
+            entry.registerListener(this);
+        }
+    }
+
+    /**
+     * Returns the index of the given database. The index is created on the first call and kept up to date until
+     * the database is garbage collected.
+     */
+    public static GroupMembershipIndex getIndex(BibDatabase database) {
+        return INDEXES.getUnchecked(database);
+    }
+
+    /**
+     * Returns the number of entries contained in the given group, if it is known already. Otherwise the entries are
+     * checked in the background, and the callback passed by the call which started the check is run by the
+     * background thread once the number is known.
+     */
+    public synchronized Optional<Integer> getNumberOfEntries(AbstractGroup group, Runnable whenKnown) {
+        CompressedBitSet groupMembers = members.get(group);
+        if (groupMembers != null) {
+            return Optional.of(groupMembers.cardinality());
+        }
+        if (!pendingGroups.containsKey(group)) {
+            pendingGroups.put(group, whenKnown);
+            if (!determiningPendingMembers) {
+                determiningPendingMembers = true;
+                JabRefExecutorService.INSTANCE.getForkJoinPool().execute(this::determinePendingMembers);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the entries found by the search rule of the given node, see
+     * {@link GroupTreeNode#getMatchingEntries(java.util.function.Function)}. The members of groups which are not
+     * known yet are determined at once. Use {@link #contains(CompressedBitSet, BibEntry)} to check the result.
+     */
+    public CompressedBitSet getMatchingEntries(GroupTreeNode node) {
+        return node.getMatchingEntries(this::getMembers);
+    }
+
+    /**
+     * Returns whether the given entry is contained in a set returned by this index.
+     */
+    public synchronized boolean contains(CompressedBitSet entrySet, BibEntry entry) {
+        Integer ordinal = ordinals.get(entry);
+        return (ordinal != null) && entrySet.get(ordinal);
+    }
+
+    /**
+     * Returns the entries of a set returned by this index which are still in the database, in the order of their
+     * ordinals.
+     */
+    public synchronized List<BibEntry> getEntries(CompressedBitSet entrySet) {
+        List<BibEntry> entriesInSet = new ArrayList<>(entrySet.cardinality());
+        entrySet.forEach(ordinal -> {
+            BibEntry entry = entries.get(ordinal);
+            if (entry != null) {
+                entriesInSet.add(entry);
+            }
+        });
+        return entriesInSet;
+    }
+
+    /**
+     * Returns a copy of the members of the given group, which are determined at once if they are not known. The lock
+     * is not held while the members are determined, as the threads determining members in the background need it.
+     */
+    private CompressedBitSet getMembers(AbstractGroup group) {
+        while (true) {
+            List<BibEntry> snapshot;
+            long startModifications;
+            synchronized (this) {
+                CompressedBitSet groupMembers = members.get(group);
+                if (groupMembers != null) {
+                    return groupMembers.copy();
+                }
+                snapshot = new ArrayList<>(entries);
+                startModifications = modifications;
+            }
+            CompressedBitSet groupMembers = determineMembers(Collections.singletonList(group), snapshot).get(0);
+            synchronized (this) {
+                if (modifications == startModifications) {
+                    members.putIfAbsent(group, groupMembers);
+                    return members.get(group).copy();
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines the members of all pending groups in one pass over the entries, until no groups are pending.
+     */
+    private void determinePendingMembers() {
+        while (true) {
+            List<AbstractGroup> groups;
+            List<BibEntry> snapshot;
+            long startModifications;
+            synchronized (this) {
+                groups = new ArrayList<>(pendingGroups.keySet());
+                if (groups.isEmpty()) {
+                    determiningPendingMembers = false;
+                    return;
+                }
+                snapshot = new ArrayList<>(entries);
+                startModifications = modifications;
+            }
+            List<CompressedBitSet> groupMembers = determineMembers(groups, snapshot);
+            List<Runnable> callbacks = new ArrayList<>();
+            synchronized (this) {
+                if (modifications != startModifications) {
+                    // an entry changed in the meantime, which may not be reflected by the snapshot
+                    continue;
+                }
+                for (int i = 0; i < groups.size(); i++) {
+                    members.putIfAbsent(groups.get(i), groupMembers.get(i));
+                    callbacks.add(pendingGroups.remove(groups.get(i)));
+                }
+            }
+            callbacks.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Checks every entry against all given groups at once, see {@link GroupsMatcher}.
+     *
+     * @return the members of the groups at the same positions
+     */
+    private static List<CompressedBitSet> determineMembers(List<AbstractGroup> groups,
+            List<BibEntry> entriesByOrdinal) {
+        GroupsMatcher matcher = new GroupsMatcher(groups);
+        BitSet[] containingGroups = new BitSet[entriesByOrdinal.size()];
+        JabRefExecutorService.INSTANCE.getForkJoinPool()
+                .submit(() -> IntStream.range(0, containingGroups.length).parallel()
+                        .filter(ordinal -> entriesByOrdinal.get(ordinal) != null)
+                        .forEach(ordinal -> containingGroups[ordinal] = matcher
+                                .findContainingGroups(entriesByOrdinal.get(ordinal))))
+                .join();
+
+        List<CompressedBitSet> groupMembers = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            groupMembers.add(new CompressedBitSet());
+        }
+        for (int ordinal = 0; ordinal < containingGroups.length; ordinal++) {
+            if (containingGroups[ordinal] != null) {
+                int entryOrdinal = ordinal;
+                containingGroups[ordinal].stream().forEach(index -> groupMembers.get(index).set(entryOrdinal));
+            }
+        }
+        return groupMembers;
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent entryAddedEvent) {
+        BibEntry entry = entryAddedEvent.getBibEntry();
+        synchronized (this) {
+            add(entry);
+        }
+        entry.registerListener(this);
+    }
+
+    @Subscribe
+    public void listen(EntryRemovedEvent entryRemovedEvent) {
+        BibEntry removed;
+        synchronized (this) {
+            BibEntry entry = entryRemovedEvent.getBibEntry();
+            Integer ordinal = ordinals.containsKey(entry) ? ordinals.get(entry) : ordinalsById.get(entry.getId());
+            if (ordinal == null) {
+                return;
+            }
+            removed = entries.get(ordinal);
+            ordinals.remove(removed);
+            ordinalsById.remove(ids.get(ordinal));
+            entries.set(ordinal, null);
+            ids.set(ordinal, null);
+            freeOrdinals.set(ordinal);
+            for (CompressedBitSet groupMembers : members.values()) {
+                groupMembers.clear(ordinal);
+            }
+            modifications++;
+        }
+        removed.unregisterListener(this);
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent fieldChangedEvent) {
+        Integer ordinal = ordinals.get(fieldChangedEvent.getBibEntry());
+        if (ordinal == null) {
+            return;
+        }
+        if (BibEntry.ID_FIELD.equals(fieldChangedEvent.getFieldName())) {
+            ordinalsById.remove(ids.get(ordinal));
+            ordinalsById.put(fieldChangedEvent.getNewValue(), ordinal);
+            ids.set(ordinal, fieldChangedEvent.getNewValue());
+        } else {
+            update(ordinal, fieldChangedEvent.getFieldName());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesChangedEvent entriesChangedEvent) {
+        for (BibEntry entry : entriesChangedEvent.getBibEntries()) {
+            Integer ordinal = ordinals.get(entry);
+            if (ordinal != null) {
+                update(ordinal, null);
+            }
+        }
+    }
+
+    private void add(BibEntry entry) {
+        int ordinal = freeOrdinals.nextSetBit(0);
+        if (ordinal < 0) {
+            ordinal = entries.size();
+            entries.add(entry);
+            ids.add(entry.getId());
+        } else {
+            freeOrdinals.clear(ordinal);
+            entries.set(ordinal, entry);
+            ids.set(ordinal, entry.getId());
+        }
+        ordinals.put(entry, ordinal);
+        ordinalsById.put(entry.getId(), ordinal);
+        update(ordinal, null);
+    }
+
+    /**
+     * Checks the entry of the ordinal again against the groups depending on the given field, or against all groups if
+     * the field is null. The modification is counted in any case, as it may affect the groups whose members are
+     * being determined.
+     */
+    private void update(int ordinal, String changedField) {
+        BibEntry entry = entries.get(ordinal);
+        for (Map.Entry<AbstractGroup, CompressedBitSet> groupMembers : members.entrySet()) {
+            if ((changedField != null) && !groupMembers.getKey().dependsOnField(changedField)) {
+                continue;
+            }
+            if (groupMembers.getKey().contains(entry)) {
+                groupMembers.getValue().set(ordinal);
+            } else {
+                groupMembers.getValue().clear(ordinal);
+            }
+        }
+        modifications++;
+    }
+}
@@ -18,10 +18,12 @@ package net.sf.jabref.logic.groups;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import net.sf.jabref.logic.search.SearchMatcher;
 import net.sf.jabref.logic.search.matchers.MatcherSet;
 import net.sf.jabref.logic.search.matchers.MatcherSets;
+import net.sf.jabref.logic.util.CompressedBitSet;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -131,6 +133,31 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         return searchRule;
     }
 
+    /**
+     * Returns the entries found by the search rule of this node (see {@link #getSearchRule()}), combining the entries
+     * contained in the single groups instead of checking every entry.
+     *
+     * @param members returns the entries contained in a group, as a new set on every call
+     */
+    public CompressedBitSet getMatchingEntries(Function<AbstractGroup, CompressedBitSet> members) {
+        return getMatchingEntries(members, group.getHierarchicalContext());
+    }
+
+    private CompressedBitSet getMatchingEntries(Function<AbstractGroup, CompressedBitSet> members,
+            GroupHierarchyType originalContext) {
+        final GroupHierarchyType context = group.getHierarchicalContext();
+        CompressedBitSet entries = members.apply(group);
+        if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (GroupTreeNode child : getChildren()) {
+                entries.or(child.getMatchingEntries(members, originalContext));
+            }
+        } else if ((context == GroupHierarchyType.REFINING) && !isRoot() && (originalContext
+                != GroupHierarchyType.INCLUDING)) {
+            entries.and(getParent().get().getMatchingEntries(members, originalContext));
+        }
+        return entries;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,176 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Checks which of many groups contain an entry, scanning every field only once.
+ *
+ * The keyword groups without regular expression which search the same field share an Aho-Corasick automaton of their
+ * search expressions, which finds all occurrences of all expressions in a single pass over the field. Characters are
+ * folded by {@link KeywordGroup#fold(char)}, so case sensitive groups are checked for the exact case afterwards. All
+ * other groups are checked one by one.
+ *
+ * Instances are immutable and can be used by several threads at once.
+ */
+class GroupsMatcher {
+
+    private final List<AbstractGroup> groups;
+    // the indices of the groups which are not part of an automaton
+    private final int[] otherGroups;
+    private final Map<String, KeywordAutomaton> automata = new HashMap<>();
+
+
+    GroupsMatcher(List<? extends AbstractGroup> groups) {
+        this.groups = new ArrayList<>(groups);
+        Map<String, List<Integer>> keywordGroupsByField = new HashMap<>();
+        List<Integer> others = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            AbstractGroup group = groups.get(i);
+            if ((group instanceof KeywordGroup) && !((KeywordGroup) group).isRegExp()
+                    && !((KeywordGroup) group).getSearchExpression().isEmpty()) {
+                keywordGroupsByField.computeIfAbsent(((KeywordGroup) group).getSearchField(), field -> new ArrayList<>())
+                        .add(i);
+            } else {
+                others.add(i);
+            }
+        }
+        otherGroups = others.stream().mapToInt(Integer::intValue).toArray();
+        keywordGroupsByField.forEach((field, indices) -> automata.put(field, new KeywordAutomaton(indices)));
+    }
+
+    /**
+     * Returns the indices of the groups containing the given entry, as given to the constructor.
+     */
+    BitSet findContainingGroups(BibEntry entry) {
+        BitSet containingGroups = new BitSet();
+        for (Map.Entry<String, KeywordAutomaton> automaton : automata.entrySet()) {
+            if (entry.hasField(automaton.getKey())) {
+                automaton.getValue().findGroups(entry.getField(automaton.getKey()), containingGroups);
+            }
+        }
+        for (int index : otherGroups) {
+            if (groups.get(index).contains(entry)) {
+                containingGroups.set(index);
+            }
+        }
+        return containingGroups;
+    }
+
+
+    private class KeywordAutomaton {
+
+        private final Node root = new Node();
+
+
+        KeywordAutomaton(List<Integer> groupIndices) {
+            for (int groupIndex : groupIndices) {
+                String expression = ((KeywordGroup) groups.get(groupIndex)).getSearchExpression();
+                Node node = root;
+                for (int i = 0; i < expression.length(); i++) {
+                    node = node.getOrAddChild(KeywordGroup.fold(expression.charAt(i)));
+                }
+                node.groupIndices = Arrays.copyOf(node.groupIndices, node.groupIndices.length + 1);
+                node.groupIndices[node.groupIndices.length - 1] = groupIndex;
+            }
+
+            // link every node to the node of its longest proper suffix, breadth first
+            Queue<Node> queue = new ArrayDeque<>();
+            for (Node child : root.children) {
+                child.failure = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.remove();
+                for (int i = 0; i < node.children.length; i++) {
+                    Node child = node.children[i];
+                    Node failure = node.failure;
+                    while ((failure != root) && (failure.getChild(node.characters[i]) == null)) {
+                        failure = failure.failure;
+                    }
+                    Node suffix = failure.getChild(node.characters[i]);
+                    child.failure = suffix == null ? root : suffix;
+                    child.output = child.failure.groupIndices.length > 0 ? child.failure : child.failure.output;
+                    queue.add(child);
+                }
+            }
+        }
+
+        void findGroups(String content, BitSet containingGroups) {
+            Node node = root;
+            for (int end = 1; end <= content.length(); end++) {
+                char c = KeywordGroup.fold(content.charAt(end - 1));
+                while ((node != root) && (node.getChild(c) == null)) {
+                    node = node.failure;
+                }
+                Node child = node.getChild(c);
+                node = child == null ? root : child;
+                for (Node match = node; match != null; match = match.output) {
+                    for (int groupIndex : match.groupIndices) {
+                        if (!containingGroups.get(groupIndex) && matches(groupIndex, content, end)) {
+                            containingGroups.set(groupIndex);
+                        }
+                    }
+                }
+            }
+        }
+
+        private boolean matches(int groupIndex, String content, int end) {
+            KeywordGroup group = (KeywordGroup) groups.get(groupIndex);
+            String expression = group.getSearchExpression();
+            int start = end - expression.length();
+            return KeywordGroup.isCompleteWord(content, start, end)
+                    && (!group.isCaseSensitive() || content.startsWith(expression, start));
+        }
+    }
+
+    private static class Node {
+
+        private static final char[] NO_CHARACTERS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_GROUPS = new int[0];
+
+        // sorted, with the child reached by each character at the same position
+        private char[] characters = NO_CHARACTERS;
+        private Node[] children = NO_CHILDREN;
+        // the groups whose search expression ends at this node
+        private int[] groupIndices = NO_GROUPS;
+        private Node failure;
+        // the nearest node reached by failures at which search expressions end
+        private Node output;
+
+
+        Node getChild(char c) {
+            int index = Arrays.binarySearch(characters, c);
+            return index < 0 ? null : children[index];
+        }
+
+        Node getOrAddChild(char c) {
+            int index = Arrays.binarySearch(characters, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            Node child = new Node();
+            char[] newCharacters = new char[characters.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(characters, 0, newCharacters, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newCharacters[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(characters, index, newCharacters, index + 1, characters.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            characters = newCharacters;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -42,6 +42,8 @@ public class KeywordGroup extends AbstractGroup {
 
     private final String searchField;
     private final String searchExpression;
+    // the search expression folded once for case insensitive matching
+    private final String foldedSearchExpression;
     private final boolean caseSensitive;
     private final boolean regExp;
     private Pattern pattern;
@@ -58,6 +60,7 @@ public class KeywordGroup extends AbstractGroup {
         super(name, context);
         this.searchField = searchField;
         this.searchExpression = searchExpression;
+        this.foldedSearchExpression = KeywordGroup.fold(searchExpression);
         this.caseSensitive = caseSensitive;
         this.regExp = regExp;
         if (this.regExp) {
@@ -207,7 +210,7 @@ public class KeywordGroup extends AbstractGroup {
         if (caseSensitive) {
             return KeywordGroup.containsWord(searchExpression, content);
         }
-        return KeywordGroup.containsWord(searchExpression.toLowerCase(), content.toLowerCase());
+        return KeywordGroup.containsFoldedWord(foldedSearchExpression, content);
     }
 
     /**
@@ -219,24 +222,73 @@ public class KeywordGroup extends AbstractGroup {
      * @return true if the word was found, false otherwise.
      */
     private static boolean containsWord(String word, String text) {
-        int piv = 0;
-        while (piv < text.length()) {
-            int index = text.indexOf(word, piv);
-            if (index < 0) {
-                return false;
+        int start = text.indexOf(word);
+        while ((start >= 0) && (start < text.length())) {
+            if (KeywordGroup.isCompleteWord(text, start, start + word.length())) {
+                return true;
             }
-            // Found a match. See if it is a complete word:
-            if (((index == 0) || !Character.isLetterOrDigit(text.charAt(index - 1))) &&
-                    (((index + word.length()) == text.length())
-                            || !Character.isLetterOrDigit(text.charAt(index + word.length())))) {
+            start = text.indexOf(word, start + 1);
+        }
+        return false;
+    }
+
+    /**
+     * Like {@link #containsWord(String, String)}, but ignores case. The characters of the text are folded while
+     * comparing them, so no lower case copy of the text is made.
+     *
+     * @param foldedWord The word to look for, folded by {@link #fold(String)}.
+     */
+    private static boolean containsFoldedWord(String foldedWord, String text) {
+        if (foldedWord.isEmpty()) {
+            return KeywordGroup.containsWord(foldedWord, text);
+        }
+        char first = foldedWord.charAt(0);
+        char upperFirst = Character.toUpperCase(first);
+        int lastStart = text.length() - foldedWord.length();
+        for (int start = 0; start <= lastStart; start++) {
+            char c = text.charAt(start);
+            // most characters are rejected here without folding them
+            if ((c != first) && (c != upperFirst) && ((c < 128) || (KeywordGroup.fold(c) != first))) {
+                continue;
+            }
+            int i = 1;
+            while ((i < foldedWord.length()) && (KeywordGroup.fold(text.charAt(start + i)) == foldedWord.charAt(i))) {
+                i++;
+            }
+            if ((i == foldedWord.length()) && KeywordGroup.isCompleteWord(text, start, start + i)) {
                 return true;
-            } else {
-                piv = index + 1;
             }
         }
         return false;
     }
 
+    /**
+     * Folds the case of the given character like {@link String#toLowerCase()} does for all characters whose lower
+     * case form is a single character.
+     */
+    static char fold(char c) {
+        if (c < 128) {
+            return ((c >= 'A') && (c <= 'Z')) ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    static String fold(String text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = KeywordGroup.fold(text.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * Checks whether the given part of the text is neither preceded nor followed by a letter or digit.
+     */
+    static boolean isCompleteWord(String text, int start, int end) {
+        return ((start == 0) || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                && ((end == text.length()) || !Character.isLetterOrDigit(text.charAt(end)));
+    }
+
     /**
      * Removes matches of searchString in the entry's field. This is only
      * possible if the search expression is not a regExp.
@@ -308,6 +360,11 @@ public class KeywordGroup extends AbstractGroup {
         return searchField;
     }
 
+    @Override
+    public boolean dependsOnField(String fieldName) {
+        return searchField.equalsIgnoreCase(fieldName);
+    }
+
     @Override
     public boolean isDynamic() {
         return true;
@@ -0,0 +1,226 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.MetaData;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Generates BibTeX keys for the entries of a database according to its label patterns.
+ *
+ * The patterns and the key generation preferences are read when the generator is created and the pattern of each
+ * entry type is compiled once, so a generator should be used for all entries of a single run.
+ * {@link #generateKey(BibEntry)} may be called by several threads at once, and
+ * {@link #generateUniqueKeys(List)} generates the keys of many entries on all cores.
+ */
+public class BibtexKeyGenerator {
+
+    // All single characters that we can use for extending a key to make it unique:
+    private static final String CHARS = "abcdefghijklmnopqrstuvwxyz";
+
+    private static final Log LOGGER = LogFactory.getLog(BibtexKeyGenerator.class);
+
+    private final AbstractLabelPattern labelPattern;
+    private final BibDatabase database;
+    private final Map<String, CompiledLabelPattern> compiledPatterns = new ConcurrentHashMap<>();
+
+    private final boolean enforceLegalKey;
+    private final Pattern keyPatternRegex;
+    private final String keyPatternReplacement;
+    private final boolean alwaysAddLetter;
+    private final boolean firstLetterA;
+
+
+    public BibtexKeyGenerator(MetaData metaData, BibDatabase database) {
+        this.labelPattern = metaData.getLabelPattern();
+        this.database = Objects.requireNonNull(database);
+
+        enforceLegalKey = Globals.prefs.getBoolean(JabRefPreferences.ENFORCE_LEGAL_BIBTEX_KEY);
+        String regex = Globals.prefs.get(JabRefPreferences.KEY_PATTERN_REGEX);
+        if ((regex == null) || regex.trim().isEmpty()) {
+            keyPatternRegex = null;
+            keyPatternReplacement = null;
+        } else {
+            keyPatternRegex = Pattern.compile(regex);
+            keyPatternReplacement = Globals.prefs.get(JabRefPreferences.KEY_PATTERN_REPLACEMENT);
+        }
+        alwaysAddLetter = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_ALWAYS_ADD_LETTER);
+        firstLetterA = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_FIRST_LETTER_A);
+    }
+
+    /**
+     * Generates the key of the given entry according to the pattern of its type, without making it unique.
+     */
+    public String generateKey(BibEntry entry) {
+        String label = "";
+        try {
+            label = compiledPatterns
+                    .computeIfAbsent(entry.getType(), type -> CompiledLabelPattern.compile(labelPattern.getValue(type)))
+                    .makeLabel(entry, database);
+        } catch (Exception e) {
+            LOGGER.warn("Cannot make label", e);
+        }
+
+        // Remove all illegal characters from the key.
+        String key = LabelPatternUtil.checkLegalKey(label, enforceLegalKey);
+
+        // Remove Regular Expressions while generating Keys
+        if (keyPatternRegex != null) {
+            key = keyPatternRegex.matcher(key).replaceAll(keyPatternReplacement);
+        }
+        return key;
+    }
+
+    /**
+     * Generates the key of the given entry, makes it unique within the database and sets it.
+     */
+    public void makeLabel(BibEntry entry) {
+        String oldKey = entry.getCiteKey();
+        String key = makeUnique(generateKey(entry), candidate -> {
+            int occurrences = database.getNumberOfKeyOccurrences(candidate);
+            if (Objects.equals(oldKey, candidate)) {
+                occurrences--; // No change, so we can accept one dupe.
+            }
+            return occurrences > 0;
+        });
+        setKey(entry, key);
+    }
+
+    /**
+     * Generates unique keys for all given entries and sets them.
+     *
+     * The current keys of the given entries are ignored, so an entry only gets a suffix if another entry of the
+     * database or an earlier entry of the list uses the same key.
+     */
+    public void makeLabels(List<BibEntry> entries) {
+        List<String> uniqueKeys = generateUniqueKeys(entries);
+        List<BibEntry> entriesInDatabase = new ArrayList<>();
+        List<String> keysInDatabase = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (database.containsEntryWithId(entries.get(i).getId())) {
+                entriesInDatabase.add(entries.get(i));
+                keysInDatabase.add(uniqueKeys.get(i));
+            } else {
+                setKey(entries.get(i), uniqueKeys.get(i));
+            }
+        }
+        database.setCiteKeysForEntries(entriesInDatabase, keysInDatabase);
+    }
+
+    /**
+     * Generates unique keys for all given entries without setting them.
+     *
+     * The keys are generated on all cores first, from copies of the entries taken when this method is called, so
+     * that the generation does not read entries which are being changed. Then they are made unique in the order of
+     * the entries. The current keys of the given entries are ignored, so an
+     * entry only gets a suffix if another entry of the database or an earlier entry of the list uses the same key.
+     *
+     * @return the unique keys of the entries at the same positions
+     */
+    public List<String> generateUniqueKeys(List<BibEntry> entries) {
+        List<BibEntry> snapshots = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            snapshots.add((BibEntry) entry.clone());
+        }
+        String[] keys = new String[snapshots.size()];
+        JabRefExecutorService.INSTANCE.getForkJoinPool()
+                .submit(() -> IntStream.range(0, keys.length).parallel()
+                        .forEach(i -> keys[i] = generateKey(snapshots.get(i))))
+                .join();
+        return makeUnique(entries, Arrays.asList(keys));
+    }
+
+    /**
+     * @param keys the keys generated for the entries at the same positions
+     * @return the unique keys of the entries at the same positions
+     */
+    private List<String> makeUnique(List<BibEntry> entries, List<String> keys) {
+        Set<BibEntry> regenerated = Collections.newSetFromMap(new IdentityHashMap<>());
+        regenerated.addAll(entries);
+        Set<String> usedKeys = new HashSet<>();
+        for (BibEntry entry : database.getEntries()) {
+            if (!regenerated.contains(entry) && (entry.getCiteKey() != null)) {
+                usedKeys.add(entry.getCiteKey());
+            }
+        }
+        // like the database, an empty key is never counted as used
+        usedKeys.remove("");
+
+        List<String> uniqueKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String uniqueKey = makeUnique(key, usedKeys::contains);
+            if (!uniqueKey.isEmpty()) {
+                usedKeys.add(uniqueKey);
+            }
+            uniqueKeys.add(uniqueKey);
+        }
+        return uniqueKeys;
+    }
+
+    private String makeUnique(String key, Predicate<String> isUsed) {
+        if (!alwaysAddLetter && !isUsed.test(key)) {
+            // No dupes found, so we can just go ahead.
+            return key;
+        }
+
+        // The key is already in use, so we must modify it.
+        int number = 0;
+        if (!alwaysAddLetter && !firstLetterA) {
+            number = 1;
+        }
+
+        String moddedKey = key + getAddition(number);
+        while (isUsed.test(moddedKey)) {
+            number++;
+            moddedKey = key + getAddition(number);
+        }
+        return moddedKey;
+    }
+
+    private void setKey(BibEntry entry, String key) {
+        if (!key.equals(entry.getCiteKey())) {
+            if (database.containsEntryWithId(entry.getId())) {
+                database.setCiteKeyForEntry(entry, key);
+            } else {
+                // entry does not (yet) exist in the database, just update the entry
+                entry.setCiteKey(key);
+            }
+        }
+    }
+
+    /**
+     * Computes an appendix to a BibTeX key that could make it unique. We use
+     * a-z for numbers 0-25, and then aa-az, ba-bz, etc.
+     *
+     * @param number
+     *            The appendix number.
+     * @return The String to append.
+     */
+    private static String getAddition(int number) {
+        if (number >= CHARS.length()) {
+            int lastChar = number % CHARS.length();
+            return getAddition((number / CHARS.length()) - 1) + CHARS.substring(lastChar, lastChar + 1);
+        } else {
+            return CHARS.substring(number, number + 1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * A label pattern which has been split into its text and field markers once, so that labels for many entries can be
+ * made without parsing the pattern again.
+ *
+ * Instances are immutable and can be used by several threads at once.
+ */
+public class CompiledLabelPattern {
+
+    private final List<Part> parts;
+
+
+    private CompiledLabelPattern(List<Part> parts) {
+        this.parts = Collections.unmodifiableList(parts);
+    }
+
+    /**
+     * @param splitPattern the pattern as returned by {@link LabelPatternUtil#split(String)}
+     */
+    public static CompiledLabelPattern compile(List<String> splitPattern) {
+        List<Part> parts = new ArrayList<>();
+        boolean field = false;
+        // the first item is the complete pattern
+        for (String token : splitPattern.subList(Math.min(1, splitPattern.size()), splitPattern.size())) {
+            if ("[".equals(token)) {
+                field = true;
+            } else if ("]".equals(token)) {
+                field = false;
+            } else if (field) {
+                // check whether there is a modifier on the end such as ":lower"
+                parts.add(new Part(null, LabelPatternUtil.parseFieldMarker(token)));
+            } else {
+                parts.add(new Part(token, null));
+            }
+        }
+        return new CompiledLabelPattern(parts);
+    }
+
+    /**
+     * Makes the label of the given entry. The label is neither checked for illegal characters nor made unique.
+     *
+     * @param database the database used to resolve strings in the author and editor fields, may be null
+     */
+    public String makeLabel(BibEntry entry, BibDatabase database) {
+        StringBuilder label = new StringBuilder();
+        for (Part part : parts) {
+            if (part.fieldMarker == null) {
+                label.append(part.text);
+            } else {
+                String fieldLabel = LabelPatternUtil.makeLabel(entry, part.fieldMarker[0], database);
+                // apply modifier if present
+                if (part.fieldMarker.length > 1) {
+                    fieldLabel = LabelPatternUtil.applyModifiers(fieldLabel, part.fieldMarker, 1);
+                }
+                label.append(fieldLabel);
+            }
+        }
+        return label.toString();
+    }
+
+
+    /**
+     * Either a text, which is copied as is, or a field marker with its modifiers.
+     */
+    private static class Part {
+
+        private final String text;
+        private final String[] fieldMarker;
+
+
+        Part(String text, String[] fieldMarker) {
+            this.text = text;
+            this.fieldMarker = fieldMarker;
+        }
+    }
+}
@@ -20,12 +20,10 @@ package net.sf.jabref.logic.labelpattern;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefPreferences;
 import net.sf.jabref.MetaData;
 import net.sf.jabref.logic.formatter.casechanger.Word;
@@ -46,9 +44,6 @@ public class LabelPatternUtil {
 
     private static final String STARTING_CAPITAL_PATTERN = "[^A-Z]";
 
-    // All single characters that we can use for extending a key to make it unique:
-    private static final String CHARS = "abcdefghijklmnopqrstuvwxyz";
-
     private static final Log LOGGER = LogFactory.getLog(LabelPatternUtil.class);
 
     private static final Pattern REGEX_PATTERN = Pattern.compile(".*\\(\\{([A-Z]+)\\}\\).*");
@@ -62,22 +57,11 @@ public class LabelPatternUtil {
         updateDefaultPattern();
     }
 
-    private static BibDatabase database;
-
     public static void updateDefaultPattern() {
         defaultLabelPattern = LabelPatternUtil
                 .split(JabRefPreferences.getInstance().get(JabRefPreferences.DEFAULT_LABEL_PATTERN));
     }
 
-    /**
-     * Required for LabelPatternUtilTest
-     *
-     * @param db the DB to use as global database
-     */
-    public static void setDataBase(BibDatabase db) {
-        database = db;
-    }
-
     private static String normalize(String content) {
         List<String> tokens = new ArrayList<>();
         int b = 0;
@@ -427,119 +411,7 @@ public class LabelPatternUtil {
      * @return modified BibEntry
      */
     public static void makeLabel(MetaData metaData, BibDatabase dBase, BibEntry entry) {
-        database = dBase;
-        String key;
-        StringBuilder stringBuilder = new StringBuilder();
-        boolean forceUpper = false;
-        boolean forceLower = false;
-
-        try {
-            // get the type of entry
-            String entryType = entry.getType();
-            // Get the arrayList corresponding to the type
-            List<String> typeList = new ArrayList<>(metaData.getLabelPattern().getValue(entryType));
-            if (!typeList.isEmpty()) {
-                typeList.remove(0);
-            }
-            boolean field = false;
-            for (String typeListEntry : typeList) {
-                if ("[".equals(typeListEntry)) {
-                    field = true;
-                } else if ("]".equals(typeListEntry)) {
-                    field = false;
-                } else if (field) {
-                    // check whether there is a modifier on the end such as
-                    // ":lower"
-                    String[] parts = parseFieldMarker(typeListEntry);
-
-                    String label = makeLabel(entry, parts[0]);
-
-                    // apply modifier if present
-                    if (parts.length > 1) {
-                        label = applyModifiers(label, parts, 1);
-                    }
-
-                    stringBuilder.append(label);
-
-                } else {
-                    stringBuilder.append(typeListEntry);
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.warn("Cannot make label", e);
-        }
-
-        // Remove all illegal characters from the key.
-        key = checkLegalKey(stringBuilder.toString());
-
-        // Remove Regular Expressions while generating Keys
-        String regex = Globals.prefs.get(JabRefPreferences.KEY_PATTERN_REGEX);
-        if ((regex != null) && !regex.trim().isEmpty()) {
-            String replacement = Globals.prefs.get(JabRefPreferences.KEY_PATTERN_REPLACEMENT);
-            key = key.replaceAll(regex, replacement);
-        }
-
-        if (forceUpper) {
-            key = key.toUpperCase();
-        }
-        if (forceLower) {
-            key = key.toLowerCase();
-        }
-
-        String oldKey = entry.getCiteKey();
-        int occurrences = database.getNumberOfKeyOccurrences(key);
-
-        if (Objects.equals(oldKey, key)) {
-            occurrences--; // No change, so we can accept one dupe.
-        }
-
-        boolean alwaysAddLetter = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_ALWAYS_ADD_LETTER);
-        boolean firstLetterA = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_FIRST_LETTER_A);
-
-        if (!alwaysAddLetter && (occurrences == 0)) {
-            // No dupes found, so we can just go ahead.
-            if (!key.equals(oldKey)) {
-                if (!database.containsEntryWithId(entry.getId())) {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(key);
-                } else {
-                    database.setCiteKeyForEntry(entry, key);
-                }
-            }
-
-        } else {
-            // The key is already in use, so we must modify it.
-            int number = 0;
-            if (!alwaysAddLetter && !firstLetterA) {
-                number = 1;
-            }
-
-            String moddedKey = key + getAddition(number);
-            occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-
-            if (Objects.equals(oldKey, moddedKey)) {
-                occurrences--;
-            }
-
-            while (occurrences > 0) {
-                number++;
-                moddedKey = key + getAddition(number);
-
-                occurrences = database.getNumberOfKeyOccurrences(moddedKey);
-                if (Objects.equals(oldKey, moddedKey)) {
-                    occurrences--;
-                }
-            }
-
-            if (!moddedKey.equals(oldKey)) {
-                if (!database.containsEntryWithId(entry.getId())) {
-                    // entry does not (yet) exist in the database, just update the entry
-                    entry.setCiteKey(moddedKey);
-                } else {
-                    database.setCiteKeyForEntry(entry, moddedKey);
-                }
-            }
-        }
+        new BibtexKeyGenerator(metaData, dBase).makeLabel(entry);
     }
 
     /**
@@ -587,7 +459,21 @@ public class LabelPatternUtil {
         return resultingLabel;
     }
 
+    /**
+     * Makes the label for a single field marker without resolving strings.
+     *
+     * @see #makeLabel(BibEntry, String, BibDatabase)
+     */
     public static String makeLabel(BibEntry entry, String value) {
+        return makeLabel(entry, value, null);
+    }
+
+    /**
+     * Makes the label for a single field marker, e.g., "auth" or "shorttitle", without modifiers.
+     *
+     * @param database the database used to resolve strings in the author and editor fields, may be null
+     */
+    public static String makeLabel(BibEntry entry, String value, BibDatabase database) {
         String val = value;
         try {
             if (val.startsWith("auth") || val.startsWith("pureauth")) {
@@ -604,7 +490,7 @@ public class LabelPatternUtil {
                  */
                 String authString = entry.getField("author");
                 if (authString != null) {
-                    authString = normalize(database.resolveForStrings(authString));
+                    authString = normalize(resolveForStrings(authString, database));
                 }
 
                 if (val.startsWith("pure")) {
@@ -618,7 +504,7 @@ public class LabelPatternUtil {
                     if (authString == null) {
                         authString = "";
                     } else {
-                        authString = normalize(database.resolveForStrings(authString));
+                        authString = normalize(resolveForStrings(authString, database));
                     }
                 }
 
@@ -806,21 +692,8 @@ public class LabelPatternUtil {
         return s == null ? "" : s;
     }
 
-    /**
-     * Computes an appendix to a BibTeX key that could make it unique. We use
-     * a-z for numbers 0-25, and then aa-az, ba-bz, etc.
-     *
-     * @param number
-     *            The appendix number.
-     * @return The String to append.
-     */
-    private static String getAddition(int number) {
-        if (number >= CHARS.length()) {
-            int lastChar = number % CHARS.length();
-            return getAddition((number / CHARS.length()) - 1) + CHARS.substring(lastChar, lastChar + 1);
-        } else {
-            return CHARS.substring(number, number + 1);
-        }
+    private static String resolveForStrings(String content, BibDatabase database) {
+        return database == null ? content : database.resolveForStrings(content);
     }
 
     /**
@@ -1342,7 +1215,7 @@ public class LabelPatternUtil {
      * @param arg The argument string.
      * @return An array of strings representing the parts of the marker
      */
-    private static String[] parseFieldMarker(String arg) {
+    static String[] parseFieldMarker(String arg) {
         List<String> parts = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean escaped = false;
@@ -0,0 +1,17 @@
+package net.sf.jabref.logic.layout;
+
+/**
+ * A formatter whose output depends on the context of the rendering, e.g., on the number of the current entry.
+ */
+public interface ContextLayoutFormatter extends LayoutFormatter {
+
+    String format(String fieldText, LayoutContext context);
+
+    /**
+     * Formats the text as the first entry of a rendering.
+     */
+    @Override
+    default String format(String fieldText) {
+        return format(fieldText, new LayoutContext());
+    }
+}
@@ -112,10 +112,19 @@ public class Layout {
      * recursive string references are resolved.
      */
     public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
+        return doLayout(bibtex, database, highlightPattern, new LayoutContext());
+    }
+
+    /**
+     * Returns the processed bibtex entry as {@link #doLayout(BibEntry, BibDatabase, Optional)}, as part of the
+     * rendering described by the given context. The context is updated, it must not be used by several threads.
+     */
+    public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern,
+            LayoutContext context) {
         StringBuilder sb = new StringBuilder(100);
 
         for (LayoutEntry layoutEntry : layoutEntries) {
-            String fieldText = layoutEntry.doLayout(bibtex, database, highlightPattern);
+            String fieldText = layoutEntry.doLayout(bibtex, database, highlightPattern, context);
 
             // 2005.05.05 M. Alver
             // The following change means we treat null fields as "". This is to fix the
@@ -156,6 +165,14 @@ public class Layout {
 
     // added section - end (arudert)
 
+    /**
+     * Checks whether the layout starts groups. The output for an entry then depends on the entries rendered before,
+     * so the entries of an export have to be rendered one after the other.
+     */
+    public boolean startsGroups() {
+        return layoutEntries.stream().anyMatch(LayoutEntry::startsGroup);
+    }
+
     public List<String> getMissingFormatters() {
         return new ArrayList<>(missingFormatters);
     }
@@ -0,0 +1,148 @@
+package net.sf.jabref.logic.layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.logic.journals.JournalAbbreviationRepository;
+import net.sf.jabref.logic.layout.format.NameFormatter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A process wide cache of compiled layouts, so that exports and previews do not parse their layouts again every time
+ * they are used.
+ *
+ * A layout is compiled again if anything it depends on changes: the layout text, or the modification time of its
+ * file, the journal abbreviation repository, and the name formatters of the current export and of the preferences.
+ * Cached layouts are shared, so they must not be modified, e.g., by {@link Layout#setPostFormatter(LayoutFormatter)}.
+ */
+public class LayoutCache {
+
+    private static final int MAXIMUM_SIZE = 200;
+
+    private static final Cache<Key, Optional<Layout>> LAYOUTS = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE)
+            .build();
+
+
+    private LayoutCache() {
+    }
+
+    /**
+     * Returns the compiled layout of the given text.
+     */
+    public static Layout getLayoutFromText(String text, JournalAbbreviationRepository repository)
+            throws IOException {
+        Objects.requireNonNull(text);
+        return get(new Key(text, 0, repository), () -> new StringReader(text)).get();
+    }
+
+    /**
+     * Returns the compiled layout read from the given URL, or an empty optional if there is no layout at the URL.
+     * Layouts in files are compiled again when the file is modified.
+     */
+    public static Optional<Layout> getLayout(URL url, JournalAbbreviationRepository repository) throws IOException {
+        Objects.requireNonNull(url);
+        Optional<File> file = toFile(url);
+        if (file.isPresent() && !file.get().isFile()) {
+            return Optional.empty();
+        }
+        long lastModified = file.isPresent() ? file.get().lastModified() : 0;
+        return get(new Key(url.toExternalForm(), lastModified, repository),
+                () -> new InputStreamReader(url.openStream()));
+    }
+
+    /**
+     * Drops all cached layouts.
+     */
+    public static void clear() {
+        LAYOUTS.invalidateAll();
+    }
+
+    private static Optional<Layout> get(Key key, LayoutSource source) throws IOException {
+        try {
+            return LAYOUTS.get(key, () -> {
+                try (Reader reader = source.open()) {
+                    return Optional.of(new LayoutHelper(reader, key.repository).getLayoutFromText());
+                }
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static Optional<File> toFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new File(url.toURI()));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return Optional.of(new File(url.getPath()));
+        }
+    }
+
+
+    @FunctionalInterface
+    private interface LayoutSource {
+
+        Reader open() throws IOException;
+    }
+
+    /**
+     * Everything a compiled layout depends on.
+     */
+    private static class Key {
+
+        private final String source;
+        private final long lastModified;
+        // compared by identity
+        private final JournalAbbreviationRepository repository;
+        private final Map<String, String> exportNameFormatters;
+        private final Map<String, String> nameFormatters;
+
+
+        Key(String source, long lastModified, JournalAbbreviationRepository repository) {
+            this.source = source;
+            this.lastModified = lastModified;
+            this.repository = Objects.requireNonNull(repository);
+            Map<String, String> currentExportNameFormatters = Globals.prefs.customExportNameFormatters;
+            this.exportNameFormatters = currentExportNameFormatters == null ? Collections.emptyMap() :
+                    currentExportNameFormatters;
+            this.nameFormatters = NameFormatter.getNameFormatters();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return source.equals(other.source) && (lastModified == other.lastModified)
+                    && (repository == other.repository) && exportNameFormatters.equals(other.exportNameFormatters)
+                    && nameFormatters.equals(other.nameFormatters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, lastModified, System.identityHashCode(repository));
+        }
+    }
+}
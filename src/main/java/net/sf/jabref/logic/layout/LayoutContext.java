@@ -0,0 +1,35 @@
+package net.sf.jabref.logic.layout;
+
+/**
+ * The state of rendering a sequence of entries with a {@link Layout}, e.g., during an export. Layouts themselves are
+ * stateless, so they may render entries of several exports at the same time, each with its own context.
+ */
+public class LayoutContext {
+
+    private int entryNumber = 1;
+    private String currentGroup;
+
+
+    /**
+     * Returns the number of the entry being rendered, counting from 1.
+     */
+    public int getEntryNumber() {
+        return entryNumber;
+    }
+
+    public void setEntryNumber(int entryNumber) {
+        this.entryNumber = entryNumber;
+    }
+
+    /**
+     * Returns the value of the last group field rendered, or null if no group has been started yet. A group is only
+     * started again when the value of the group field changes.
+     */
+    public String getCurrentGroup() {
+        return currentGroup;
+    }
+
+    public void setCurrentGroup(String currentGroup) {
+        this.currentGroup = currentGroup;
+    }
+}
@@ -198,11 +198,12 @@ class LayoutEntry {
         this.postFormatter = formatter;
     }
 
-    private String doLayout(BibEntry bibtex, BibDatabase database) {
-        return doLayout(bibtex, database, Optional.empty());
+    public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
+        return doLayout(bibtex, database, highlightPattern, new LayoutContext());
     }
 
-    public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
+    public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern,
+            LayoutContext context) {
         switch (type) {
         case LayoutHelper.IS_LAYOUT_TEXT:
             return text;
@@ -219,12 +220,12 @@ class LayoutEntry {
             return value;
         case LayoutHelper.IS_FIELD_START:
         case LayoutHelper.IS_GROUP_START:
-            return handleFieldOrGroupStart(bibtex, database, highlightPattern);
+            return handleFieldOrGroupStart(bibtex, database, highlightPattern, context);
         case LayoutHelper.IS_FIELD_END:
         case LayoutHelper.IS_GROUP_END:
             return "";
         case LayoutHelper.IS_OPTION_FIELD:
-            return handleOptionField(bibtex, database);
+            return handleOptionField(bibtex, database, context);
         case LayoutHelper.IS_ENCODING_NAME:
             // Printing the encoding name is not supported in entry layouts, only
             // in begin/end layouts. This prevents breakage if some users depend
@@ -235,7 +236,7 @@ class LayoutEntry {
         }
     }
 
-    private String handleOptionField(BibEntry bibtex, BibDatabase database) {
+    private String handleOptionField(BibEntry bibtex, BibDatabase database, LayoutContext context) {
         String fieldEntry;
 
         if ("bibtextype".equals(text)) {
@@ -253,11 +254,7 @@ class LayoutEntry {
             }
         }
 
-        if (option != null) {
-            for (LayoutFormatter anOption : option) {
-                fieldEntry = anOption.format(fieldEntry);
-            }
-        }
+        fieldEntry = applyOptions(fieldEntry, context);
 
         // If a post formatter has been set, call it:
         if (postFormatter != null) {
@@ -267,7 +264,8 @@ class LayoutEntry {
         return fieldEntry;
     }
 
-    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
+    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern,
+            LayoutContext context) {
         String field;
         if (type == LayoutHelper.IS_GROUP_START) {
             field = BibDatabase.getResolvedField(text, bibtex, database);
@@ -295,22 +293,23 @@ class LayoutEntry {
         }
 
         if ((field == null) || ((type == LayoutHelper.IS_GROUP_START)
-                && field.equalsIgnoreCase(LayoutHelper.getCurrentGroup()))) {
+                && field.equalsIgnoreCase(context.getCurrentGroup()))) {
             return null;
         } else {
             if (type == LayoutHelper.IS_GROUP_START) {
-                LayoutHelper.setCurrentGroup(field);
+                context.setCurrentGroup(field);
             }
             StringBuilder sb = new StringBuilder(100);
             String fieldText;
             boolean previousSkipped = false;
 
             for (int i = 0; i < layoutEntries.size(); i++) {
-                fieldText = layoutEntries.get(i).doLayout(bibtex, database);
+                fieldText = layoutEntries.get(i).doLayout(bibtex, database, Optional.empty(), context);
 
                 if (fieldText == null) {
                     if ((i + 1) < layoutEntries.size()) {
-                        if (layoutEntries.get(i + 1).doLayout(bibtex, database).trim().isEmpty()) {
+                        if (layoutEntries.get(i + 1).doLayout(bibtex, database, Optional.empty(), context).trim()
+                                .isEmpty()) {
                             i++;
                             previousSkipped = true;
                             continue;
@@ -332,17 +331,8 @@ class LayoutEntry {
                             sb.append(fieldText.substring(eol));
                         }
                     } else {
-                        /*
-                         * if fieldText is not null and the bibtexentry is marked
-                         * as a searchhit, try to highlight the searched words
-                         *
-                        */
-                        if (bibtex.isSearchHit()) {
-                            sb.append(MatchesHighlighter.highlightWordsWithHTML(fieldText, highlightPattern));
-                        } else {
-                            sb.append(fieldText);
-                        }
-
+                        // highlight the searched words, if a search pattern is given
+                        sb.append(MatchesHighlighter.highlightWordsWithHTML(fieldText, highlightPattern));
                     }
                 }
 
@@ -377,12 +367,8 @@ class LayoutEntry {
             throw new UnsupportedOperationException("field and group ends not allowed in begin or end layout");
 
         case LayoutHelper.IS_OPTION_FIELD:
-            String field = BibDatabase.getText(text, databaseContext.getDatabase());
-            if (option != null) {
-                for (LayoutFormatter anOption : option) {
-                    field = anOption.format(field);
-                }
-            }
+            String field = applyOptions(BibDatabase.getText(text, databaseContext.getDatabase()),
+                    new LayoutContext());
             // If a post formatter has been set, call it:
             if (postFormatter != null) {
                 field = postFormatter.format(field);
@@ -407,6 +393,31 @@ class LayoutEntry {
         return "";
     }
 
+    private String applyOptions(String value, LayoutContext context) {
+        String result = value;
+        if (option != null) {
+            for (LayoutFormatter anOption : option) {
+                if (anOption instanceof ContextLayoutFormatter) {
+                    result = ((ContextLayoutFormatter) anOption).format(result, context);
+                } else {
+                    result = anOption.format(result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether this entry or any entry nested in it starts a group, so that its output depends on the entries
+     * rendered before.
+     */
+    boolean startsGroup() {
+        if (type == LayoutHelper.IS_GROUP_START) {
+            return true;
+        }
+        return (layoutEntries != null) && layoutEntries.stream().anyMatch(LayoutEntry::startsGroup);
+    }
+
     private void doOptionField(String s) {
         List<String> v = StringUtil.tokenizeToList(s, "\n");
 
@@ -15,14 +15,15 @@
 */
 package net.sf.jabref.logic.layout.format;
 
-import net.sf.jabref.exporter.ExportFormats;
+import net.sf.jabref.logic.layout.ContextLayoutFormatter;
+import net.sf.jabref.logic.layout.LayoutContext;
 import net.sf.jabref.logic.layout.ParamLayoutFormatter;
 
 /**
  * Formatter that outputs a sequence number for the current entry. The sequence number is
  * tied to the entry's position in the order, not to the number of calls to this formatter.
  */
-public class Number implements ParamLayoutFormatter {
+public class Number implements ParamLayoutFormatter, ContextLayoutFormatter {
 
     @Override
     public void setArgument(String arg) {
@@ -30,7 +31,7 @@ public class Number implements ParamLayoutFormatter {
     }
 
     @Override
-    public String format(String fieldText) {
-        return String.valueOf(ExportFormats.entryNumber);
+    public String format(String fieldText, LayoutContext context) {
+        return String.valueOf(context.getEntryNumber());
     }
 }
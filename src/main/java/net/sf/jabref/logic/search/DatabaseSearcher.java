@@ -18,7 +18,6 @@ package net.sf.jabref.logic.search;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabases;
@@ -54,7 +53,7 @@ public class DatabaseSearcher {
             return BibDatabases.createDatabase(Collections.emptyList());
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        List<BibEntry> matchEntries = new SearchExecutor().search(query, database);
 
         return BibDatabases.createDatabase(BibDatabases.purgeEmptyEntries(matchEntries));
     }
@@ -0,0 +1,16 @@
+package net.sf.jabref.logic.search;
+
+import java.util.BitSet;
+
+/**
+ * A {@link SearchMatcher} which can use a {@link SearchIndex} to narrow down the entries it has to check.
+ */
+public interface IndexedSearchMatcher extends SearchMatcher {
+
+    /**
+     * Returns the documents of the index which may match. The returned set has to contain all documents matched by
+     * {@link #isMatch}, but it may contain documents which do not match. It may be modified by the caller.
+     */
+    BitSet getCandidates(SearchIndex index);
+
+}
@@ -0,0 +1,134 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RecursiveTask;
+
+import net.sf.jabref.JabRefExecutorService;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Runs searches on all cores: the entries which may match a query are split into partitions, which are checked in
+ * parallel by the fork/join pool.
+ *
+ * An executor runs one search at a time. Starting a new search, e.g., while the user is still typing the query,
+ * cancels the search started before, which then stops checking entries at once.
+ */
+public class SearchExecutor {
+
+    // number of entries below which a partition is checked sequentially
+    private static final int MINIMUM_PARTITION_SIZE = 1000;
+    // number of entries checked between two checks for cancellation
+    private static final int CANCELLATION_CHECK_INTERVAL = 64;
+
+    private Search runningSearch;
+
+
+    /**
+     * Returns all entries of the database matching the query, in the order of the database. Cancels the search
+     * running in this executor.
+     *
+     * @throws CancellationException if the search is cancelled before it is finished
+     */
+    public List<BibEntry> search(SearchQuery query, BibDatabase database) {
+        Objects.requireNonNull(query);
+        Objects.requireNonNull(database);
+
+        Search search = new Search();
+        synchronized (this) {
+            cancel();
+            runningSearch = search;
+        }
+
+        try {
+            List<BibEntry> candidates = query.getCandidates(database);
+            search.checkCancelled();
+
+            int parallelism = JabRefExecutorService.INSTANCE.getForkJoinPool().getParallelism();
+            int partitionSize = Math.max(MINIMUM_PARTITION_SIZE, candidates.size() / (4 * parallelism));
+            return JabRefExecutorService.INSTANCE.getForkJoinPool()
+                    .invoke(new SearchTask(search, query, candidates, 0, candidates.size(), partitionSize));
+        } finally {
+            synchronized (this) {
+                if (runningSearch == search) {
+                    runningSearch = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the search running in this executor, if any.
+     */
+    public synchronized void cancel() {
+        if (runningSearch != null) {
+            runningSearch.cancelled = true;
+            runningSearch = null;
+        }
+    }
+
+
+    private static class Search {
+
+        private volatile boolean cancelled;
+
+
+        void checkCancelled() {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+    }
+
+    /**
+     * Checks the candidates in the range [from, to). Large ranges are split and checked in parallel.
+     */
+    private static class SearchTask extends RecursiveTask<List<BibEntry>> {
+
+        private final Search search;
+        private final SearchQuery query;
+        private final List<BibEntry> candidates;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+
+
+        SearchTask(Search search, SearchQuery query, List<BibEntry> candidates, int from, int to, int partitionSize) {
+            this.search = search;
+            this.query = query;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected List<BibEntry> compute() {
+            search.checkCancelled();
+            if ((to - from) > partitionSize) {
+                int middle = (from + to) >>> 1;
+                SearchTask second = new SearchTask(search, query, candidates, middle, to, partitionSize);
+                second.fork();
+                List<BibEntry> matches = new SearchTask(search, query, candidates, from, middle, partitionSize)
+                        .compute();
+                matches.addAll(second.join());
+                return matches;
+            }
+
+            List<BibEntry> matches = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                if (((i - from) % CANCELLATION_CHECK_INTERVAL) == 0) {
+                    search.checkCancelled();
+                }
+                BibEntry candidate = candidates.get(i);
+                if (query.isMatch(candidate)) {
+                    matches.add(candidate);
+                }
+            }
+            return matches;
+        }
+    }
+}
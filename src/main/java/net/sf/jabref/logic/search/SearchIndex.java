@@ -0,0 +1,366 @@
+package net.sf.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.jabref.event.EntriesChangedEvent;
+import net.sf.jabref.event.EntryAddedEvent;
+import net.sf.jabref.event.EntryRemovedEvent;
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * An inverted index of the character trigrams of the entries of a single database. It is used to find the few
+ * entries which may match a search query, so that only these have to be checked by the query itself.
+ *
+ * The index contains two kinds of posting lists, each built when it is first needed:
+ * <ul>
+ * <li>the trigrams of the LaTeX free values of all fields, used by the plain text search, and</li>
+ * <li>the trigrams of the values of every single field, used by the <code>field=value</code> comparisons of the
+ * search grammar.</li>
+ * </ul>
+ * Trigrams are lower cased character by character, so the index serves case sensitive and case insensitive
+ * searches. Only search terms consisting of at least three ASCII characters are looked up, all other terms match
+ * every entry.
+ *
+ * The index listens to the {@link EntryAddedEvent}s, {@link EntryRemovedEvent}s and {@link EntriesChangedEvent}s of
+ * the database and to the {@link FieldChangedEvent}s of its entries. Changed entries are indexed again before the next search. The
+ * methods returning documents may only be used by {@link IndexedSearchMatcher}s during
+ * {@link #getCandidates(List, IndexedSearchMatcher)}.
+ */
+public class SearchIndex {
+
+    private static final int TRIGRAM_LENGTH = 3;
+    // do not compact the index before so many documents are outdated
+    private static final int MINIMUM_DEAD_DOCUMENTS_TO_COMPACT = 1000;
+
+    private static final LoadingCache<BibDatabase, SearchIndex> INDEXES = CacheBuilder.newBuilder().weakKeys()
+            .build(CacheLoader.from(database -> {
+                SearchIndex index = new SearchIndex();
+                database.registerListener(index);
+                database.getEntries().forEach(index::add);
+                return index;
+            }));
+
+    // the entry of every document, null if the document is outdated
+    private final List<BibEntry> documents = new ArrayList<>();
+    private final Map<BibEntry, Integer> documentIds = new IdentityHashMap<>();
+    // entries which changed since they were indexed the last time
+    private final Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private int deadDocuments;
+
+    private Map<Long, PostingList> textPostings;
+    private Map<String, Map<Long, PostingList>> fieldPostings;
+
+
+    /**
+     * Returns the index of the given database. The index is created on the first call and kept up to date until
+     * the database is garbage collected.
+     */
+    public static SearchIndex getIndex(BibDatabase database) {
+        return INDEXES.getUnchecked(database);
+    }
+
+    /**
+     * Returns the entries of the list which may be matched by the given matcher, in the order of the list. Entries
+     * not (yet) known to the index are always returned. The returned entries still have to be checked by the matcher.
+     */
+    public synchronized List<BibEntry> getCandidates(List<BibEntry> entries, IndexedSearchMatcher matcher) {
+        update();
+        BitSet candidateDocuments = matcher.getCandidates(this);
+        List<BibEntry> candidates = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            Integer documentId = documentIds.get(entry);
+            if ((documentId == null) || candidateDocuments.get(documentId)) {
+                candidates.add(entry);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the candidates of the given matcher, or all documents if the matcher cannot use the index.
+     */
+    public BitSet getCandidates(SearchMatcher matcher) {
+        if (matcher instanceof IndexedSearchMatcher) {
+            return ((IndexedSearchMatcher) matcher).getCandidates(this);
+        }
+        return getAllDocuments();
+    }
+
+    /**
+     * Returns all documents.
+     */
+    public BitSet getAllDocuments() {
+        BitSet all = new BitSet(documents.size());
+        all.set(0, documents.size());
+        return all;
+    }
+
+    /**
+     * Returns the documents which may contain the given text in the LaTeX free value of any field.
+     */
+    public BitSet getDocumentsContaining(String text) {
+        if (!isIndexable(text)) {
+            return getAllDocuments();
+        }
+        return getDocumentsContaining(getTextPostings(), text);
+    }
+
+    /**
+     * Returns the documents which may contain the given text in the value of the given field.
+     */
+    public BitSet getDocumentsContaining(String field, String text) {
+        if (!isIndexable(text)) {
+            return getAllDocuments();
+        }
+        Map<Long, PostingList> postings = getFieldPostings().get(field);
+        if (postings == null) {
+            return new BitSet();
+        }
+        return getDocumentsContaining(postings, text);
+    }
+
+    /**
+     * Returns the names of all fields containing at least one trigram in any document. No document contains
+     * indexable text in a field not in this set.
+     */
+    public Set<String> getIndexedFields() {
+        return getFieldPostings().keySet();
+    }
+
+    /**
+     * Checks whether the given text is looked up in the index. Only ASCII text is looked up, as the lower case of
+     * other characters depends on the locale and on the context.
+     */
+    public static boolean isIndexable(String text) {
+        if (text.length() < TRIGRAM_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Subscribe
+    public void listen(EntryAddedEvent entryAddedEvent) {
+        add(entryAddedEvent.getBibEntry());
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent entryRemovedEvent) {
+        BibEntry removed = findIndexedEntry(entryRemovedEvent.getBibEntry());
+        if (removed == null) {
+            return;
+        }
+        removed.unregisterListener(this);
+        changedEntries.remove(removed);
+        removeDocument(removed);
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent fieldChangedEvent) {
+        BibEntry entry = fieldChangedEvent.getBibEntry();
+        if (documentIds.containsKey(entry)) {
+            changedEntries.add(entry);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesChangedEvent entriesChangedEvent) {
+        for (BibEntry entry : entriesChangedEvent.getBibEntries()) {
+            if (documentIds.containsKey(entry)) {
+                changedEntries.add(entry);
+            }
+        }
+    }
+
+    private void add(BibEntry entry) {
+        synchronized (this) {
+            if (documentIds.containsKey(entry)) {
+                return;
+            }
+            addDocument(entry);
+        }
+        entry.registerListener(this);
+    }
+
+    /**
+     * The database removes entries by their id, so the removed instance is not necessarily the one of the event.
+     */
+    private BibEntry findIndexedEntry(BibEntry entry) {
+        if (documentIds.containsKey(entry)) {
+            return entry;
+        }
+        for (BibEntry indexed : documentIds.keySet()) {
+            if (indexed.getId().equals(entry.getId())) {
+                return indexed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indexes the changed entries again and drops the outdated documents if there are too many of them.
+     */
+    private void update() {
+        for (BibEntry entry : changedEntries) {
+            removeDocument(entry);
+            addDocument(entry);
+        }
+        changedEntries.clear();
+
+        if ((deadDocuments >= MINIMUM_DEAD_DOCUMENTS_TO_COMPACT) && ((2 * deadDocuments) > documents.size())) {
+            List<BibEntry> entries = new ArrayList<>(documentIds.keySet());
+            documents.clear();
+            documentIds.clear();
+            deadDocuments = 0;
+            boolean indexText = textPostings != null;
+            boolean indexFields = fieldPostings != null;
+            textPostings = indexText ? new HashMap<>() : null;
+            fieldPostings = indexFields ? new HashMap<>() : null;
+            entries.forEach(this::addDocument);
+        }
+    }
+
+    private void addDocument(BibEntry entry) {
+        int id = documents.size();
+        documents.add(entry);
+        documentIds.put(entry, id);
+        if (textPostings != null) {
+            indexText(id, entry);
+        }
+        if (fieldPostings != null) {
+            indexFields(id, entry);
+        }
+    }
+
+    private void removeDocument(BibEntry entry) {
+        Integer id = documentIds.remove(entry);
+        if (id != null) {
+            documents.set(id, null);
+            deadDocuments++;
+        }
+    }
+
+    private Map<Long, PostingList> getTextPostings() {
+        if (textPostings == null) {
+            textPostings = new HashMap<>();
+            for (int id = 0; id < documents.size(); id++) {
+                if (documents.get(id) != null) {
+                    indexText(id, documents.get(id));
+                }
+            }
+        }
+        return textPostings;
+    }
+
+    private Map<String, Map<Long, PostingList>> getFieldPostings() {
+        if (fieldPostings == null) {
+            fieldPostings = new HashMap<>();
+            for (int id = 0; id < documents.size(); id++) {
+                if (documents.get(id) != null) {
+                    indexFields(id, documents.get(id));
+                }
+            }
+        }
+        return fieldPostings;
+    }
+
+    private void indexText(int id, BibEntry entry) {
+        for (String field : entry.getFieldNames()) {
+            String value = SearchTextCache.getLatexFreeField(entry, field);
+            if (value != null) {
+                addTrigrams(textPostings, id, value);
+            }
+        }
+    }
+
+    private void indexFields(int id, BibEntry entry) {
+        for (String field : entry.getFieldNames()) {
+            String value = entry.getField(field);
+            if (value != null) {
+                addTrigrams(fieldPostings.computeIfAbsent(field, key -> new HashMap<>()), id, value);
+            }
+        }
+    }
+
+    private static void addTrigrams(Map<Long, PostingList> postings, int id, String value) {
+        for (int i = 0; (i + TRIGRAM_LENGTH) <= value.length(); i++) {
+            postings.computeIfAbsent(getTrigram(value, i), key -> new PostingList()).add(id);
+        }
+    }
+
+    private static BitSet getDocumentsContaining(Map<Long, PostingList> postings, String text) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; (i + TRIGRAM_LENGTH) <= text.length(); i++) {
+            PostingList list = postings.get(getTrigram(text, i));
+            if (list == null) {
+                return new BitSet();
+            }
+            lists.add(list);
+        }
+
+        // start with the shortest list, so that the set of candidates is small from the beginning
+        lists.sort((list1, list2) -> Integer.compare(list1.size, list2.size));
+        BitSet result = lists.get(0).toBitSet();
+        for (int i = 1; (i < lists.size()) && !result.isEmpty(); i++) {
+            result.and(lists.get(i).toBitSet());
+        }
+        return result;
+    }
+
+    private static long getTrigram(String text, int start) {
+        long trigram = 0;
+        for (int i = start; i < (start + TRIGRAM_LENGTH); i++) {
+            trigram = (trigram << 16) | Character.toLowerCase(text.charAt(i));
+        }
+        return trigram;
+    }
+
+
+    /**
+     * The ascending ids of the documents containing a trigram.
+     */
+    private static class PostingList {
+
+        private int[] ids = new int[2];
+        private int size;
+
+
+        void add(int id) {
+            // every document is indexed at once, and with a higher id than all documents before
+            if ((size > 0) && (ids[size - 1] == id)) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            ids[size++] = id;
+        }
+
+        BitSet toBitSet() {
+            BitSet bitSet = new BitSet();
+            for (int i = 0; i < size; i++) {
+                bitSet.set(ids[i]);
+            }
+            return bitSet;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package net.sf.jabref.logic.search;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.rules.ContainBasedSearchRule;
@@ -9,6 +12,7 @@ import net.sf.jabref.logic.search.rules.SearchRule;
 import net.sf.jabref.logic.search.rules.SearchRules;
 import net.sf.jabref.logic.search.rules.describer.SearchDescriber;
 import net.sf.jabref.logic.search.rules.describer.SearchDescribers;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 public class SearchQuery implements SearchMatcher {
@@ -17,6 +21,8 @@ public class SearchQuery implements SearchMatcher {
     private final boolean caseSensitive;
     private final boolean regularExpression;
     private final SearchRule rule;
+    // the query compiled by the rule, shared by all searches using this query
+    private final SearchMatcher matcher;
     private final String description;
 
     public SearchQuery(String query, boolean caseSensitive, boolean regularExpression) {
@@ -24,6 +30,7 @@ public class SearchQuery implements SearchMatcher {
         this.caseSensitive = caseSensitive;
         this.regularExpression = regularExpression;
         this.rule = Objects.requireNonNull(getSearchRule());
+        this.matcher = Objects.requireNonNull(rule.compile(query));
         this.description = Objects.requireNonNull(getSearchDescriber().getDescription());
     }
 
@@ -34,7 +41,28 @@ public class SearchQuery implements SearchMatcher {
 
     @Override
     public boolean isMatch(BibEntry entry) {
-        return this.getRule().applyRule(getQuery(), entry);
+        return matcher.isMatch(entry);
+    }
+
+    /**
+     * Returns all entries of the database matching this query, in the order of the database.
+     *
+     * @see SearchExecutor
+     */
+    public List<BibEntry> getMatches(BibDatabase database) {
+        return getCandidates(database).stream().filter(matcher::isMatch).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a snapshot of the entries of the database which may match this query, in the order of the database.
+     * Uses the {@link SearchIndex} of the database for plain text and grammar based searches, and returns all entries
+     * for regular expression searches.
+     */
+    public List<BibEntry> getCandidates(BibDatabase database) {
+        if (matcher instanceof IndexedSearchMatcher) {
+            return SearchIndex.getIndex(database).getCandidates(database.getEntries(), (IndexedSearchMatcher) matcher);
+        }
+        return new ArrayList<>(database.getEntries());
     }
 
     public boolean isValid() {
@@ -50,7 +78,7 @@ public class SearchQuery implements SearchMatcher {
     }
 
     private SearchDescriber getSearchDescriber() {
-        return SearchDescribers.getSearchDescriberFor(getSearchRule(), getQuery());
+        return SearchDescribers.getSearchDescriberFor(getRule(), getQuery());
     }
 
     private String getCaseSensitiveDescription() {
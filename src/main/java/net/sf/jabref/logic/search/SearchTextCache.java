@@ -0,0 +1,136 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.logic.layout.format.RemoveLatexCommands;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Caches the normalized forms of the field values searched by the plain text and regular expression searches, so
+ * that repeated searches do not have to remove the LaTeX commands of every field again.
+ *
+ * The normalized values of an entry are computed lazily and dropped as soon as the entry posts a
+ * {@link FieldChangedEvent} for the field. Entries are referenced weakly and compared by identity.
+ */
+public class SearchTextCache {
+
+    private static final RemoveLatexCommands REMOVE_LATEX_COMMANDS = new RemoveLatexCommands();
+
+    private static final LoadingCache<BibEntry, EntryTexts> ENTRY_TEXTS = CacheBuilder.newBuilder().weakKeys()
+            .build(CacheLoader.from(entry -> {
+                EntryTexts texts = new EntryTexts();
+                entry.registerListener(texts);
+                return texts;
+            }));
+
+
+    private SearchTextCache() {
+    }
+
+    /**
+     * Returns the value of the field without LaTeX commands, or null if the entry does not have the field.
+     */
+    public static String getLatexFreeField(BibEntry entry, String field) {
+        NormalizedField normalizedField = getNormalizedField(entry, field);
+        return normalizedField == null ? null : normalizedField.getLatexFree();
+    }
+
+    /**
+     * Returns the lower cased value of the field without LaTeX commands, or null if the entry does not have the field.
+     */
+    public static String getLatexFreeLowerCaseField(BibEntry entry, String field) {
+        NormalizedField normalizedField = getNormalizedField(entry, field);
+        return normalizedField == null ? null : normalizedField.getLatexFreeLowerCase();
+    }
+
+    /**
+     * Returns the value of the field with the LaTeX commands removed twice, as used by the regular expression search,
+     * or null if the entry does not have the field.
+     */
+    public static String getDoublyLatexFreeField(BibEntry entry, String field) {
+        NormalizedField normalizedField = getNormalizedField(entry, field);
+        return normalizedField == null ? null : normalizedField.getDoublyLatexFree();
+    }
+
+    private static NormalizedField getNormalizedField(BibEntry entry, String field) {
+        String value = entry.getField(field);
+        if (value == null) {
+            return null;
+        }
+
+        Map<String, NormalizedField> fields = ENTRY_TEXTS.getUnchecked(entry).fields;
+        NormalizedField normalizedField = fields.get(field);
+        // the value is compared as well, as a search may run concurrently to the change of a field
+        if ((normalizedField == null) || !normalizedField.value.equals(value)) {
+            normalizedField = new NormalizedField(value);
+            fields.put(field, normalizedField);
+        }
+        return normalizedField;
+    }
+
+
+    /**
+     * The normalized fields of a single entry. Must not reference the entry itself, otherwise it would never be
+     * collected.
+     */
+    private static class EntryTexts {
+
+        private final Map<String, NormalizedField> fields = new ConcurrentHashMap<>();
+
+
+        @Subscribe
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            fields.remove(fieldChangedEvent.getFieldName());
+        }
+    }
+
+    /**
+     * The normalized forms of a single field value, each computed when it is first needed.
+     */
+    private static class NormalizedField {
+
+        private final String value;
+        private volatile String latexFree;
+        private volatile String latexFreeLowerCase;
+        private volatile String doublyLatexFree;
+
+
+        NormalizedField(String value) {
+            this.value = value;
+        }
+
+        String getLatexFree() {
+            String result = latexFree;
+            if (result == null) {
+                result = REMOVE_LATEX_COMMANDS.format(value);
+                latexFree = result;
+            }
+            return result;
+        }
+
+        String getLatexFreeLowerCase() {
+            String result = latexFreeLowerCase;
+            if (result == null) {
+                result = getLatexFree().toLowerCase();
+                latexFreeLowerCase = result;
+            }
+            return result;
+        }
+
+        String getDoublyLatexFree() {
+            String result = doublyLatexFree;
+            if (result == null) {
+                result = REMOVE_LATEX_COMMANDS.format(getLatexFree());
+                doublyLatexFree = result;
+            }
+            return result;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package net.sf.jabref.logic.search.matchers;
 
+import java.util.BitSet;
 import java.util.Objects;
 
+import net.sf.jabref.logic.search.IndexedSearchMatcher;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchMatcher;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -12,7 +15,7 @@ import net.sf.jabref.model.entry.BibEntry;
  * false --> true
  * true --> false
  */
-public class NotMatcher implements SearchMatcher {
+public class NotMatcher implements IndexedSearchMatcher {
 
     private final SearchMatcher otherMatcher;
 
@@ -24,4 +27,10 @@ public class NotMatcher implements SearchMatcher {
     public boolean isMatch(BibEntry entry) {
         return !otherMatcher.isMatch(entry);
     }
+
+    @Override
+    public BitSet getCandidates(SearchIndex index) {
+        // the index only knows which entries may match the other matcher
+        return index.getAllDocuments();
+    }
 }
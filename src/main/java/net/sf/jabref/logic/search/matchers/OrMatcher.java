@@ -15,6 +15,10 @@
 */
 package net.sf.jabref.logic.search.matchers;
 
+import java.util.BitSet;
+
+import net.sf.jabref.logic.search.IndexedSearchMatcher;
+import net.sf.jabref.logic.search.SearchIndex;
 import net.sf.jabref.logic.search.SearchMatcher;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -22,20 +26,25 @@ import net.sf.jabref.model.entry.BibEntry;
  * Subclass of MatcherSet that ANDs or ORs between its rules, returning 0 or
  * 1.
  */
-public class OrMatcher extends MatcherSet {
+public class OrMatcher extends MatcherSet implements IndexedSearchMatcher {
 
     @Override
     public boolean isMatch(BibEntry bibEntry) {
-        int score = 0;
-
-        // We let each rule add a maximum of 1 to the score.
+        // an OR rule demands that at least one rule matches
         for (SearchMatcher rule : matchers) {
-            if(rule.isMatch(bibEntry)) {
-                score++;
+            if (rule.isMatch(bibEntry)) {
+                return true;
             }
         }
+        return false;
+    }
 
-        // OR rule demands score > 0.
-        return score > 0;
+    @Override
+    public BitSet getCandidates(SearchIndex index) {
+        BitSet candidates = new BitSet();
+        for (SearchMatcher rule : matchers) {
+            candidates.or(index.getCandidates(rule));
+        }
+        return candidates;
     }
 }
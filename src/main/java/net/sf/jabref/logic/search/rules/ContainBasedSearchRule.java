@@ -15,10 +15,13 @@
 */
 package net.sf.jabref.logic.search.rules;
 
-import java.util.Iterator;
+import java.util.BitSet;
 import java.util.List;
 
-import net.sf.jabref.logic.layout.format.RemoveLatexCommands;
+import net.sf.jabref.logic.search.IndexedSearchMatcher;
+import net.sf.jabref.logic.search.SearchIndex;
+import net.sf.jabref.logic.search.SearchMatcher;
+import net.sf.jabref.logic.search.SearchTextCache;
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -26,8 +29,6 @@ import net.sf.jabref.model.entry.BibEntry;
  */
 public class ContainBasedSearchRule implements SearchRule {
 
-    private static final RemoveLatexCommands REMOVE_LATEX_COMMANDS = new RemoveLatexCommands();
-
     private final boolean caseSensitive;
 
     public ContainBasedSearchRule(boolean caseSensitive) {
@@ -45,34 +46,70 @@ public class ContainBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return compile(query).isMatch(bibEntry);
+    }
 
+    @Override
+    public SearchMatcher compile(String query) {
         String searchString = query;
         if (!caseSensitive) {
             searchString = searchString.toLowerCase();
         }
 
-        List<String> unmatchedWords = new SentenceAnalyzer(searchString).getWords();
+        List<String> words = new SentenceAnalyzer(searchString).getWords();
+        return new WordsMatcher(words.toArray(new String[words.size()]), caseSensitive);
+    }
 
-        for (String fieldContent : bibEntry.getFieldValues()) {
-            String formattedFieldContent = ContainBasedSearchRule.REMOVE_LATEX_COMMANDS.format(fieldContent);
-            if (!caseSensitive) {
-                formattedFieldContent = formattedFieldContent.toLowerCase();
-            }
 
-            Iterator<String> unmatchedWordsIterator = unmatchedWords.iterator();
-            while (unmatchedWordsIterator.hasNext()) {
-                String word = unmatchedWordsIterator.next();
-                if(formattedFieldContent.contains(word)) {
-                    unmatchedWordsIterator.remove();
+    /**
+     * Matches entries containing all words in any of their fields.
+     */
+    private static class WordsMatcher implements IndexedSearchMatcher {
+
+        private final String[] words;
+        private final boolean caseSensitive;
+
+
+        WordsMatcher(String[] words, boolean caseSensitive) {
+            this.words = words;
+            this.caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public boolean isMatch(BibEntry bibEntry) {
+            boolean[] matchedWords = new boolean[words.length];
+            int unmatchedWords = words.length;
+
+            for (String field : bibEntry.getFieldNames()) {
+                String formattedFieldContent = caseSensitive ? SearchTextCache.getLatexFreeField(bibEntry, field) :
+                        SearchTextCache.getLatexFreeLowerCaseField(bibEntry, field);
+                if (formattedFieldContent == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < words.length; i++) {
+                    if (!matchedWords[i] && formattedFieldContent.contains(words[i])) {
+                        matchedWords[i] = true;
+                        unmatchedWords--;
+                    }
                 }
-            }
 
-            if(unmatchedWords.isEmpty()) {
-                return true;
+                if (unmatchedWords == 0) {
+                    return true;
+                }
             }
+
+            return false; // Didn't match all words.
         }
 
-        return false; // Didn't match all words.
+        @Override
+        public BitSet getCandidates(SearchIndex index) {
+            BitSet candidates = index.getAllDocuments();
+            for (String word : words) {
+                candidates.and(index.getDocumentsContaining(word));
+            }
+            return candidates;
+        }
     }
 
 }
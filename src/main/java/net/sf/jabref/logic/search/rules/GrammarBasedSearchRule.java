@@ -15,14 +15,20 @@
 */
 package net.sf.jabref.logic.search.rules;
 
-import java.util.List;
+import java.util.BitSet;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+import net.sf.jabref.logic.search.IndexedSearchMatcher;
+import net.sf.jabref.logic.search.SearchIndex;
+import net.sf.jabref.logic.search.SearchMatcher;
+import net.sf.jabref.logic.search.matchers.AndMatcher;
+import net.sf.jabref.logic.search.matchers.MatcherSet;
+import net.sf.jabref.logic.search.matchers.NotMatcher;
+import net.sf.jabref.logic.search.matchers.OrMatcher;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.search.SearchBaseVisitor;
 import net.sf.jabref.search.SearchLexer;
@@ -108,11 +114,49 @@ public class GrammarBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return compile(query).isMatch(bibEntry);
+    }
+
+    @Override
+    public SearchMatcher compile(String query) {
+        SearchMatcher matcher;
         try {
-            return new BibtexSearchVisitor(caseSensitiveSearch, regExpSearch, bibEntry).visit(tree);
+            init(query);
+            matcher = new MatcherCompiler(caseSensitiveSearch, regExpSearch).visit(tree);
         } catch (Exception e) {
             LOGGER.debug("Search failed", e);
-            return false;
+            return bibEntry -> false;
+        }
+
+        return new FailSafeMatcher(matcher);
+    }
+
+
+    /**
+     * Does not match entries for which the search fails.
+     */
+    private static class FailSafeMatcher implements IndexedSearchMatcher {
+
+        private final SearchMatcher matcher;
+
+
+        FailSafeMatcher(SearchMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public boolean isMatch(BibEntry bibEntry) {
+            try {
+                return matcher.isMatch(bibEntry);
+            } catch (Exception e) {
+                LOGGER.debug("Search failed", e);
+                return false;
+            }
+        }
+
+        @Override
+        public BitSet getCandidates(SearchIndex index) {
+            return index.getCandidates(matcher);
         }
     }
 
@@ -140,32 +184,67 @@ public class GrammarBasedSearchRule implements SearchRule {
         }
     }
 
-    public static class Comparator {
+    /**
+     * Compares the fields of an entry to a value. The patterns are compiled once, and whether a field name matches is
+     * only computed once per field name.
+     */
+    public static class Comparator implements IndexedSearchMatcher {
 
         private final ComparisonOperator operator;
+        private final String value;
+        private final boolean regex;
         private final Pattern fieldPattern;
         private final Pattern valuePattern;
+        private final boolean entryTypeComparison;
+        private final Map<String, Boolean> matchingFieldKeys = new ConcurrentHashMap<>();
 
         public Comparator(String field, String value, ComparisonOperator operator, boolean caseSensitive, boolean regex) {
             this.operator = operator;
+            this.value = value;
+            this.regex = regex;
 
             int option = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
             this.fieldPattern = Pattern.compile(regex ? field : "\\Q" + field + "\\E", option);
             this.valuePattern = Pattern.compile(regex ? value : "\\Q" + value + "\\E", option);
+            this.entryTypeComparison = fieldPattern.matcher("entrytype").matches();
+        }
+
+        @Override
+        public boolean isMatch(BibEntry entry) {
+            return compare(entry);
+        }
+
+        @Override
+        public BitSet getCandidates(SearchIndex index) {
+            // only a value which has to be contained literally can be looked up
+            if (regex || entryTypeComparison || (operator == ComparisonOperator.DOES_NOT_CONTAIN)
+                    || value.contains("\\E") || !SearchIndex.isIndexable(value)) {
+                return index.getAllDocuments();
+            }
+
+            BitSet candidates = new BitSet();
+            for (String field : index.getIndexedFields()) {
+                if (matchFieldKey(field)) {
+                    candidates.or(index.getDocumentsContaining(field, value));
+                }
+            }
+            return candidates;
         }
 
         public boolean compare(BibEntry entry) {
             // special case for searching for entrytype=phdthesis
-            if (fieldPattern.matcher("entrytype").matches()) {
+            if (entryTypeComparison) {
                 return matchFieldValue(entry.getType());
             }
 
             // specification of fieldsKeys to search is done in the search expression itself
-            Set<String> fieldsKeys = entry.getFieldNames();
-
-            List<String> matchedFieldKeys = fieldsKeys.stream().filter(matchFieldKey()).collect(Collectors.toList());
+            boolean matchedFieldKey = false;
+            for (String field : entry.getFieldNames()) {
+                if (!matchFieldKey(field)) {
+                    continue;
+                }
+                matchedFieldKey = true;
 
-            for (String field : matchedFieldKeys) {
                 String fieldValue = entry.getField(field);
                 if (fieldValue == null) {
                     continue; // paranoia
@@ -177,11 +256,11 @@ public class GrammarBasedSearchRule implements SearchRule {
             }
 
             // special case of asdf!=whatever and entry does not contain asdf
-            return matchedFieldKeys.isEmpty() && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
+            return !matchedFieldKey && (operator == ComparisonOperator.DOES_NOT_CONTAIN);
         }
 
-        private Predicate<String> matchFieldKey() {
-            return s -> fieldPattern.matcher(s).matches();
+        private boolean matchFieldKey(String field) {
+            return matchingFieldKeys.computeIfAbsent(field, key -> fieldPattern.matcher(key).matches());
         }
 
         public boolean matchFieldValue(String content) {
@@ -200,32 +279,29 @@ public class GrammarBasedSearchRule implements SearchRule {
     }
 
     /**
-     * Search results in boolean. It may be later on converted to an int.
+     * Compiles the parse tree of a query into a tree of matchers.
      */
-    static class BibtexSearchVisitor extends SearchBaseVisitor<Boolean> {
+    static class MatcherCompiler extends SearchBaseVisitor<SearchMatcher> {
 
         private final boolean caseSensitive;
         private final boolean regex;
 
-        private final BibEntry entry;
-
-        public BibtexSearchVisitor(boolean caseSensitive, boolean regex, BibEntry bibEntry) {
+        public MatcherCompiler(boolean caseSensitive, boolean regex) {
             this.caseSensitive = caseSensitive;
             this.regex = regex;
-            this.entry = bibEntry;
         }
 
-        public boolean comparison(String field, ComparisonOperator operator, String value) {
-            return new Comparator(field, value, operator, caseSensitive, regex).compare(entry);
+        public SearchMatcher comparison(String field, ComparisonOperator operator, String value) {
+            return new Comparator(field, value, operator, caseSensitive, regex);
         }
 
         @Override
-        public Boolean visitStart(SearchParser.StartContext ctx) {
+        public SearchMatcher visitStart(SearchParser.StartContext ctx) {
             return visit(ctx.expression());
         }
 
         @Override
-        public Boolean visitComparison(SearchParser.ComparisonContext ctx) {
+        public SearchMatcher visitComparison(SearchParser.ComparisonContext ctx) {
             // remove possible enclosing " symbols
             String right = ctx.right.getText();
             if(right.startsWith("\"") && right.endsWith("\"")) {
@@ -237,22 +313,26 @@ public class GrammarBasedSearchRule implements SearchRule {
         }
 
         @Override
-        public Boolean visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
-            return !visit(ctx.expression()); // negate
+        public SearchMatcher visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return new NotMatcher(visit(ctx.expression())); // negate
         }
 
         @Override
-        public Boolean visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+        public SearchMatcher visitParenExpression(SearchParser.ParenExpressionContext ctx) {
             return visit(ctx.expression()); // ignore parenthesis
         }
 
         @Override
-        public Boolean visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+        public SearchMatcher visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            MatcherSet matcherSet;
             if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
-                return visit(ctx.left) && visit(ctx.right); // and
+                matcherSet = new AndMatcher(); // and
             } else {
-                return visit(ctx.left) || visit(ctx.right); // or
+                matcherSet = new OrMatcher(); // or
             }
+            matcherSet.addRule(visit(ctx.left));
+            matcherSet.addRule(visit(ctx.right));
+            return matcherSet;
         }
     }
 
@@ -19,7 +19,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import net.sf.jabref.logic.layout.format.RemoveLatexCommands;
+import net.sf.jabref.logic.search.SearchMatcher;
+import net.sf.jabref.logic.search.SearchTextCache;
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -27,8 +28,6 @@ import net.sf.jabref.model.entry.BibEntry;
  */
 public class RegexBasedSearchRule implements SearchRule {
 
-    private static final RemoveLatexCommands REMOVE_LATEX_COMMANDS = new RemoveLatexCommands();
-
     private final boolean caseSensitive;
 
     public RegexBasedSearchRule(boolean caseSensitive) {
@@ -56,26 +55,32 @@ public class RegexBasedSearchRule implements SearchRule {
 
     @Override
     public boolean applyRule(String query, BibEntry bibEntry) {
+        return compile(query).isMatch(bibEntry);
+    }
+
+    @Override
+    public SearchMatcher compile(String query) {
         Pattern pattern;
 
         try {
             pattern = Pattern.compile(query, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE);
         } catch (PatternSyntaxException ex) {
-            return false;
+            return bibEntry -> false;
         }
 
-        for (String field : bibEntry.getFieldNames()) {
-            if (bibEntry.hasField(field)) {
-                String fieldContent = RegexBasedSearchRule.REMOVE_LATEX_COMMANDS.format(bibEntry.getField(field));
-                String fieldContentNoBrackets = RegexBasedSearchRule.REMOVE_LATEX_COMMANDS.format(fieldContent);
-                Matcher m = pattern.matcher(fieldContentNoBrackets);
-                if (m.find()) {
-                    return true;
+        return bibEntry -> {
+            for (String field : bibEntry.getFieldNames()) {
+                String fieldContentNoBrackets = SearchTextCache.getDoublyLatexFreeField(bibEntry, field);
+                if (fieldContentNoBrackets != null) {
+                    Matcher m = pattern.matcher(fieldContentNoBrackets);
+                    if (m.find()) {
+                        return true;
+                    }
                 }
-            }
 
-        }
-        return false;
+            }
+            return false;
+        };
     }
 
 }
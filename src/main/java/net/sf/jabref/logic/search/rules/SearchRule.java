@@ -26,6 +26,7 @@ http://www.gnu.org/copyleft/gpl.ja.html
 */
 package net.sf.jabref.logic.search.rules;
 
+import net.sf.jabref.logic.search.SearchMatcher;
 import net.sf.jabref.model.entry.BibEntry;
 
 public interface SearchRule {
@@ -33,4 +34,10 @@ public interface SearchRule {
     boolean applyRule(String query, BibEntry bibEntry);
 
     boolean validateSearchStrings(String query);
+
+    /**
+     * Compiles the query into a matcher which can be applied to any number of entries without analyzing the query
+     * again. The matcher is immutable and can be shared between threads.
+     */
+    SearchMatcher compile(String query);
 }
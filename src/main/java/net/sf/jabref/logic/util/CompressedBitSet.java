@@ -0,0 +1,442 @@
+package net.sf.jabref.logic.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of non-negative integers which needs little memory for sparse as well as for dense sets.
+ *
+ * The integers are split into chunks of 2^16 values sharing their upper bits. A chunk holding few values stores them
+ * as a sorted array, a chunk holding many values as a bitmap, following the layout of Roaring bitmaps. Chunks
+ * without values are not stored at all. Like {@link java.util.BitSet}, the set operations modify this set, and
+ * instances are not thread safe.
+ */
+public class CompressedBitSet {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int LOW_MASK = (1 << CHUNK_BITS) - 1;
+    // a chunk holding more values than this is stored as a bitmap, which then needs less memory
+    private static final int MAX_ARRAY_SIZE = 4096;
+
+    // the upper bits of the values in the chunks, in ascending order
+    private int[] keys = new int[0];
+    private Chunk[] chunks = new Chunk[0];
+
+
+    public CompressedBitSet copy() {
+        CompressedBitSet copy = new CompressedBitSet();
+        copy.keys = keys.clone();
+        copy.chunks = new Chunk[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            copy.chunks[i] = chunks[i].copy();
+        }
+        return copy;
+    }
+
+    public boolean get(int value) {
+        int index = Arrays.binarySearch(keys, value >>> CHUNK_BITS);
+        return (index >= 0) && chunks[index].contains(value & LOW_MASK);
+    }
+
+    public void set(int value) {
+        if (value < 0) {
+            throw new IndexOutOfBoundsException("value < 0: " + value);
+        }
+        int key = value >>> CHUNK_BITS;
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new ArrayChunk());
+        }
+        chunks[index] = chunks[index].add(value & LOW_MASK);
+    }
+
+    public void clear(int value) {
+        int index = Arrays.binarySearch(keys, value >>> CHUNK_BITS);
+        if (index < 0) {
+            return;
+        }
+        Chunk chunk = chunks[index].remove(value & LOW_MASK);
+        if (chunk.cardinality() == 0) {
+            removeChunk(index);
+        } else {
+            chunks[index] = chunk;
+        }
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (Chunk chunk : chunks) {
+            cardinality += chunk.cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return chunks.length == 0;
+    }
+
+    /**
+     * Keeps only the values which are also contained in the given set.
+     */
+    public void and(CompressedBitSet other) {
+        int size = 0;
+        for (int i = 0, j = 0; (i < keys.length) && (j < other.keys.length);) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Chunk chunk = chunks[i].and(other.chunks[j]);
+                if (chunk.cardinality() > 0) {
+                    keys[size] = keys[i];
+                    chunks[size] = chunk;
+                    size++;
+                }
+                i++;
+                j++;
+            }
+        }
+        keys = Arrays.copyOf(keys, size);
+        chunks = Arrays.copyOf(chunks, size);
+    }
+
+    /**
+     * Adds all values contained in the given set.
+     */
+    public void or(CompressedBitSet other) {
+        int[] newKeys = new int[keys.length + other.keys.length];
+        Chunk[] newChunks = new Chunk[newKeys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while ((i < keys.length) || (j < other.keys.length)) {
+            if ((j == other.keys.length) || ((i < keys.length) && (keys[i] < other.keys[j]))) {
+                newKeys[size] = keys[i];
+                newChunks[size] = chunks[i];
+                i++;
+            } else if ((i == keys.length) || (keys[i] > other.keys[j])) {
+                newKeys[size] = other.keys[j];
+                newChunks[size] = other.chunks[j].copy();
+                j++;
+            } else {
+                newKeys[size] = keys[i];
+                newChunks[size] = chunks[i].or(other.chunks[j]);
+                i++;
+                j++;
+            }
+            size++;
+        }
+        keys = Arrays.copyOf(newKeys, size);
+        chunks = Arrays.copyOf(newChunks, size);
+    }
+
+    /**
+     * Passes all values to the given consumer in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < chunks.length; i++) {
+            int high = keys[i] << CHUNK_BITS;
+            chunks[i].forEach(low -> consumer.accept(high | low));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        CompressedBitSet other = (CompressedBitSet) o;
+        if (!Arrays.equals(keys, other.keys)) {
+            return false;
+        }
+        for (int i = 0; i < chunks.length; i++) {
+            if ((chunks[i].cardinality() != other.chunks[i].cardinality())
+                    || (chunks[i].and(other.chunks[i]).cardinality() != chunks[i].cardinality())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(value -> hash[0] = (31 * hash[0]) + value);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach(value -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(value);
+        });
+        return sb.append('}').toString();
+    }
+
+    private void insertChunk(int index, int key, Chunk chunk) {
+        int[] newKeys = new int[keys.length + 1];
+        Chunk[] newChunks = new Chunk[chunks.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(chunks, 0, newChunks, 0, index);
+        newKeys[index] = key;
+        newChunks[index] = chunk;
+        System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+        System.arraycopy(chunks, index, newChunks, index + 1, chunks.length - index);
+        keys = newKeys;
+        chunks = newChunks;
+    }
+
+    private void removeChunk(int index) {
+        int[] newKeys = new int[keys.length - 1];
+        Chunk[] newChunks = new Chunk[chunks.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(chunks, 0, newChunks, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(chunks, index + 1, newChunks, index, chunks.length - index - 1);
+        keys = newKeys;
+        chunks = newChunks;
+    }
+
+
+    /**
+     * The lower bits of the values sharing their upper bits. Operations return the chunk holding the result, which
+     * may be this chunk or a new one in the other representation. Results of and and or never share state with the
+     * chunk passed to them.
+     */
+    private abstract static class Chunk {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        abstract Chunk add(int low);
+
+        abstract Chunk remove(int low);
+
+        abstract Chunk and(Chunk other);
+
+        abstract Chunk or(Chunk other);
+
+        abstract void forEach(IntConsumer consumer);
+
+        abstract Chunk copy();
+    }
+
+    private static class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int size;
+
+
+        ArrayChunk() {
+            this(new char[4], 0);
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, size, (char) low) >= 0;
+        }
+
+        @Override
+        Chunk add(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == MAX_ARRAY_SIZE) {
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(2 * size, 4), MAX_ARRAY_SIZE));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = (char) low;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(int low) {
+            int index = Arrays.binarySearch(values, 0, size, (char) low);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            char[] result = new char[size];
+            int resultSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i])) {
+                    result[resultSize++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, resultSize);
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            if (other instanceof BitmapChunk) {
+                return other.or(this);
+            }
+            ArrayChunk otherArray = (ArrayChunk) other;
+            char[] result = new char[size + otherArray.size];
+            int resultSize = 0;
+            int i = 0;
+            int j = 0;
+            while ((i < size) || (j < otherArray.size)) {
+                if ((j == otherArray.size) || ((i < size) && (values[i] < otherArray.values[j]))) {
+                    result[resultSize++] = values[i++];
+                } else if ((i == size) || (values[i] > otherArray.values[j])) {
+                    result[resultSize++] = otherArray.values[j++];
+                } else {
+                    result[resultSize++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayChunk union = new ArrayChunk(result, resultSize);
+            return resultSize > MAX_ARRAY_SIZE ? union.toBitmap() : union;
+        }
+
+        @Override
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[i]);
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, Math.max(size, 1)), size);
+        }
+
+        BitmapChunk toBitmap() {
+            BitmapChunk bitmap = new BitmapChunk();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static class BitmapChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+
+        BitmapChunk() {
+            this(new long[(LOW_MASK + 1) / Long.SIZE], 0);
+        }
+
+        BitmapChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Chunk add(int low) {
+            if (!contains(low)) {
+                words[low >>> 6] |= 1L << low;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(int low) {
+            if (contains(low)) {
+                words[low >>> 6] &= ~(1L << low);
+                cardinality--;
+            }
+            return cardinality > MAX_ARRAY_SIZE ? this : toArray();
+        }
+
+        @Override
+        Chunk and(Chunk other) {
+            if (other instanceof ArrayChunk) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            long[] result = new long[words.length];
+            int resultCardinality = 0;
+            for (int i = 0; i < words.length; i++) {
+                result[i] = words[i] & otherWords[i];
+                resultCardinality += Long.bitCount(result[i]);
+            }
+            BitmapChunk intersection = new BitmapChunk(result, resultCardinality);
+            return resultCardinality > MAX_ARRAY_SIZE ? intersection : intersection.toArray();
+        }
+
+        @Override
+        Chunk or(Chunk other) {
+            BitmapChunk union = (BitmapChunk) copy();
+            if (other instanceof ArrayChunk) {
+                other.forEach(union::add);
+                return union;
+            }
+            long[] otherWords = ((BitmapChunk) other).words;
+            union.cardinality = 0;
+            for (int i = 0; i < words.length; i++) {
+                union.words[i] |= otherWords[i];
+                union.cardinality += Long.bitCount(union.words[i]);
+            }
+            return union;
+        }
+
+        @Override
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept((i * Long.SIZE) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitmapChunk(words.clone(), cardinality);
+        }
+
+        ArrayChunk toArray() {
+            char[] values = new char[cardinality];
+            int[] size = {0};
+            forEach(low -> values[size[0]++] = (char) low);
+            return new ArrayChunk(values, cardinality);
+        }
+    }
+}
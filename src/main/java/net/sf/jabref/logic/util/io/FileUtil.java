@@ -15,13 +15,11 @@
 */
 package net.sf.jabref.logic.util.io;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,7 +39,7 @@ import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefPreferences;
 import net.sf.jabref.logic.journals.JournalAbbreviationRepository;
 import net.sf.jabref.logic.layout.Layout;
-import net.sf.jabref.logic.layout.LayoutHelper;
+import net.sf.jabref.logic.layout.LayoutCache;
 import net.sf.jabref.logic.util.OS;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
@@ -141,15 +139,18 @@ public class FileUtil {
         if (dest.exists() && !deleteIfExists) {
             return false;
         }
-        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(source));
-                BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(dest))) {
-
-
-            int el;
-            while ((el = in.read()) >= 0) {
-                out.write(el);
+        // the channels copy in bulk, without passing every byte through the JVM
+        try (FileChannel in = new FileInputStream(source).getChannel();
+                FileChannel out = new FileOutputStream(dest).getChannel()) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = in.transferTo(position, size - position, out);
+                if (transferred <= 0) {
+                    throw new IOException("Could not copy " + source + " to " + dest);
+                }
+                position += transferred;
             }
-            out.flush();
         }
         return true;
     }
@@ -392,10 +393,10 @@ public class FileUtil {
     public static String getLinkedFileName(BibDatabase database, BibEntry entry,
             JournalAbbreviationRepository repository) {
         String targetName = entry.getCiteKey() == null ? "default" : entry.getCiteKey();
-        StringReader sr = new StringReader(Globals.prefs.get(JabRefPreferences.PREF_IMPORT_FILENAMEPATTERN));
         Layout layout = null;
         try {
-            layout = new LayoutHelper(sr, repository).getLayoutFromText();
+            layout = LayoutCache.getLayoutFromText(Globals.prefs.get(JabRefPreferences.PREF_IMPORT_FILENAMEPATTERN),
+                    repository);
         } catch (IOException e) {
             LOGGER.info("Wrong format " + e.getMessage(), e);
         }
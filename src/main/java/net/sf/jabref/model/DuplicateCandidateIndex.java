@@ -0,0 +1,275 @@
+/*  Copyright (C) 2016 JabRef contributors.
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License along
+    with this program; if not, write to the Free Software Foundation, Inc.,
+    51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package net.sf.jabref.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import net.sf.jabref.model.entry.AuthorList;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Blocking index for duplicate detection.
+ *
+ * Entries are put into buckets by cheap, normalized keys: the DOI, the surname of the first author (or editor)
+ * together with the year, and MinHash bands of the character shingles of the title. Only entries sharing at least
+ * one bucket (and having the same type) are reported as candidates, so
+ * {@link DuplicateCheck#isDuplicate(BibEntry, BibEntry, net.sf.jabref.model.database.BibDatabaseMode)} does not
+ * have to be run on all pairs of entries. Entries for which no key can be computed are candidates for all entries
+ * of the same type.
+ *
+ * The index is a snapshot of the entries given at construction time, it is not updated if the entries change.
+ * After construction it is only read, so it may be queried from several threads.
+ */
+public class DuplicateCandidateIndex {
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int MINHASH_BANDS = 16;
+    private static final int MINHASH_ROWS = 4;
+
+    private static final int[] MINHASH_SEEDS = new int[MINHASH_BANDS * MINHASH_ROWS];
+
+    static {
+        for (int i = 0; i < MINHASH_SEEDS.length; i++) {
+            MINHASH_SEEDS[i] = mix(0x9E3779B9 * (i + 1));
+        }
+    }
+
+    private final List<BibEntry> entries;
+    // key -> ordinals of the entries in this bucket, in ascending order
+    private final Map<String, List<Integer>> buckets = new HashMap<>();
+    // type -> all ordinals of this type, used for entries without any key
+    private final Map<String, List<Integer>> entriesByType = new HashMap<>();
+    // type -> ordinals of entries without any key
+    private final Map<String, List<Integer>> unkeyedByType = new HashMap<>();
+    private final List<Set<String>> keysByOrdinal;
+
+
+    /**
+     * Builds the index for the given entries. The position of an entry in the list is its ordinal in this index.
+     */
+    public DuplicateCandidateIndex(Collection<BibEntry> entries) {
+        this.entries = new ArrayList<>(Objects.requireNonNull(entries));
+        this.keysByOrdinal = new ArrayList<>(this.entries.size());
+
+        for (int ordinal = 0; ordinal < this.entries.size(); ordinal++) {
+            BibEntry entry = this.entries.get(ordinal);
+            Set<String> keys = computeBlockingKeys(entry);
+            keysByOrdinal.add(keys);
+
+            entriesByType.computeIfAbsent(entry.getType(), type -> new ArrayList<>()).add(ordinal);
+            if (keys.isEmpty()) {
+                unkeyedByType.computeIfAbsent(entry.getType(), type -> new ArrayList<>()).add(ordinal);
+            }
+            for (String key : keys) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(1)).add(ordinal);
+            }
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<BibEntry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns all indexed entries which might be duplicates of the given entry, in index order. The entry itself
+     * is never part of the result. The entry does not need to be part of the index.
+     */
+    public List<BibEntry> getCandidates(BibEntry entry) {
+        List<BibEntry> result = new ArrayList<>();
+        for (int ordinal : collectCandidates(entry, computeBlockingKeys(entry), -1)) {
+            BibEntry candidate = entries.get(ordinal);
+            if (candidate != entry) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the candidates of the entry at the given ordinal which come after it in the index. Iterating over all
+     * ordinals and their subsequent candidates yields every candidate pair exactly once, in the same order as a
+     * nested loop over all pairs would.
+     */
+    public List<BibEntry> getSubsequentCandidates(int ordinal) {
+        List<BibEntry> result = new ArrayList<>();
+        for (int candidate : collectCandidates(entries.get(ordinal), keysByOrdinal.get(ordinal), ordinal)) {
+            result.add(entries.get(candidate));
+        }
+        return result;
+    }
+
+    /**
+     * Collects the distinct ordinals greater than the given one of all entries sharing a bucket with the given keys,
+     * in ascending order.
+     */
+    private SortedSet<Integer> collectCandidates(BibEntry entry, Set<String> keys, int afterOrdinal) {
+        SortedSet<Integer> candidates = new TreeSet<>();
+        if (keys.isEmpty()) {
+            addAfter(candidates, entriesByType.get(entry.getType()), afterOrdinal);
+            return candidates;
+        }
+
+        for (String key : keys) {
+            addAfter(candidates, buckets.get(key), afterOrdinal);
+        }
+        addAfter(candidates, unkeyedByType.get(entry.getType()), afterOrdinal);
+        return candidates;
+    }
+
+    private static void addAfter(SortedSet<Integer> candidates, List<Integer> ordinals, int afterOrdinal) {
+        if (ordinals == null) {
+            return;
+        }
+        // the lists are sorted, so only the tail has to be added
+        int start = Collections.binarySearch(ordinals, afterOrdinal + 1);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        candidates.addAll(ordinals.subList(start, ordinals.size()));
+    }
+
+    /**
+     * Computes the bucket keys of the given entry. All keys are prefixed by the entry type, as only entries of the
+     * same type can be duplicates.
+     */
+    static Set<String> computeBlockingKeys(BibEntry entry) {
+        Set<String> keys = new LinkedHashSet<>();
+        String prefix = entry.getType() + '\u0000';
+
+        String doi = normalizeDoi(entry.getField("doi"));
+        if (!doi.isEmpty()) {
+            keys.add(prefix + "doi:" + doi);
+        }
+
+        String surname = firstSurname(entry.getField("author"));
+        if (surname.isEmpty()) {
+            surname = firstSurname(entry.getField("editor"));
+        }
+        if (!surname.isEmpty()) {
+            String year = entry.getFieldOptional("year").map(String::trim).orElse("");
+            keys.add(prefix + "ay:" + surname + '|' + year);
+        }
+
+        String title = normalize(entry.getField("title"));
+        if (!title.isEmpty()) {
+            int[] signature = minHash(title);
+            for (int band = 0; band < MINHASH_BANDS; band++) {
+                StringBuilder key = new StringBuilder(prefix).append("t").append(band).append(':');
+                for (int row = 0; row < MINHASH_ROWS; row++) {
+                    key.append(Integer.toHexString(signature[(band * MINHASH_ROWS) + row])).append('.');
+                }
+                keys.add(key.toString());
+            }
+        }
+        return keys;
+    }
+
+    private static String normalizeDoi(String doi) {
+        if (doi == null) {
+            return "";
+        }
+        String result = doi.trim().toLowerCase(Locale.ROOT);
+        int start = result.indexOf("10.");
+        if (start > 0) {
+            result = result.substring(start);
+        }
+        return result;
+    }
+
+    private static String firstSurname(String names) {
+        if ((names == null) || names.trim().isEmpty()) {
+            return "";
+        }
+        AuthorList authors = AuthorList.parse(names);
+        if (authors.isEmpty()) {
+            return "";
+        }
+        return normalize(authors.getAuthor(0).getLastOnly()).replace(" ", "");
+    }
+
+    /**
+     * Lower cases the given string and keeps only letters and digits, separated by single spaces.
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && (result.length() > 0)) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                result.append(Character.toLowerCase(c));
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+            }
+        }
+        return result.toString();
+    }
+
+    private static int[] minHash(String text) {
+        int[] signature = new int[MINHASH_SEEDS.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, (text.length() - SHINGLE_LENGTH) + 1);
+        for (int start = 0; start < shingles; start++) {
+            int shingleHash = 0;
+            int end = Math.min(text.length(), start + SHINGLE_LENGTH);
+            for (int i = start; i < end; i++) {
+                shingleHash = (31 * shingleHash) + text.charAt(i);
+            }
+            for (int i = 0; i < MINHASH_SEEDS.length; i++) {
+                int hash = mix(shingleHash ^ MINHASH_SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads the bits of the given value.
+     */
+    private static int mix(int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -25,19 +25,16 @@ import net.sf.jabref.bibtex.FieldProperties;
 import net.sf.jabref.bibtex.InternalBibtexFields;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
-import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.EntryType;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
 /**
  * This class contains utility method for duplicate checking of entries.
  */
 public class DuplicateCheck {
 
-    private static final Log LOGGER = LogFactory.getLog(DuplicateCheck.class);
+    // The kernel caches normalized field values and reuses its buffers, so each thread gets its own:
+    private static final ThreadLocal<SimilarityKernel> KERNEL = ThreadLocal.withInitial(SimilarityKernel::new);
 
     /*
      * Integer values for indicating result of duplicate check (for entries):
@@ -56,6 +53,9 @@ public class DuplicateCheck {
 
     private static final double REQUIRED_WEIGHT = 3; // Weighting of all required fields
 
+    // The word-by-word correlation which has to be exceeded for a field to be considered equal:
+    private static final double CORRELATION_THRESHOLD = 0.8;
+
     // Extra weighting of those fields that are most likely to provide correct duplicate detection:
     private static final Map<String, Double> FIELD_WEIGHTS = new HashMap<>();
 
@@ -144,23 +144,18 @@ public class DuplicateCheck {
             return EMPTY_IN_TWO;
         }
 
+        SimilarityKernel kernel = KERNEL.get();
         if (InternalBibtexFields.getFieldExtras(field).contains(FieldProperties.PERSON_NAMES)) {
-            // Specific for name fields.
-            // Harmonise case:
-            String auth1 = AuthorList.fixAuthorLastNameOnlyCommas(s1, false).replace(" and ", " ").toLowerCase();
-            String auth2 = AuthorList.fixAuthorLastNameOnlyCommas(s2, false).replace(" and ", " ").toLowerCase();
-            double similarity = DuplicateCheck.correlateByWords(auth1, auth2);
-            if (similarity > 0.8) {
+            // Specific for name fields, only the last names are compared:
+            if (kernel.correlatesByWords(kernel.getNameTokens(s1), kernel.getNameTokens(s2),
+                    DuplicateCheck.CORRELATION_THRESHOLD)) {
                 return EQUAL;
             }
             return NOT_EQUAL;
         } else if ("pages".equals(field)) {
             // Pages can be given with a variety of delimiters, "-", "--", " - ", " -- ".
-            // We do a replace to harmonize these to a simple "-":
-            // After this, a simple test for equality should be enough:
-            s1 = s1.replaceAll("[- ]+", "-");
-            s2 = s2.replaceAll("[- ]+", "-");
-            if (s1.equals(s2)) {
+            // We harmonize these to a simple "-" while comparing:
+            if (SimilarityKernel.equalPages(s1, s2)) {
                 return EQUAL;
             }
             return NOT_EQUAL;
@@ -168,18 +163,14 @@ public class DuplicateCheck {
             // We do not attempt to harmonize abbreviation state of the journal names,
             // but we remove periods from the names in case they are abbreviated with
             // and without dots:
-            s1 = s1.replace(".", "").toLowerCase();
-            s2 = s2.replace(".", "").toLowerCase();
-            double similarity = DuplicateCheck.correlateByWords(s1, s2);
-            if (similarity > 0.8) {
+            if (kernel.correlatesByWords(kernel.getJournalTokens(s1), kernel.getJournalTokens(s2),
+                    DuplicateCheck.CORRELATION_THRESHOLD)) {
                 return EQUAL;
             }
             return NOT_EQUAL;
         } else {
-            s1 = s1.toLowerCase();
-            s2 = s2.toLowerCase();
-            double similarity = DuplicateCheck.correlateByWords(s1, s2);
-            if (similarity > 0.8) {
+            if (kernel.correlatesByWords(kernel.getTextTokens(s1), kernel.getTextTokens(s2),
+                    DuplicateCheck.CORRELATION_THRESHOLD)) {
                 return EQUAL;
             }
             return NOT_EQUAL;
@@ -213,12 +204,29 @@ public class DuplicateCheck {
      * Util.isDuplicate(BibEntry, BibEntry), the duplicate is returned.
      * The search is terminated when the first duplicate is found.
      *
+     * Only entries sharing a bucket of a {@link DuplicateCandidateIndex} with the given entry are compared.
+     * When checking several entries against the same database, build the index once and use
+     * {@link #containsDuplicate(DuplicateCandidateIndex, BibEntry, BibDatabaseMode)}.
+     *
      * @param database The database to search.
      * @param entry    The entry of which we are looking for duplicates.
      * @return The first duplicate entry found. null if no duplicates are found.
      */
     public static Optional<BibEntry> containsDuplicate(BibDatabase database, BibEntry entry, BibDatabaseMode bibDatabaseMode) {
-        for (BibEntry other : database.getEntries()) {
+        return containsDuplicate(new DuplicateCandidateIndex(database.getEntries()), entry, bibDatabaseMode);
+    }
+
+    /**
+     * Checks the candidates of the given entry in the index, and returns the first one (in index order) which is a
+     * duplicate of the entry.
+     *
+     * @param index The candidate index of the entries to search.
+     * @param entry The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found. Empty if no duplicates are found.
+     */
+    public static Optional<BibEntry> containsDuplicate(DuplicateCandidateIndex index, BibEntry entry,
+            BibDatabaseMode bibDatabaseMode) {
+        for (BibEntry other : index.getCandidates(entry)) {
             if (DuplicateCheck.isDuplicate(entry, other, bibDatabaseMode)) {
                 return Optional.of(other); // Duplicate found.
             }
@@ -234,74 +242,7 @@ public class DuplicateCheck {
      * @return a value in the interval [0, 1] indicating the degree of match.
      */
     public static double correlateByWords(String s1, String s2) {
-        String[] w1 = s1.split("\\s");
-        String[] w2 = s2.split("\\s");
-        int n = Math.min(w1.length, w2.length);
-        int misses = 0;
-        for (int i = 0; i < n; i++) {
-            double corr = similarity(w1[i], w2[i]);
-            if (corr < 0.75) {
-                misses++;
-            }
-        }
-        double missRate = (double) misses / (double) n;
-        return 1 - missRate;
+        return KERNEL.get().correlateByWords(SimilarityKernel.tokenize(s1), SimilarityKernel.tokenize(s2));
     }
 
-
-    /**
-     * Calculates the similarity (a number within 0 and 1) between two strings.
-     * http://stackoverflow.com/questions/955110/similarity-string-comparison-in-java
-     */
-    private static double similarity(String s1, String s2) {
-        String longer = s1;
-        String shorter = s2;
-
-        if (s1.length() < s2.length()) { // longer should always have greater length
-            longer = s2;
-            shorter = s1;
-        }
-        int longerLength = longer.length();
-        if (longerLength == 0) {
-            return 1.0;
-            /* both strings are zero length */ }
-        double sim = (longerLength - editDistance(longer, shorter)) / (double) longerLength;
-        LOGGER.debug("Longer string: " + longer + " Shorter string: " + shorter + " Similarity: " + sim);
-        return sim;
-
-    }
-
-    /*
-    * Levenshtein Edit Distance
-    * http://stackoverflow.com/questions/955110/similarity-string-comparison-in-java
-    */
-    private static int editDistance(String s1, String s2) {
-        String s1LowerCase = s1.toLowerCase();
-        String s2LowerCase = s2.toLowerCase();
-
-        int[] costs = new int[s2LowerCase.length() + 1];
-        for (int i = 0; i <= s1LowerCase.length(); i++) {
-            int lastValue = i;
-            for (int j = 0; j <= s2LowerCase.length(); j++) {
-                if (i == 0) {
-                    costs[j] = j;
-                } else if (j > 0) {
-                    int newValue = costs[j - 1];
-                    if (s1LowerCase.charAt(i - 1) != s2LowerCase.charAt(j - 1)) {
-                        newValue = Math.min(Math.min(newValue, lastValue), costs[j]) + 1;
-                    }
-                    costs[j - 1] = lastValue;
-                    lastValue = newValue;
-
-                }
-            }
-            if (i > 0) {
-                costs[s2LowerCase.length()] = lastValue;
-            }
-        }
-        LOGGER.debug("String 1: " + s1LowerCase + " String 2: " + s2LowerCase + " Distance: " + costs[s2LowerCase.length()]);
-        return costs[s2LowerCase.length()];
-    }
-
-
 }
@@ -0,0 +1,248 @@
+/*  Copyright (C) 2016 JabRef contributors.
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License along
+    with this program; if not, write to the Free Software Foundation, Inc.,
+    51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package net.sf.jabref.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import net.sf.jabref.model.entry.AuthorList;
+
+/**
+ * Kernel for the string similarity computations of {@link DuplicateCheck}.
+ *
+ * The kernel caches the normalized, lower cased word tokens of the field values it has seen, reuses its edit
+ * distance buffers and stops computing an edit distance as soon as the similarity thresholds can no longer be
+ * reached. It is therefore not thread-safe: every thread has to use its own instance.
+ */
+public class SimilarityKernel {
+
+    /**
+     * Two words are considered similar if their similarity is at least this value.
+     */
+    public static final double WORD_SIMILARITY_THRESHOLD = 0.75;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+    private static final int TOKEN_CACHE_SIZE = 4096;
+
+    private final Map<String, String[]> nameTokens = new TokenCache();
+    private final Map<String, String[]> journalTokens = new TokenCache();
+    private final Map<String, String[]> textTokens = new TokenCache();
+
+    private int[] previousRow = new int[32];
+    private int[] currentRow = new int[32];
+
+
+    /**
+     * Returns the lower cased words of the last names in the given author or editor list.
+     */
+    public String[] getNameTokens(String names) {
+        return nameTokens.computeIfAbsent(names,
+                value -> tokenize(AuthorList.fixAuthorLastNameOnlyCommas(value, false).replace(" and ", " ")));
+    }
+
+    /**
+     * Returns the lower cased words of the given journal name, ignoring periods of abbreviations.
+     */
+    public String[] getJournalTokens(String journal) {
+        return journalTokens.computeIfAbsent(journal, value -> tokenize(value.replace(".", "")));
+    }
+
+    /**
+     * Returns the lower cased words of the given field value.
+     */
+    public String[] getTextTokens(String text) {
+        return textTokens.computeIfAbsent(text, SimilarityKernel::tokenize);
+    }
+
+    /**
+     * Splits the lower cased string at every whitespace character, exactly like {@code split("\\s")} does.
+     */
+    public static String[] tokenize(String value) {
+        return WHITESPACE.split(value.toLowerCase());
+    }
+
+    /**
+     * Checks whether the word-by-word correlation of the two token arrays is greater than the given minimum.
+     * Returns as soon as the outcome is known.
+     *
+     * @see #correlateByWords(String[], String[])
+     */
+    public boolean correlatesByWords(String[] words1, String[] words2, double minimumCorrelation) {
+        int n = Math.min(words1.length, words2.length);
+        if (n == 0) {
+            return false;
+        }
+        int misses = 0;
+        for (int i = 0; i < n; i++) {
+            if (!isSimilarWord(words1[i], words2[i])) {
+                misses++;
+                if ((1 - ((double) misses / (double) n)) <= minimumCorrelation) {
+                    return false;
+                }
+            }
+        }
+        return (1 - ((double) misses / (double) n)) > minimumCorrelation;
+    }
+
+    /**
+     * Compares two token arrays on the basis of word-by-word correlation analysis: the words at the same position
+     * are compared and the rate of words which are not similar is computed.
+     *
+     * @return a value in the interval [0, 1] indicating the degree of match.
+     */
+    public double correlateByWords(String[] words1, String[] words2) {
+        int n = Math.min(words1.length, words2.length);
+        int misses = 0;
+        for (int i = 0; i < n; i++) {
+            if (!isSimilarWord(words1[i], words2[i])) {
+                misses++;
+            }
+        }
+        double missRate = (double) misses / (double) n;
+        return 1 - missRate;
+    }
+
+    /**
+     * Checks whether the similarity of the two (lower cased) words, i.e., the share of characters of the longer
+     * word not affected by the edit distance, reaches {@link #WORD_SIMILARITY_THRESHOLD}.
+     */
+    public boolean isSimilarWord(String word1, String word2) {
+        int longerLength = Math.max(word1.length(), word2.length());
+        if (longerLength == 0) {
+            return true;
+        }
+        int maxDistance = getMaxDistance(longerLength);
+        return (maxDistance >= 0) && (boundedEditDistance(word1, word2, maxDistance) <= maxDistance);
+    }
+
+    /**
+     * Returns the largest edit distance for which two words, the longer one having the given length, are still
+     * similar. Uses the same floating point comparison as the similarity computation.
+     */
+    private static int getMaxDistance(int longerLength) {
+        int maxDistance = (int) (longerLength * (1 - WORD_SIMILARITY_THRESHOLD));
+        while (((longerLength - (maxDistance + 1)) / (double) longerLength) >= WORD_SIMILARITY_THRESHOLD) {
+            maxDistance++;
+        }
+        while ((maxDistance >= 0) && (((longerLength - maxDistance) / (double) longerLength) < WORD_SIMILARITY_THRESHOLD)) {
+            maxDistance--;
+        }
+        return maxDistance;
+    }
+
+    /**
+     * Computes the Levenshtein edit distance of the two strings, but only inside a diagonal band of the given width.
+     *
+     * @return the edit distance if it is at most maxDistance, otherwise maxDistance + 1
+     */
+    public int boundedEditDistance(CharSequence s1, CharSequence s2, int maxDistance) {
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int infinity = maxDistance + 1;
+        if (Math.abs(length1 - length2) > maxDistance) {
+            return infinity;
+        }
+        if ((length1 == 0) || (length2 == 0)) {
+            return Math.max(length1, length2);
+        }
+
+        if (previousRow.length <= (length2 + 1)) {
+            previousRow = new int[length2 + 2];
+            currentRow = new int[length2 + 2];
+        }
+        int[] previous = previousRow;
+        int[] current = currentRow;
+
+        int initialEnd = Math.min(length2, maxDistance);
+        for (int j = 0; j <= initialEnd; j++) {
+            previous[j] = j;
+        }
+        previous[initialEnd + 1] = infinity;
+
+        for (int i = 1; i <= length1; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(length2, i + maxDistance);
+            current[from - 1] = from == 1 ? i : infinity;
+            int rowMinimum = current[from - 1];
+
+            char c1 = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (c1 == s2.charAt(j - 1) ? 0 : 1);
+                int value = Math.min(Math.min(previous[j], current[j - 1]) + 1, substitution);
+                current[j] = Math.min(value, infinity);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < length2) {
+                current[to + 1] = infinity;
+            }
+            if (rowMinimum > maxDistance) {
+                return infinity;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[length2], infinity);
+    }
+
+    /**
+     * Checks if the two page ranges are equal when all runs of dashes and spaces are considered as a single dash,
+     * i.e., "334--337" equals "334 - 337".
+     */
+    public static boolean equalPages(String pages1, String pages2) {
+        int i = 0;
+        int j = 0;
+        int length1 = pages1.length();
+        int length2 = pages2.length();
+        while ((i < length1) && (j < length2)) {
+            boolean separator1 = isPageSeparator(pages1.charAt(i));
+            boolean separator2 = isPageSeparator(pages2.charAt(j));
+            if (separator1 && separator2) {
+                while ((i < length1) && isPageSeparator(pages1.charAt(i))) {
+                    i++;
+                }
+                while ((j < length2) && isPageSeparator(pages2.charAt(j))) {
+                    j++;
+                }
+            } else if (!separator1 && !separator2 && (pages1.charAt(i) == pages2.charAt(j))) {
+                i++;
+                j++;
+            } else {
+                return false;
+            }
+        }
+        return (i == length1) && (j == length2);
+    }
+
+    private static boolean isPageSeparator(char c) {
+        return (c == '-') || (c == ' ');
+    }
+
+
+    private static class TokenCache extends LinkedHashMap<String, String[]> {
+
+        TokenCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            return size() > TOKEN_CACHE_SIZE;
+        }
+    }
+}
@@ -42,6 +42,7 @@ import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+import net.sf.jabref.event.EntriesChangedEvent;
 import net.sf.jabref.event.EntryAddedEvent;
 import net.sf.jabref.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -75,6 +76,11 @@ public class BibDatabase {
      */
     private final DuplicationChecker duplicationChecker = new DuplicationChecker();
 
+    /**
+     * maps the bibtex keys to the entries, built on the first lookup and kept in sync through the events afterwards
+     */
+    private final CiteKeyIndex citeKeyIndex = new CiteKeyIndex(this);
+
     /**
      * contains all entry.getID() of the current database
      */
@@ -88,6 +94,11 @@ public class BibDatabase {
 
     private final EventBus eventBus = new EventBus();
 
+
+    public BibDatabase() {
+        eventBus.register(citeKeyIndex);
+    }
+
     /**
      * Returns the number of entries.
      */
@@ -142,30 +153,17 @@ public class BibDatabase {
     }
 
     /**
-     * Returns the entry with the given bibtex key.
+     * Returns the entry with the given bibtex key. If several entries have this key, the one added last is returned.
      */
-    public synchronized BibEntry getEntryByKey(String key) {
-        BibEntry back = null;
-
-        int keyHash = key.hashCode(); // key hash for better performance
-
-        for (BibEntry entry : entries) {
-            if ((entry != null) && (entry.getCiteKey() != null) && (keyHash == entry.getCiteKey().hashCode())) {
-                back = entry;
-            }
-        }
-        return back;
+    public BibEntry getEntryByKey(String key) {
+        return citeKeyIndex.getLastEntry(key).orElse(null);
     }
 
-    public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKey())) {
-                result.add(entry);
-            }
-        }
-        return result;
+    /**
+     * Returns all entries with the given bibtex key, in the order they were added.
+     */
+    public List<BibEntry> getEntriesByKey(String key) {
+        return new ArrayList<>(citeKeyIndex.getEntries(key));
     }
 
     /**
@@ -217,6 +215,35 @@ public class BibDatabase {
         return duplicationChecker.checkForDuplicateKeyAndAdd(oldKey, entry.getCiteKey());
     }
 
+    /**
+     * Sets the keys of several entries at once. The entries do not notify their listeners, instead a single
+     * {@link EntriesChangedEvent} is posted for all entries whose key has changed.
+     *
+     * @param keys the new keys of the entries at the same positions, null removes the key
+     * @return false if the keys were set without a duplicate warning
+     */
+    public synchronized boolean setCiteKeysForEntries(List<BibEntry> entriesToChange, List<String> keys) {
+        if (entriesToChange.size() != keys.size()) {
+            throw new IllegalArgumentException("There must be a key for every entry");
+        }
+
+        boolean duplicate = false;
+        List<BibEntry> changedEntries = new ArrayList<>();
+        for (int i = 0; i < entriesToChange.size(); i++) {
+            BibEntry entry = entriesToChange.get(i);
+            String oldKey = entry.getCiteKey();
+            if (!Objects.equals(oldKey, keys.get(i))) {
+                entry.setCiteKeyWithoutEvent(keys.get(i));
+                duplicate |= duplicationChecker.checkForDuplicateKeyAndAdd(oldKey, entry.getCiteKey());
+                changedEntries.add(entry);
+            }
+        }
+        if (!changedEntries.isEmpty()) {
+            eventBus.post(new EntriesChangedEvent(changedEntries));
+        }
+        return duplicate;
+    }
+
     /**
      * Sets the database's preamble.
      */
@@ -555,6 +582,7 @@ public class BibDatabase {
      *   - {@link EntryAddedEvent}
      *   - {@link EntryChangedEvent}
      *   - {@link EntryRemovedEvent}
+     *   - {@link EntriesChangedEvent}
      *
      * or another {@link EntryEvent} extending type.
      *
@@ -563,4 +591,13 @@ public class BibDatabase {
     public void registerListener(Object object) {
         this.eventBus.register(object);
     }
+
+    /**
+     * Unregisters a listener object from the internal event bus.
+     *
+     * @param object Listener (subscriber) to remove
+     */
+    public void unregisterListener(Object object) {
+        this.eventBus.unregister(object);
+    }
 }
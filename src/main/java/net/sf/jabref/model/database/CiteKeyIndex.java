@@ -0,0 +1,201 @@
+package net.sf.jabref.model.database;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.sf.jabref.event.EntriesChangedEvent;
+import net.sf.jabref.event.EntryAddedEvent;
+import net.sf.jabref.event.EntryRemovedEvent;
+import net.sf.jabref.event.FieldChangedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Maps the bibtex keys of the entries of a single {@link BibDatabase} to these entries.
+ *
+ * The index is built on the first lookup, so that databases which only pass entries around, such as the ones of
+ * search results, do not index them. Afterwards it listens to the {@link EntryAddedEvent}s,
+ * {@link EntryRemovedEvent}s and {@link EntriesChangedEvent}s of the database. The other key and id changes of the
+ * entries are passed on by a {@link EntryListener}, which does not keep the index alive, as entries are shared with
+ * such databases. Lookups do not lock, updates only lock the index itself.
+ */
+class CiteKeyIndex {
+
+    private final BibDatabase database;
+    private final EntryListener entryListener = new EntryListener(this);
+    // the lists are never modified, but replaced on every change, so they can be read without locking
+    private final Map<String, List<BibEntry>> entriesByKey = new ConcurrentHashMap<>();
+    // the id and key under which each entry is currently indexed (also for entries without key)
+    private final Map<BibEntry, IndexedEntry> indexedEntries = new IdentityHashMap<>();
+    private final Map<String, BibEntry> entriesById = new HashMap<>();
+    private volatile boolean built;
+
+
+    CiteKeyIndex(BibDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Returns all entries with the given key, in the order they were added to the index.
+     */
+    public List<BibEntry> getEntries(String key) {
+        build();
+        return entriesByKey.getOrDefault(key, Collections.emptyList());
+    }
+
+    /**
+     * Returns the entry with the given key which was added last.
+     */
+    public Optional<BibEntry> getLastEntry(String key) {
+        List<BibEntry> entries = getEntries(key);
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(entries.get(entries.size() - 1));
+    }
+
+    /**
+     * Indexes the entries of the database, if this has not happened yet. The database is locked first, as it posts
+     * its events while it is locked.
+     */
+    private void build() {
+        if (built) {
+            return;
+        }
+        synchronized (database) {
+            synchronized (this) {
+                if (!built) {
+                    database.getEntries().forEach(this::add);
+                    built = true;
+                }
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent entryAddedEvent) {
+        if (built) {
+            add(entryAddedEvent.getBibEntry());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent entryRemovedEvent) {
+        // the database removes entries by their id, so the removed instance is not necessarily the one of the event
+        BibEntry removed = entryRemovedEvent.getBibEntry();
+        if (!indexedEntries.containsKey(removed)) {
+            removed = entriesById.get(removed.getId());
+            if (removed == null) {
+                return;
+            }
+        }
+        removed.unregisterListener(entryListener);
+        IndexedEntry indexedEntry = indexedEntries.remove(removed);
+        entriesById.remove(indexedEntry.id);
+        removeFromKey(indexedEntry.key, removed);
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesChangedEvent entriesChangedEvent) {
+        for (BibEntry entry : entriesChangedEvent.getBibEntries()) {
+            changeKey(entry, entry.getCiteKey());
+        }
+    }
+
+    private synchronized void changeKey(BibEntry entry, String newKey) {
+        IndexedEntry indexedEntry = indexedEntries.get(entry);
+        if ((indexedEntry == null)
+                || ((indexedEntry.key == null) ? (newKey == null) : indexedEntry.key.equals(newKey))) {
+            return;
+        }
+        removeFromKey(indexedEntry.key, entry);
+        addToKey(newKey, entry);
+        indexedEntry.key = newKey;
+    }
+
+    private synchronized void changeId(BibEntry entry, String newId) {
+        IndexedEntry indexedEntry = indexedEntries.get(entry);
+        if (indexedEntry == null) {
+            return;
+        }
+        entriesById.remove(indexedEntry.id);
+        entriesById.put(newId, entry);
+        indexedEntry.id = newId;
+    }
+
+    private void add(BibEntry entry) {
+        indexedEntries.put(entry, new IndexedEntry(entry.getId(), entry.getCiteKey()));
+        entriesById.put(entry.getId(), entry);
+        addToKey(entry.getCiteKey(), entry);
+        entry.registerListener(entryListener);
+    }
+
+    private void addToKey(String key, BibEntry entry) {
+        if (key == null) {
+            return;
+        }
+        List<BibEntry> entries = new ArrayList<>(entriesByKey.getOrDefault(key, Collections.emptyList()));
+        entries.add(entry);
+        entriesByKey.put(key, Collections.unmodifiableList(entries));
+    }
+
+    private void removeFromKey(String key, BibEntry entry) {
+        if (key == null) {
+            return;
+        }
+        List<BibEntry> entries = new ArrayList<>(entriesByKey.getOrDefault(key, Collections.emptyList()));
+        entries.removeIf(indexed -> indexed == entry);
+        if (entries.isEmpty()) {
+            entriesByKey.remove(key);
+        } else {
+            entriesByKey.put(key, Collections.unmodifiableList(entries));
+        }
+    }
+
+
+    private static class IndexedEntry {
+
+        private String id;
+        private String key;
+
+
+        IndexedEntry(String id, String key) {
+            this.id = id;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Passes the key and id changes of the indexed entries on to the index as long as it exists, and unregisters
+     * itself from the entries afterwards.
+     */
+    private static class EntryListener {
+
+        private final WeakReference<CiteKeyIndex> index;
+
+
+        EntryListener(CiteKeyIndex index) {
+            this.index = new WeakReference<>(index);
+        }
+
+        @Subscribe
+        public void listen(FieldChangedEvent fieldChangedEvent) {
+            CiteKeyIndex citeKeyIndex = index.get();
+            if (citeKeyIndex == null) {
+                fieldChangedEvent.getBibEntry().unregisterListener(this);
+            } else if (BibEntry.KEY_FIELD.equals(fieldChangedEvent.getFieldName())) {
+                citeKeyIndex.changeKey(fieldChangedEvent.getBibEntry(), fieldChangedEvent.getNewValue());
+            } else if (BibEntry.ID_FIELD.equals(fieldChangedEvent.getFieldName())) {
+                citeKeyIndex.changeId(fieldChangedEvent.getBibEntry(), fieldChangedEvent.getNewValue());
+            }
+        }
+    }
+}
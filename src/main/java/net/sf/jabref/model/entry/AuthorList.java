@@ -18,9 +18,13 @@ package net.sf.jabref.model.entry;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE>
  * or <CODE>editor</CODE> field in bibtex record.
@@ -132,7 +136,8 @@ public class AuthorList {
 
     private final List<Author> authors;
 
-    // Variables for storing computed strings, so they only need to be created once:
+    // Variables for storing computed strings, so they only need to be created once.
+    // Instances are shared between threads: a string computed concurrently is merely computed twice.
     private String authorsNatbib;
     private String authorsFirstFirstAnds;
     private String authorsAlph;
@@ -143,7 +148,18 @@ public class AuthorList {
     private final String[] authorsLastFirst = new String[4];
     private final String[] authorsLastFirstFirstLast = new String[2];
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    // number of parsed author strings kept, the least recently used ones are dropped first
+    private static final int MAXIMUM_CACHE_SIZE = 20000;
+
+    // The cached lists also keep their formatted forms, as these are computed once per instance
+    private static final LoadingCache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHE_SIZE).recordStats().build(new CacheLoader<String, AuthorList>() {
+
+                @Override
+                public AuthorList load(String authors) {
+                    return new AuthorListParser().parse(authors);
+                }
+            });
 
     /**
      * Creates a new list of authors.
@@ -164,7 +180,7 @@ public class AuthorList {
     /**
      * Retrieve an AuthorList for the given string of authors or editors.
      * <p>
-     * This function tries to cache the parsed AuthorLists by the string passed in.
+     * This function caches the parsed AuthorLists by the string passed in. It may be called from any thread.
      *
      * @param authors The string of authors or editors in bibtex format to parse.
      * @return An AuthorList object representing the given authors.
@@ -172,13 +188,14 @@ public class AuthorList {
     public static AuthorList parse(String authors) {
         Objects.requireNonNull(authors);
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
-        }
-        return authorList;
+        return AUTHOR_CACHE.getUnchecked(authors);
+    }
+
+    /**
+     * Returns the hit and miss counts of the cache used by {@link #parse(String)}, counted since the start.
+     */
+    public static CacheStats getCacheStatistics() {
+        return AUTHOR_CACHE.stats();
     }
 
     /**
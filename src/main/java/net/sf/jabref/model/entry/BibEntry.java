@@ -45,17 +45,13 @@ public class BibEntry implements Cloneable {
 
     public static final String TYPE_HEADER = "entrytype";
     public static final String KEY_FIELD = "bibtexkey";
-    protected static final String ID_FIELD = "id";
+    public static final String ID_FIELD = "id";
     public static final String DEFAULT_TYPE = "misc";
 
     private String id;
     private String type;
     private Map<String, String> fields = new HashMap<>();
 
-    // Search and grouping status is stored in boolean fields for quick reference:
-    private boolean searchHit;
-    private boolean groupHit;
-
     private String parsedSerialization;
 
     /*
@@ -65,6 +61,9 @@ public class BibEntry implements Cloneable {
      */
     private boolean changed;
 
+    // incremented on every change of the type or a field, also on changes which do not post an event
+    private volatile int modificationCount;
+
 
     private final EventBus eventBus = new EventBus();
 
@@ -131,6 +130,23 @@ public class BibEntry implements Cloneable {
         setField(KEY_FIELD, newCiteKey);
     }
 
+    /**
+     * Sets or removes the cite key without notifying the listeners of this entry. This is meant for changing the keys
+     * of many entries at once, after which a single {@link net.sf.jabref.event.EntriesChangedEvent} is posted by the
+     * database instead, see {@link BibDatabase#setCiteKeysForEntries(List, List)}.
+     *
+     * @param newCiteKey The cite key to set, null or empty to remove it.
+     */
+    public void setCiteKeyWithoutEvent(String newCiteKey) {
+        changed = true;
+        if (Strings.isNullOrEmpty(newCiteKey)) {
+            fields.remove(KEY_FIELD);
+        } else {
+            fields.put(KEY_FIELD, newCiteKey);
+        }
+        modificationCount++;
+    }
+
     /**
      * Returns the cite key AKA citation key AKA BibTeX key, or null if it is not set.
      *
@@ -167,6 +183,7 @@ public class BibEntry implements Cloneable {
         // sets off a change in database sorting etc.
         this.type = newType.toLowerCase(Locale.ENGLISH);
         changed = true;
+        modificationCount++;
         eventBus.post(new FieldChangedEvent(this, TYPE_HEADER, newType));
     }
 
@@ -355,6 +372,7 @@ public class BibEntry implements Cloneable {
         changed = true;
 
         fields.put(fieldName, value);
+        modificationCount++;
         eventBus.post(new FieldChangedEvent(this, fieldName, value));
     }
 
@@ -373,6 +391,7 @@ public class BibEntry implements Cloneable {
             throw new IllegalArgumentException("The field name '" + name + "' is reserved");
         }
         fields.remove(fieldName);
+        modificationCount++;
         eventBus.post(new FieldChangedEvent(this, fieldName, null));
     }
 
@@ -440,22 +459,6 @@ public class BibEntry implements Cloneable {
         return CanonicalBibtexEntry.getCanonicalRepresentation(this);
     }
 
-    public boolean isSearchHit() {
-        return searchHit;
-    }
-
-    public void setSearchHit(boolean searchHit) {
-        this.searchHit = searchHit;
-    }
-
-    public boolean isGroupHit() {
-        return groupHit;
-    }
-
-    public void setGroupHit(boolean groupHit) {
-        this.groupHit = groupHit;
-    }
-
     /**
      * @param maxCharacters The maximum number of characters (additional
      *                      characters are replaced with "..."). Set to 0 to disable truncation.
@@ -512,6 +515,15 @@ public class BibEntry implements Cloneable {
         this.changed = changed;
     }
 
+    /**
+     * Returns a number which changes whenever the type or a field of this entry changes, including the changes
+     * which do not notify the listeners. Caches of values derived from the fields may use it to detect outdated
+     * values.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     public void putKeywords(List<String> keywords) {
         Objects.requireNonNull(keywords);
         // Set Keyword Field
@@ -0,0 +1,119 @@
+package net.sf.jabref.bibtex.comparator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FieldComparatorTest {
+
+    private BibEntry smith;
+    private BibEntry adams;
+    private BibEntry empty;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        smith = new BibEntry();
+        smith.setType("article");
+        smith.setField("author", "Zoe Smith");
+        smith.setField("year", "2001");
+        smith.setField("title", "b title");
+        smith.setField("month", "mar");
+
+        adams = new BibEntry();
+        adams.setType("book");
+        adams.setField("author", "Adam Adams");
+        adams.setField("year", "1999");
+        adams.setField("title", "A Title");
+        adams.setField("month", "dec");
+
+        empty = new BibEntry();
+    }
+
+    @Test
+    public void authorsAreSortedByLastName() {
+        FieldComparator comparator = new FieldComparator("author");
+        assertTrue(comparator.compare(adams, smith) < 0);
+        assertTrue(comparator.compare(smith, adams) > 0);
+        assertEquals(0, comparator.compare(smith, smith));
+    }
+
+    @Test
+    public void textIsComparedIgnoringCase() {
+        FieldComparator comparator = new FieldComparator("title");
+        assertTrue(comparator.compare(adams, smith) < 0);
+        assertTrue(new FieldComparator("title", true).compare(adams, smith) > 0);
+    }
+
+    @Test
+    public void yearsAndMonthsAreComparedAsNumbers() {
+        assertTrue(new FieldComparator("year").compare(adams, smith) < 0);
+        // months are sorted descending by default
+        assertTrue(new FieldComparator("month").compare(adams, smith) < 0);
+        assertTrue(new FieldComparator("month", true).compare(adams, smith) > 0);
+    }
+
+    @Test
+    public void entriesWithoutFieldAreSortedLast() {
+        FieldComparator comparator = new FieldComparator("author");
+        assertEquals(1, comparator.compare(empty, smith));
+        assertEquals(-1, comparator.compare(smith, empty));
+        assertEquals(0, comparator.compare(empty, new BibEntry()));
+    }
+
+    @Test
+    public void alternativeFieldIsUsedIfFirstIsMissing() {
+        adams.clearField("author");
+        adams.setField("editor", "Aaron Aaronson");
+        assertTrue(new FieldComparator("author/editor").compare(adams, smith) < 0);
+    }
+
+    @Test
+    public void entriesAreSortedByType() {
+        assertTrue(new FieldComparator(BibEntry.TYPE_HEADER).compare(smith, adams) < 0);
+    }
+
+    @Test
+    public void changedFieldIsSortedByNewValue() {
+        FieldComparator comparator = new FieldComparator("author");
+        assertTrue(comparator.compare(adams, smith) < 0);
+
+        adams.setField("author", "Adam Zywiec");
+        assertTrue(comparator.compare(adams, smith) > 0);
+
+        adams.clearField("author");
+        assertEquals(1, comparator.compare(adams, smith));
+    }
+
+    @Test
+    public void keySetWithoutEventIsSortedByNewValue() {
+        adams.setCiteKey("a");
+        smith.setCiteKey("b");
+        FieldComparator comparator = new FieldComparator(BibEntry.KEY_FIELD);
+        assertTrue(comparator.compare(adams, smith) < 0);
+
+        adams.setCiteKeyWithoutEvent("c");
+        assertTrue(comparator.compare(adams, smith) > 0);
+    }
+
+    @Test
+    public void comparatorStackUsesNextComparatorOnEqualKeys() {
+        smith.setField("year", "1999");
+        List<BibEntry> entries = Arrays.asList(smith, empty, adams);
+        Collections.sort(entries, new FieldComparatorStack<>(
+                Arrays.asList(new FieldComparator("year"), new FieldComparator("author"))));
+        assertEquals(Arrays.asList(adams, smith, empty), entries);
+    }
+}
@@ -1,5 +1,8 @@
 package net.sf.jabref.event;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 import com.google.common.eventbus.Subscribe;
@@ -7,6 +10,7 @@ import com.google.common.eventbus.Subscribe;
 public class TestEventListener {
 
     private BibEntry bibEntry;
+    private final List<List<BibEntry>> changedEntries = new ArrayList<>();
 
 
     @Subscribe
@@ -24,8 +28,17 @@ public class TestEventListener {
         this.bibEntry = event.getBibEntry();
     }
 
+    @Subscribe
+    public void listen(EntriesChangedEvent event) {
+        this.changedEntries.add(event.getBibEntries());
+    }
+
     public BibEntry getBibEntry() {
         return this.bibEntry;
     }
 
+    public List<List<BibEntry>> getChangedEntries() {
+        return this.changedEntries;
+    }
+
 }
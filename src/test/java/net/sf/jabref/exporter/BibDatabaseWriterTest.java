@@ -132,6 +132,17 @@ public class BibDatabaseWriterTest {
                 + Globals.NEWLINE, stringWriter.toString());
     }
 
+    @Test(expected = IOException.class)
+    public void writeEntryWithInvalidYearThrowsException() throws IOException {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("year", "unknown");
+        database.insertEntry(entry);
+
+        databaseWriter.writePartOfDatabase(stringWriter, bibtexContext, Collections.singletonList(entry),
+                new SavePreferences());
+    }
+
     @Test
     public void writeEncodingAndEntry() throws IOException {
         SavePreferences preferences = new SavePreferences().withEncoding(Charsets.US_ASCII);
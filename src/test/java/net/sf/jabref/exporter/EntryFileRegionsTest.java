@@ -0,0 +1,144 @@
+package net.sf.jabref.exporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import net.sf.jabref.BibDatabaseContext;
+import net.sf.jabref.Defaults;
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.importer.ImportFormatReader;
+import net.sf.jabref.importer.ParserResult;
+import net.sf.jabref.importer.fileformat.BibtexParser;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class EntryFileRegionsTest {
+
+    private static final Charset ENCODING = StandardCharsets.UTF_8;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private File file;
+    private BibDatabaseContext context;
+    private SavePreferences preferences;
+
+
+    @BeforeClass
+    public static void setUpClass() {
+        Globals.prefs = JabRefPreferences.getInstance();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = testFolder.newFile("incremental.bib");
+        Files.copy(Paths.get("src/test/resources/testbib/complex.bib"), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        ParserResult result = BibtexParser.parse(ImportFormatReader.getReader(file, ENCODING));
+        context = new BibDatabaseContext(result.getDatabase(), result.getMetaData(), file,
+                new Defaults(BibDatabaseMode.BIBTEX));
+        preferences = new SavePreferences().withEncoding(ENCODING).withSaveInOriginalOrder(true);
+    }
+
+    @Test
+    public void saveOfUnchangedDatabaseWritesSameAsCompleteWrite() throws Exception {
+        String expected = writeCompletely();
+        save();
+        assertEquals(expected, read(file));
+    }
+
+    @Test
+    public void saveWritesChangedEntries() throws Exception {
+        context.getDatabase().getEntries().get(3).setField("title", "Ünïcode in a changed entry");
+        String expected = writeCompletely();
+
+        save();
+
+        assertEquals(expected, read(file));
+    }
+
+    @Test
+    public void repeatedSavesUseRecordedRegions() throws Exception {
+        context.getDatabase().getEntries().get(0).setField("title", "First change with ümlauts");
+        save();
+        BibEntry newEntry = new BibEntry();
+        newEntry.setType("article");
+        newEntry.setField("author", "Änother Author");
+        context.getDatabase().insertEntry(newEntry);
+        context.getDatabase().getEntries().get(5).setField("year", "2016");
+        String expected = writeCompletely();
+
+        save();
+
+        assertEquals(expected, read(file));
+    }
+
+    @Test
+    public void regionsAreFoundAgainAfterFileChanged() throws Exception {
+        save();
+        String changed = "% external comment" + Globals.NEWLINE + read(file);
+        Files.write(file.toPath(), changed.getBytes(ENCODING));
+        context.getDatabase().getEntries().get(2).setField("note", "changed");
+        String expected = writeCompletely();
+
+        save();
+
+        assertEquals(expected, read(file));
+    }
+
+    @Test
+    public void regionsAreFoundAgainAfterFileChangedWithSameLengthAndTime() throws Exception {
+        save();
+        long lastModified = file.lastModified();
+        String changed = read(file).replaceFirst("title", "TITLE");
+        Files.write(file.toPath(), changed.getBytes(ENCODING));
+        file.setLastModified(lastModified);
+        String expected = writeCompletely();
+
+        save();
+
+        assertEquals(expected, read(file));
+    }
+
+    @Test
+    public void regionsHoldSerializationsOfUnchangedEntries() throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        EntryFileRegions regions = EntryFileRegions.find(context.getDatabase(), file, ENCODING).get();
+        for (BibEntry entry : context.getDatabase().getEntries()) {
+            EntryFileRegions.Region region = regions.get(entry);
+            assertEquals(entry.getParsedSerialization(), new String(bytes, (int) region.getStart(),
+                    (int) (region.getEnd() - region.getStart()), ENCODING));
+        }
+    }
+
+    private void save() throws Exception {
+        SaveSession session = new BibDatabaseWriter().saveDatabase(context, preferences);
+        session.commit(file);
+    }
+
+    private String writeCompletely() throws IOException {
+        StringWriter writer = new StringWriter();
+        new BibDatabaseWriter().writePartOfDatabase(writer, context, context.getDatabase().getEntries(),
+                preferences);
+        return writer.toString();
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), ENCODING);
+    }
+}
@@ -0,0 +1,121 @@
+package net.sf.jabref.exporter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.bibtex.BibEntryWriter;
+import net.sf.jabref.event.TestEventListener;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class EntryFormattingPipelineTest {
+
+    @BeforeClass
+    public static void setUpClass() {
+        Globals.prefs = JabRefPreferences.getInstance();
+    }
+
+    @Test
+    public void entriesArePassedInOrderAsFormattedSequentially() throws IOException {
+        List<BibEntry> entries = createEntries(1000);
+        BibEntryWriter entryWriter = new BibEntryWriter(new LatexFieldFormatter(), true);
+        List<String> expected = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            StringWriter writer = new StringWriter();
+            entryWriter.write(entry, writer, BibDatabaseMode.BIBTEX, false);
+            expected.add(writer.toString());
+        }
+
+        List<BibEntry> writtenEntries = new ArrayList<>();
+        List<String> written = new ArrayList<>();
+        new EntryFormattingPipeline<>(entries, EntryFormattingPipelineTest::createFormatter).writeTo((entry, formatted) -> {
+            writtenEntries.add(entry);
+            written.add(formatted);
+        });
+
+        assertEquals(entries, writtenEntries);
+        assertEquals(expected, written);
+    }
+
+    @Test
+    public void entriesWithoutFormattingArePassedAsNull() throws IOException {
+        List<BibEntry> entries = createEntries(3);
+        List<String> written = new ArrayList<>();
+
+        new EntryFormattingPipeline<>(entries, () -> (entry, index) -> index == 1 ? null : entry.getCiteKey())
+                .writeTo((writtenEntry, formatted) -> written.add(formatted));
+
+        assertEquals(Arrays.asList("key0", null, "key2"), written);
+    }
+
+    @Test
+    public void formatterGetsIndexOfEntry() throws IOException {
+        List<BibEntry> entries = createEntries(1000);
+        List<String> written = new ArrayList<>();
+
+        new EntryFormattingPipeline<>(entries, () -> (entry, index) -> String.valueOf(index))
+                .writeTo((entry, formatted) -> written.add(formatted));
+
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(String.valueOf(i), written.get(i));
+        }
+    }
+
+    @Test
+    public void formattingErrorIsThrownAfterPreviousEntriesAreWritten() throws IOException {
+        List<BibEntry> entries = createEntries(600);
+        entries.get(400).setField("title", "unbalanced {braces");
+        List<BibEntry> writtenEntries = new ArrayList<>();
+
+        try {
+            new EntryFormattingPipeline<>(entries, EntryFormattingPipelineTest::createFormatter)
+                    .writeTo((entry, formatted) -> writtenEntries.add(entry));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(entries.subList(0, 400), writtenEntries);
+        }
+    }
+
+    @Test
+    public void formattingDoesNotChangeEntries() throws IOException {
+        List<BibEntry> entries = createEntries(600);
+        entries.get(100).setCiteKey("1illegal key");
+        TestEventListener listener = new TestEventListener();
+        entries.forEach(entry -> entry.registerListener(listener));
+
+        new EntryFormattingPipeline<>(entries, EntryFormattingPipelineTest::createFormatter)
+                .writeTo((entry, formatted) -> assertNull(listener.getBibEntry()));
+
+        assertEquals("1illegal key", entries.get(100).getCiteKey());
+    }
+
+    private static EntryFormattingPipeline.EntryFormatter<String> createFormatter() {
+        BibEntryWriter entryWriter = new BibEntryWriter(new LatexFieldFormatter(), true);
+        return (entry, index) -> entryWriter.format(entry, BibDatabaseMode.BIBTEX).getText();
+    }
+
+    private static List<BibEntry> createEntries(int count) {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setType("article");
+            entry.setCiteKey("key" + i);
+            entry.setField("author", "Author " + i);
+            entry.setField("title", "Title " + i);
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
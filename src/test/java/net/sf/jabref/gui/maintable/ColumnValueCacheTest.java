@@ -0,0 +1,71 @@
+package net.sf.jabref.gui.maintable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexString;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ColumnValueCacheTest {
+
+    private BibDatabase database;
+    private BibEntry entry;
+    private ColumnValueCache cache;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        database = new BibDatabase();
+        entry = new BibEntry();
+        entry.setField("title", "{\\\"O}ber Graphs");
+        entry.setField("author", "#anna#");
+        database.insertEntry(entry);
+        database.addString(new BibtexString("1", "anna", "Anna Smith"));
+        cache = new ColumnValueCache(Arrays.asList(new MainTableColumn("title", Collections.singletonList("title"),
+                database), new MainTableColumn("Author", Collections.singletonList("author"), database),
+                new MainTableColumn("bibtexkey", Collections.singletonList("bibtexkey"), database)), database);
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void valuesAreKeptUntilFieldChanges() {
+        Object value = cache.getValue(entry, 0);
+        assertEquals("Öber Graphs", value);
+        assertSame(value, cache.getValue(entry, 0));
+
+        entry.setField("title", "Trees");
+        assertEquals("Trees", cache.getValue(entry, 0));
+    }
+
+    @Test
+    public void valuesAreDroppedWhenKeysAreSetTogether() {
+        assertNull(cache.getValue(entry, 2));
+
+        database.setCiteKeysForEntries(Collections.singletonList(entry), Collections.singletonList("Smith2016"));
+        assertEquals("Smith2016", cache.getValue(entry, 2));
+    }
+
+    @Test
+    public void valuesReferencingStringsFollowChangesOfStrings() {
+        assertEquals(MainTableNameFormatter.formatName("Anna Smith"), cache.getValue(entry, 1));
+
+        database.getString("1").setContent("Bob Jones");
+        assertEquals(MainTableNameFormatter.formatName("Bob Jones"), cache.getValue(entry, 1));
+    }
+}
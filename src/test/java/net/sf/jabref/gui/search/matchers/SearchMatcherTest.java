@@ -0,0 +1,27 @@
+package net.sf.jabref.gui.search.matchers;
+
+import java.util.Collections;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SearchMatcherTest {
+
+    @Test
+    public void matchesOnlyTheHitsThemselves() {
+        BibEntry hit = new BibEntry();
+        hit.setField("title", "Graphs");
+        BibEntry equalEntry = new BibEntry();
+        equalEntry.setField("title", "Graphs");
+
+        SearchMatcher matcher = new SearchMatcher(Collections.singletonList(hit));
+
+        assertTrue(matcher.matches(hit));
+        assertFalse(matcher.matches(equalEntry));
+        assertFalse(SearchMatcher.NO_HITS.matches(hit));
+    }
+}
@@ -1229,6 +1229,18 @@ public class BibtexParserTest {
         assertEquals(testEntry, e.getParsedSerialization());
     }
 
+    @Test
+    public void parseSavesEntryWithMissingCommaAfterKeyVerbatimInParsedSerialization() throws IOException {
+        String testEntry = "@article{test author = {Ed von Test}}";
+        ParserResult result = BibtexParser.parse(new StringReader(testEntry));
+        Collection<BibEntry> c = result.getDatabase().getEntries();
+        assertEquals(1, c.size());
+
+        BibEntry e = c.iterator().next();
+        assertEquals(Optional.of("Ed von Test"), e.getFieldOptional("author"));
+        assertEquals(testEntry, e.getParsedSerialization());
+    }
+
     @Test
     public void parseSavesOneNewlineAfterEntryInParsedSerialization() throws IOException {
         String testEntry = "@article{test,author={Ed von Test}}";
@@ -1486,4 +1498,72 @@ public class BibtexParserTest {
 
         assertEquals(expected, result.getDatabase().getEntries());
     }
+
+    /**
+     * Creates a database large enough to be split into several chunks by {@link BibtexParser#parseInParallel()}
+     */
+    private static String createLargeDatabase(String brokenEntry) {
+        StringBuilder database = new StringBuilder("% This file was created with JabRef" + Globals.NEWLINE
+                + "@preamble{some preamble}" + Globals.NEWLINE + Globals.NEWLINE);
+        for (int i = 0; i < 5000; i++) {
+            database.append(Globals.NEWLINE).append("@article{key").append(i % 4000).append(',').append(Globals.NEWLINE)
+                    .append("  author = {Firstname Lastname").append(i).append("},").append(Globals.NEWLINE)
+                    .append("  title = {A {Braced} Title ").append(i).append('}').append(Globals.NEWLINE)
+                    .append('}').append(Globals.NEWLINE);
+            if ((i % 1000) == 0) {
+                database.append("@string{name = {String ").append(i).append("}}").append(Globals.NEWLINE);
+                database.append("@article{white space").append(i).append(", title = {Title}}").append(Globals.NEWLINE);
+                database.append("@comment{jabref-meta: keypattern_article:[auth][year").append(i).append("];}")
+                        .append(Globals.NEWLINE);
+            }
+            if (i == 2500) {
+                database.append(brokenEntry);
+            }
+        }
+        database.append("@comment{jabref-meta: databaseType:biblatex;}");
+        return database.toString();
+    }
+
+    private static void assertSameParserResult(ParserResult expected, ParserResult actual) {
+        List<BibEntry> expectedEntries = expected.getDatabase().getEntries();
+        List<BibEntry> actualEntries = actual.getDatabase().getEntries();
+        assertEquals(expectedEntries, actualEntries);
+        for (int i = 0; i < expectedEntries.size(); i++) {
+            assertEquals(expectedEntries.get(i).getParsedSerialization(), actualEntries.get(i).getParsedSerialization());
+        }
+        assertEquals(expected.getDatabase().getStringCount(), actual.getDatabase().getStringCount());
+        assertEquals(expected.getDatabase().getStringValues().iterator().next().getContent(),
+                actual.getDatabase().getStringValues().iterator().next().getContent());
+        assertEquals(expected.getDatabase().getPreamble(), actual.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getEpilog(), actual.getDatabase().getEpilog());
+        assertEquals(expected.warnings(), actual.warnings());
+        assertEquals(Arrays.asList(expected.getDuplicateKeys()), Arrays.asList(actual.getDuplicateKeys()));
+        assertEquals(expected.getMetaData().getData("keypattern_article"),
+                actual.getMetaData().getData("keypattern_article"));
+        assertEquals(expected.getMetaData().getMode(), actual.getMetaData().getMode());
+    }
+
+    @Test
+    public void parseInParallelReturnsSameResultAsParse() throws IOException {
+        String database = createLargeDatabase("");
+
+        ParserResult expected = BibtexParser.parse(new StringReader(database));
+        ParserResult actual = new BibtexParser(new StringReader(database)).parseInParallel();
+
+        assertEquals(5005, actual.getDatabase().getEntryCount());
+        assertEquals(1000, actual.getDuplicateKeys().length);
+        assertTrue(actual.warnings().contains("Duplicate string name: name"));
+        assertTrue(actual.warnings().contains("Line 15019: Found corrupted BibTeX key (contains whitespaces)."));
+        assertSameParserResult(expected, actual);
+    }
+
+    @Test
+    public void parseInParallelReturnsSameResultAsParseForBrokenEntry() throws IOException {
+        String database = createLargeDatabase("@article{broken, title = {missing brace}" + Globals.NEWLINE);
+
+        ParserResult expected = BibtexParser.parse(new StringReader(database));
+        ParserResult actual = new BibtexParser(new StringReader(database)).parseInParallel();
+
+        assertSameParserResult(expected, actual);
+    }
 }
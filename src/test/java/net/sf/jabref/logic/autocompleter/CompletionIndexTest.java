@@ -0,0 +1,61 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompletionIndexTest {
+
+    private CompletionIndex index;
+
+
+    @Before
+    public void setUp() {
+        index = new CompletionIndex();
+    }
+
+    @Test
+    public void completeReturnsWordsWithPrefixAlphabetically() {
+        index.add("testValue");
+        index.add("tester");
+        index.add("test");
+        index.add("other");
+        Assert.assertEquals(Arrays.asList("test", "tester", "testValue"), index.complete("test", 10, word -> true));
+    }
+
+    @Test
+    public void completeFindsPrefixEndingInsideEdge() {
+        index.add("testValueOne");
+        index.add("testValueTwo");
+        Assert.assertEquals(Arrays.asList("testValueOne", "testValueTwo"), index.complete("te", 10, word -> true));
+        Assert.assertEquals(Collections.singletonList("testValueTwo"), index.complete("testvaluet", 10, word -> true));
+        Assert.assertEquals(Collections.emptyList(), index.complete("testvaluex", 10, word -> true));
+        Assert.assertEquals(Collections.emptyList(), index.complete("testvalueonex", 10, word -> true));
+        Assert.assertEquals(Collections.emptyList(), index.complete("", 10, word -> true));
+    }
+
+    @Test
+    public void completeReturnsMostFrequentWordsFirst() {
+        index.add("alpha");
+        index.add("alpine");
+        index.add("alpine");
+        index.add("alps");
+        index.add("alps");
+        index.add("alps");
+        index.add("also");
+        Assert.assertEquals(Arrays.asList("alps", "alpine"), index.complete("al", 2, word -> true));
+        Assert.assertEquals(Arrays.asList("alps", "alpine", "alpha", "also"), index.complete("al", 10, word -> true));
+    }
+
+    @Test
+    public void completeKeepsCaseVariantsOfWord() {
+        index.add("Value");
+        index.add("value");
+        index.add("value");
+        Assert.assertEquals(Arrays.asList("value", "Value"), index.complete("val", 10, word -> true));
+        Assert.assertEquals(Collections.singletonList("Value"), index.complete("val", 10, word -> word.startsWith("Va")));
+    }
+}
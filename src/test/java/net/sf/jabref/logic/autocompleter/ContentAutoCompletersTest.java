@@ -0,0 +1,49 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Collections;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.MetaData;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ContentAutoCompletersTest {
+
+    private JabRefPreferences preferences;
+    private BibDatabase database;
+
+
+    @Before
+    public void setUp() {
+        preferences = JabRefPreferences.getInstance();
+        Globals.prefs = preferences;
+        database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "Incremental Indexing");
+        database.insertEntry(entry);
+    }
+
+    @Test
+    public void completersAreFilledWithDatabaseInBackground() throws InterruptedException {
+        ContentAutoCompleters autoCompleters = new ContentAutoCompleters(database, new MetaData(),
+                new AutoCompletePreferences(preferences), new JournalAbbreviationLoader(preferences));
+        autoCompleters.waitUntilFilled();
+
+        Assert.assertTrue(autoCompleters.isFilled());
+        Assert.assertEquals(Collections.singletonList("Incremental"), autoCompleters.get("title").complete("Incr"));
+    }
+
+    @Test
+    public void emptyCompletersAreFilled() {
+        ContentAutoCompleters autoCompleters = new ContentAutoCompleters(new JournalAbbreviationLoader(preferences));
+
+        Assert.assertTrue(autoCompleters.isFilled());
+        Assert.assertNull(autoCompleters.get("title"));
+    }
+}
@@ -0,0 +1,118 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.jabref.importer.fileformat.ParseException;
+import net.sf.jabref.logic.util.CompressedBitSet;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibEntry entry;
+    private KeywordGroup group;
+
+
+    @Before
+    public void setUp() throws ParseException {
+        database = new BibDatabase();
+        entry = createEntry("graphs, trees");
+        database.insertEntry(entry);
+        database.insertEntry(createEntry("trees"));
+        group = new KeywordGroup("graphs", "keywords", "graphs", false, false, GroupHierarchyType.INDEPENDENT);
+    }
+
+    @Test
+    public void numberOfEntriesIsDeterminedInBackground() throws InterruptedException {
+        assertEquals(Optional.of(1), countEntries(group));
+    }
+
+    @Test
+    public void numberOfEntriesFollowsChangesOfEntries() throws InterruptedException {
+        countEntries(group);
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+
+        database.insertEntry(createEntry("graphs"));
+        assertEquals(Optional.of(2), index.getNumberOfEntries(group, () -> {}));
+
+        entry.setField("keywords", "trees");
+        assertEquals(Optional.of(1), index.getNumberOfEntries(group, () -> {}));
+
+        entry.setField("keywords", "graphs");
+        database.removeEntry(entry);
+        assertEquals(Optional.of(1), index.getNumberOfEntries(group, () -> {}));
+    }
+
+    @Test
+    public void matchingEntriesAreFoundForSelection() throws ParseException {
+        GroupTreeNode node = new GroupTreeNode(group);
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+
+        CompressedBitSet matchingEntries = index.getMatchingEntries(node);
+
+        assertEquals(1, matchingEntries.cardinality());
+        assertTrue(index.contains(matchingEntries, entry));
+        assertFalse(index.contains(matchingEntries, database.getEntries().get(1)));
+        assertFalse(index.contains(matchingEntries, createEntry("graphs")));
+    }
+
+    @Test
+    public void entriesOfMatchingEntriesAreStillInDatabase() throws ParseException {
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+        BibEntry other = createEntry("graphs");
+        database.insertEntry(other);
+        CompressedBitSet matchingEntries = index.getMatchingEntries(new GroupTreeNode(group));
+
+        database.removeEntry(entry);
+
+        assertEquals(Collections.singletonList(other), index.getEntries(matchingEntries));
+    }
+
+    @Test
+    public void entryAddedAfterRemovalIsNotContainedInGroupsOfRemovedEntry()
+            throws InterruptedException, ParseException {
+        countEntries(group);
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+        database.removeEntry(entry);
+        BibEntry added = createEntry("trees");
+        database.insertEntry(added);
+
+        assertEquals(Optional.of(0), index.getNumberOfEntries(group, () -> {}));
+        assertFalse(index.contains(index.getMatchingEntries(new GroupTreeNode(group)), added));
+    }
+
+    @Test
+    public void entryRemovedByOtherInstanceWithSameIdIsRemoved() throws InterruptedException {
+        countEntries(group);
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+
+        database.removeEntry((BibEntry) entry.clone());
+
+        assertEquals(Optional.of(0), index.getNumberOfEntries(group, () -> {}));
+    }
+
+    private Optional<Integer> countEntries(AbstractGroup countedGroup) throws InterruptedException {
+        GroupMembershipIndex index = GroupMembershipIndex.getIndex(database);
+        CountDownLatch known = new CountDownLatch(1);
+        assertFalse(index.getNumberOfEntries(countedGroup, known::countDown).isPresent());
+        assertTrue(known.await(10, TimeUnit.SECONDS));
+        return index.getNumberOfEntries(countedGroup, () -> {});
+    }
+
+    private static BibEntry createEntry(String keywords) {
+        BibEntry entry = new BibEntry();
+        entry.setField("keywords", keywords);
+        return entry;
+    }
+}
@@ -1,11 +1,14 @@
 package net.sf.jabref.logic.groups;
 
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import net.sf.jabref.importer.fileformat.ParseException;
 import net.sf.jabref.logic.search.matchers.AndMatcher;
 import net.sf.jabref.logic.search.matchers.OrMatcher;
+import net.sf.jabref.logic.util.CompressedBitSet;
 
 import org.junit.Test;
 
@@ -174,4 +177,35 @@ public class GroupTreeNodeTest {
         matcher.addRule(child.getGroup());
         assertEquals(matcher, node.getSearchRule());
     }
+
+    @Test
+    public void getMatchingEntriesForRefiningGroupIntersectsParent() throws ParseException {
+        GroupTreeNode parent = new GroupTreeNode(new ExplicitGroup("parent", GroupHierarchyType.INDEPENDENT));
+        GroupTreeNode node = parent.addSubgroup(new ExplicitGroup("node", GroupHierarchyType.REFINING));
+        Map<AbstractGroup, CompressedBitSet> members = new IdentityHashMap<>();
+        members.put(parent.getGroup(), createBitSet(1, 2, 3));
+        members.put(node.getGroup(), createBitSet(2, 3, 4));
+
+        assertEquals(createBitSet(2, 3), node.getMatchingEntries(group -> members.get(group).copy()));
+    }
+
+    @Test
+    public void getMatchingEntriesForIncludingGroupUnitesSubgroups() throws ParseException {
+        GroupTreeNode node = new GroupTreeNode(new ExplicitGroup("node", GroupHierarchyType.INCLUDING));
+        GroupTreeNode child = node.addSubgroup(new ExplicitGroup("child", GroupHierarchyType.INDEPENDENT));
+        Map<AbstractGroup, CompressedBitSet> members = new IdentityHashMap<>();
+        members.put(node.getGroup(), createBitSet(1));
+        members.put(child.getGroup(), createBitSet(70000));
+
+        assertEquals(createBitSet(1, 70000), node.getMatchingEntries(group -> members.get(group).copy()));
+        assertEquals(createBitSet(1), members.get(node.getGroup()));
+    }
+
+    private static CompressedBitSet createBitSet(int... values) {
+        CompressedBitSet bitSet = new CompressedBitSet();
+        for (int value : values) {
+            bitSet.set(value);
+        }
+        return bitSet;
+    }
 }
@@ -0,0 +1,73 @@
+package net.sf.jabref.logic.groups;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import net.sf.jabref.importer.fileformat.ParseException;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GroupsMatcherTest {
+
+    private List<AbstractGroup> groups;
+
+
+    @Before
+    public void setUp() throws ParseException {
+        groups = Arrays.asList(
+                new KeywordGroup("he", "keywords", "he", false, false, GroupHierarchyType.INDEPENDENT),
+                new KeywordGroup("she", "keywords", "she", false, false, GroupHierarchyType.INDEPENDENT),
+                new KeywordGroup("hers", "keywords", "HERS", true, false, GroupHierarchyType.INDEPENDENT),
+                new KeywordGroup("title", "title", "graph", false, false, GroupHierarchyType.INDEPENDENT),
+                new KeywordGroup("regex", "keywords", "s?he", false, true, GroupHierarchyType.INDEPENDENT),
+                new ExplicitGroup("Reading", GroupHierarchyType.INDEPENDENT),
+                new AllEntriesGroup());
+    }
+
+    @Test
+    public void findsSameGroupsAsContains() {
+        assertSameGroups(createEntry("she, hers", "Graphs", "reading"));
+        assertSameGroups(createEntry("sheHERS, HERS", "A graph", "Reading, Writing"));
+        assertSameGroups(createEntry("ushers", "graph-theory", null));
+        assertSameGroups(createEntry("He", null, "Reading2"));
+        assertSameGroups(createEntry(null, null, null));
+    }
+
+    @Test
+    public void findsWholeWordsOnly() {
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(4);
+        expected.set(6);
+        assertEquals(expected, new GroupsMatcher(groups).findContainingGroups(createEntry("ushers, she", null, null)));
+    }
+
+    private void assertSameGroups(BibEntry entry) {
+        BitSet expected = new BitSet();
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i).contains(entry)) {
+                expected.set(i);
+            }
+        }
+        assertEquals(expected, new GroupsMatcher(groups).findContainingGroups(entry));
+    }
+
+    private static BibEntry createEntry(String keywords, String title, String groups) {
+        BibEntry entry = new BibEntry();
+        if (keywords != null) {
+            entry.setField("keywords", keywords);
+        }
+        if (title != null) {
+            entry.setField("title", title);
+        }
+        if (groups != null) {
+            entry.setField("groups", groups);
+        }
+        return entry;
+    }
+}
@@ -1,10 +1,13 @@
 package net.sf.jabref.logic.groups;
 
 import net.sf.jabref.importer.fileformat.ParseException;
+import net.sf.jabref.model.entry.BibEntry;
 
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class KeywordGroupTest {
 
@@ -22,4 +25,23 @@ public class KeywordGroupTest {
         assertEquals("KeywordGroup:myExplicitGroup;1;author;asdf;0;1;", group.toString());
     }
 
+    @Test
+    public void containsMatchesWholeWordsIgnoringCase() throws ParseException {
+        KeywordGroup group = new KeywordGroup("myKeywordGroup", "keywords", "Graph", false, false,
+                GroupHierarchyType.INDEPENDENT);
+        BibEntry entry = new BibEntry();
+        entry.setField("keywords", "graphs, GRAPH");
+        assertTrue(group.contains(entry));
+        entry.setField("keywords", "graphs, subgraph");
+        assertFalse(group.contains(entry));
+    }
+
+    @Test
+    public void dependsOnSearchFieldOnly() throws ParseException {
+        KeywordGroup group = new KeywordGroup("myKeywordGroup", "keywords", "Graph", false, false,
+                GroupHierarchyType.INDEPENDENT);
+        assertTrue(group.dependsOnField("keywords"));
+        assertFalse(group.dependsOnField("title"));
+    }
+
 }
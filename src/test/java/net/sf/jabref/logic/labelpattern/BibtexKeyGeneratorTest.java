@@ -0,0 +1,129 @@
+package net.sf.jabref.logic.labelpattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.MetaData;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BibtexKeyGeneratorTest {
+
+    private BibDatabase database;
+    private MetaData metaData;
+    private boolean alwaysAddLetter;
+    private boolean firstLetterA;
+    private String regex;
+
+
+    @BeforeClass
+    public static void setUpGlobalsPrefs() {
+        Globals.prefs = JabRefPreferences.getInstance();
+    }
+
+    @Before
+    public void setUp() {
+        alwaysAddLetter = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_ALWAYS_ADD_LETTER);
+        firstLetterA = Globals.prefs.getBoolean(JabRefPreferences.KEY_GEN_FIRST_LETTER_A);
+        regex = Globals.prefs.get(JabRefPreferences.KEY_PATTERN_REGEX);
+        Globals.prefs.putBoolean(JabRefPreferences.KEY_GEN_ALWAYS_ADD_LETTER, false);
+        Globals.prefs.putBoolean(JabRefPreferences.KEY_GEN_FIRST_LETTER_A, true);
+        Globals.prefs.put(JabRefPreferences.KEY_PATTERN_REGEX, "");
+
+        database = new BibDatabase();
+        metaData = new MetaData();
+        metaData.getLabelPattern().setDefaultValue("[auth:lower]-[year]");
+    }
+
+    @After
+    public void tearDown() {
+        Globals.prefs.putBoolean(JabRefPreferences.KEY_GEN_ALWAYS_ADD_LETTER, alwaysAddLetter);
+        Globals.prefs.putBoolean(JabRefPreferences.KEY_GEN_FIRST_LETTER_A, firstLetterA);
+        Globals.prefs.put(JabRefPreferences.KEY_PATTERN_REGEX, regex);
+    }
+
+    @Test
+    public void generateKeyAppliesPatternWithModifiers() {
+        BibEntry entry = createEntry("Donald E. Knuth", "1984", "old");
+        assertEquals("knuth-1984", new BibtexKeyGenerator(metaData, database).generateKey(entry));
+    }
+
+    @Test
+    public void generateKeyAppliesRegexReplacement() {
+        Globals.prefs.put(JabRefPreferences.KEY_PATTERN_REGEX, "-");
+        Globals.prefs.put(JabRefPreferences.KEY_PATTERN_REPLACEMENT, "");
+        BibEntry entry = createEntry("Donald E. Knuth", "1984", "old");
+        assertEquals("knuth1984", new BibtexKeyGenerator(metaData, database).generateKey(entry));
+    }
+
+    @Test
+    public void makeLabelAddsSuffixForKeyUsedByOtherEntry() {
+        database.insertEntry(createEntry("Someone Else", "1984", "knuth-1984"));
+        BibEntry entry = createEntry("Donald E. Knuth", "1984", "old");
+        database.insertEntry(entry);
+
+        new BibtexKeyGenerator(metaData, database).makeLabel(entry);
+
+        assertEquals("knuth-1984a", entry.getCiteKey());
+    }
+
+    @Test
+    public void makeLabelsAllocatesSuffixesInOrder() {
+        BibEntry first = createEntry("Donald E. Knuth", "1984", "knuth-1984b");
+        BibEntry second = createEntry("Donald E. Knuth", "1984", "knuth-1984");
+        BibEntry third = createEntry("Donald E. Knuth", "1984", null);
+        database.insertEntry(first);
+        database.insertEntry(second);
+        database.insertEntry(third);
+        database.insertEntry(createEntry("Someone Else", "1984", "knuth-1984a"));
+
+        new BibtexKeyGenerator(metaData, database).makeLabels(Arrays.asList(first, second, third));
+
+        assertEquals("knuth-1984", first.getCiteKey());
+        assertEquals("knuth-1984b", second.getCiteKey());
+        assertEquals("knuth-1984c", third.getCiteKey());
+        assertEquals(1, database.getNumberOfKeyOccurrences("knuth-1984b"));
+    }
+
+    @Test
+    public void generateUniqueKeysGivesSuffixesInOrderOfEntries() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            BibEntry entry = createEntry("Donald E. Knuth", "1984", "old" + i);
+            entries.add(entry);
+            database.insertEntry(entry);
+        }
+
+        List<String> keys = new BibtexKeyGenerator(metaData, database).generateUniqueKeys(entries);
+
+        assertEquals("knuth-1984", keys.get(0));
+        assertEquals("knuth-1984a", keys.get(1));
+        assertEquals("knuth-1984z", keys.get(26));
+        assertEquals("knuth-1984aa", keys.get(27));
+        assertEquals(keys.size(), new HashSet<>(keys).size());
+        // the keys are not set
+        assertEquals("old0", entries.get(0).getCiteKey());
+    }
+
+    private static BibEntry createEntry(String author, String year, String key) {
+        BibEntry entry = new BibEntry();
+        entry.setType("article");
+        entry.setField("author", author);
+        entry.setField("year", year);
+        if (key != null) {
+            entry.setCiteKey(key);
+        }
+        return entry;
+    }
+}
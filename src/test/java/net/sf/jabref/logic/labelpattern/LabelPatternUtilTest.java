@@ -3,10 +3,8 @@ package net.sf.jabref.logic.labelpattern;
 import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefPreferences;
 import net.sf.jabref.importer.fileformat.BibtexParser;
-import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
-import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -42,11 +40,6 @@ public class LabelPatternUtilTest {
         Globals.prefs = JabRefPreferences.getInstance();
     }
 
-    @Before
-    public void setUp() {
-        LabelPatternUtil.setDataBase(new BibDatabase());
-    }
-
     @Test
     public void testAndInAuthorName() {
         BibEntry entry0 = BibtexParser.singleFromString("@ARTICLE{kohn, author={Simon Holland}}");
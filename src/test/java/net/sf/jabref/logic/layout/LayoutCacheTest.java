@@ -0,0 +1,71 @@
+package net.sf.jabref.logic.layout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.logic.journals.JournalAbbreviationRepository;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class LayoutCacheTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private JournalAbbreviationRepository repository;
+
+
+    @Before
+    public void setUp() {
+        if (Globals.prefs == null) {
+            Globals.prefs = JabRefPreferences.getInstance();
+        }
+        repository = new JournalAbbreviationRepository();
+    }
+
+    @Test
+    public void sameTextIsCompiledOnce() throws IOException {
+        Layout layout = LayoutCache.getLayoutFromText("\\title", repository);
+        assertSame(layout, LayoutCache.getLayoutFromText("\\title", repository));
+        assertNotSame(layout, LayoutCache.getLayoutFromText("\\author", repository));
+    }
+
+    @Test
+    public void sameTextIsCompiledAgainForOtherRepository() throws IOException {
+        Layout layout = LayoutCache.getLayoutFromText("\\title", repository);
+        assertNotSame(layout, LayoutCache.getLayoutFromText("\\title", new JournalAbbreviationRepository()));
+    }
+
+    @Test
+    public void modifiedFileIsCompiledAgain() throws IOException {
+        File file = testFolder.newFile("test.layout");
+        Files.write(file.toPath(), "\\title".getBytes(StandardCharsets.UTF_8));
+        Layout layout = LayoutCache.getLayout(file.toURI().toURL(), repository).get();
+        assertSame(layout, LayoutCache.getLayout(file.toURI().toURL(), repository).get());
+
+        Files.write(file.toPath(), "\\author".getBytes(StandardCharsets.UTF_8));
+        file.setLastModified(file.lastModified() + 2000);
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "Author");
+        assertEquals("Author", LayoutCache.getLayout(file.toURI().toURL(), repository).get().doLayout(entry, null));
+    }
+
+    @Test
+    public void missingFileHasNoLayout() throws IOException {
+        File file = new File(testFolder.getRoot(), "missing.layout");
+        assertFalse(LayoutCache.getLayout(file.toURI().toURL(), repository).isPresent());
+    }
+}
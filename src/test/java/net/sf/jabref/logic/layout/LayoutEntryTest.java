@@ -101,9 +101,6 @@ public class LayoutEntryTest {
     @Test
     @Ignore
     public void testNoHighlighting() throws IOException {
-        // say that this bibtex object was found
-        mBTE.setSearchHit(true);
-
         String result = this.layout("<font face=\"arial\">\\begin{abstract}<BR><BR><b>Abstract: </b> \\format[HTMLChars]{\\abstract}\\end{abstract}</font>", mBTE, Optional.empty());
         String expecting = "<font face=\"arial\"><BR><BR><b>Abstract: </b> In this paper, we initiate a formal study of security on Android: Google's new open-source platform for mobile devices. Tags: Paper android google Open-Source Devices</font>";
 
@@ -115,9 +112,6 @@ public class LayoutEntryTest {
      */
     @Test
     public void testHighlightingOneWordCaseInsesitive() throws IOException {
-        // say that this bibtex object was found
-        mBTE.setSearchHit(true);
-
         Optional<Pattern> highlightPattern = Optional.of(Pattern.compile("(google)", Pattern.CASE_INSENSITIVE));
 
         String result = this.layout("<font face=\"arial\">\\begin{abstract}<BR><BR><b>Abstract: </b> \\format[HTMLChars]{\\abstract}\\end{abstract}</font>", mBTE, highlightPattern);
@@ -132,9 +126,6 @@ public class LayoutEntryTest {
      */
     @Test
     public void testHighlightingTwoWordsCaseInsesitive() throws IOException {
-        // say that this bibtex object was found
-        mBTE.setSearchHit(true);
-
         Optional<Pattern> highlightPattern = Optional.of(Pattern.compile("(Android|study)", Pattern.CASE_INSENSITIVE));
 
         String result = this.layout("<font face=\"arial\">\\begin{abstract}<BR><BR><b>Abstract: </b> \\format[HTMLChars]{\\abstract}\\end{abstract}</font>", mBTE, highlightPattern);
@@ -152,9 +143,6 @@ public class LayoutEntryTest {
      */
     @Test
     public void testHighlightingOneWordCaseSesitive() throws IOException {
-        // say that this bibtex object was found
-        mBTE.setSearchHit(true);
-
         Optional<Pattern> highlightPattern = Optional.of(Pattern.compile("(google)"));
 
         String result = this.layout("<font face=\"arial\">\\begin{abstract}<BR><BR><b>Abstract: </b> \\format[HTMLChars]{\\abstract}\\end{abstract}</font>", mBTE, highlightPattern);
@@ -169,9 +157,6 @@ public class LayoutEntryTest {
      */
     @Test
     public void testHighlightingMoreWordsCaseSesitive() throws IOException {
-        // say that this bibtex object was found
-        mBTE.setSearchHit(true);
-
         Optional<Pattern> highlightPattern = Optional.of(Pattern.compile("(Android|study|Open)", Pattern.CASE_INSENSITIVE));
 
         String highlightColor = "#3399FF;";
@@ -3,6 +3,7 @@ package net.sf.jabref.logic.layout;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.Collection;
+import java.util.Optional;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefPreferences;
@@ -109,4 +110,29 @@ public class LayoutTest {
                 "<font face=\"arial\"><BR><BR><b>Abstract: </b> &ntilde; &ntilde; &iacute; &#305; &#305;</font>",
                 layoutText);
     }
+
+    @Test
+    public void entryNumberIsTakenFromContext() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\format[Number]{\\title}"),
+                new JournalAbbreviationRepository()).getLayoutFromText();
+        LayoutContext context = new LayoutContext();
+        context.setEntryNumber(42);
+
+        Assert.assertEquals("42", layout.doLayout(new BibEntry(), null, Optional.empty(), context));
+        Assert.assertEquals("1", layout.doLayout(new BibEntry(), null));
+    }
+
+    @Test
+    public void groupIsStartedOncePerContext() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begingroup{year}\\year:\\endgroup{year}\\title "),
+                new JournalAbbreviationRepository()).getLayoutFromText();
+        BibEntry first = LayoutTest.bibtexString2BibtexEntry("@article{a, year={2016}, title={A}}");
+        BibEntry second = LayoutTest.bibtexString2BibtexEntry("@article{b, year={2016}, title={B}}");
+        LayoutContext context = new LayoutContext();
+
+        Assert.assertTrue(layout.startsGroups());
+        Assert.assertEquals("2016:A ", layout.doLayout(first, null, Optional.empty(), context));
+        Assert.assertEquals("B ", layout.doLayout(second, null, Optional.empty(), context));
+        Assert.assertEquals("2016:B ", layout.doLayout(second, null, Optional.empty(), new LayoutContext()));
+    }
 }
@@ -0,0 +1,85 @@
+package net.sf.jabref.logic.search;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchExecutorTest {
+
+    private static final int NUMBER_OF_ENTRIES = 5000;
+
+    private BibDatabase database;
+    private SearchExecutor searchExecutor;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        searchExecutor = new SearchExecutor();
+
+        database = new BibDatabase();
+        addEntries();
+    }
+
+    private void addEntries() {
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setField("title", "Title " + i);
+            entry.setField("journal", "Journal " + (i % 10));
+            database.insertEntry(entry);
+        }
+    }
+
+    private void assertSameMatchesAsScan(SearchQuery searchQuery) {
+        List<BibEntry> expected = database.getEntries().stream().filter(searchQuery::isMatch)
+                .collect(Collectors.toList());
+        assertEquals(expected, searchExecutor.search(searchQuery, database));
+    }
+
+    @Test
+    public void searchFindsMatchesInOrderOfDatabase() {
+        assertSameMatchesAsScan(new SearchQuery("journal 3", false, false));
+        assertSameMatchesAsScan(new SearchQuery("title=\"title 1\"", false, false));
+        assertSameMatchesAsScan(new SearchQuery("title [0-9]*7$", false, true));
+        assertSameMatchesAsScan(new SearchQuery("nothing", false, false));
+    }
+
+    @Test
+    public void cancelWithoutRunningSearchDoesNothing() {
+        searchExecutor.cancel();
+        assertSameMatchesAsScan(new SearchQuery("journal 3", false, false));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancelStopsRunningSearch() {
+        database = new BibDatabase();
+        database.insertEntry(new CancellingEntry());
+        addEntries();
+
+        searchExecutor.search(new SearchQuery(".*", false, true), database);
+    }
+
+
+    /**
+     * Cancels the running search when it is checked.
+     */
+    private class CancellingEntry extends BibEntry {
+
+        @Override
+        public Set<String> getFieldNames() {
+            searchExecutor.cancel();
+            return super.getFieldNames();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.sf.jabref.logic.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchIndexTest {
+
+    private static final List<String> QUERIES = Arrays.asList("marine", "Marine", "shields 2001", "ma", "unknown",
+            "{S}hields", "author=shields", "author==\"Shields\"", "title=marine and year=2001",
+            "title=marine or author=smith", "not title=marine", "title!=marine", "entrytype=article",
+            "anyfield=marine", "author=\"Sm\"", "müller", "title=müller");
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        database = new BibDatabase();
+        first = createEntry("article", "Marine {B}iology", "Shields, Ann", "2001");
+        second = createEntry("book", "Population dynamics", "Smith, John", "2002");
+        database.insertEntry(first);
+        database.insertEntry(second);
+        database.insertEntry(createEntry("misc", "Über M\\\"uller", "M{\\\"u}ller, Hans", "1999"));
+        database.insertEntry(createEntry("article", "Marine mammals", "Smithers, Mary", "2001"));
+    }
+
+    private static BibEntry createEntry(String type, String title, String author, String year) {
+        BibEntry entry = new BibEntry();
+        entry.setType(type);
+        entry.setField("title", title);
+        entry.setField("author", author);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    private void assertSameMatchesAsScan() {
+        for (String query : QUERIES) {
+            for (boolean caseSensitive : new boolean[] {false, true}) {
+                SearchQuery searchQuery = new SearchQuery(query, caseSensitive, false);
+                List<BibEntry> expected = database.getEntries().stream().filter(searchQuery::isMatch)
+                        .collect(Collectors.toList());
+                assertEquals(searchQuery.toString(), expected, searchQuery.getMatches(database));
+            }
+        }
+    }
+
+    @Test
+    public void indexFindsSameEntriesAsScan() {
+        assertSameMatchesAsScan();
+    }
+
+    @Test
+    public void indexFindsChangedEntries() {
+        assertSameMatchesAsScan();
+
+        second.setField("title", "Marine populations");
+        first.clearField("author");
+        assertSameMatchesAsScan();
+        assertEquals(Arrays.asList(first, second), new SearchQuery("title=marine and year=200", false, false)
+                .getMatches(database).subList(0, 2));
+    }
+
+    @Test
+    public void indexFindsAddedEntriesAndForgetsRemovedEntries() {
+        assertSameMatchesAsScan();
+
+        database.removeEntry(first);
+        database.insertEntry(createEntry("article", "Shields of marine animals", "Doe, Jane", "2010"));
+        assertSameMatchesAsScan();
+    }
+
+    @Test
+    public void indexIsCompactedAfterManyChanges() {
+        for (int i = 0; i < 2500; i++) {
+            second.setField("note", "note " + i);
+            new SearchQuery("note", false, false).getMatches(database);
+        }
+        assertSameMatchesAsScan();
+        assertEquals(Arrays.asList(second), new SearchQuery("note 2499", false, false).getMatches(database));
+    }
+
+    @Test
+    public void regularExpressionSearchScansAllEntries() {
+        assertEquals(Arrays.asList(first), new SearchQuery("ma.ine b", false, true).getMatches(database));
+    }
+}
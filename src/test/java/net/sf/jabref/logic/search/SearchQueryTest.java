@@ -38,4 +38,34 @@ public class SearchQueryTest {
         assertTrue(searchQuery.isMatch(entry));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGrammarSearchForEntryTypeAndNegation() {
+        BibEntry entry = new BibEntry();
+        entry.setType("phdthesis");
+        entry.setField("author", "Smith");
+        assertTrue(new SearchQuery("entrytype=phdthesis and author=smith", false, false).isMatch(entry));
+        assertFalse(new SearchQuery("not entrytype=phdthesis", false, false).isMatch(entry));
+        assertTrue(new SearchQuery("title!=anything", false, false).isMatch(entry));
+    }
+
+    @Test
+    public void testCompiledQueryIsReusedForSeveralEntries() {
+        SearchQuery searchQuery = new SearchQuery("efficient search", false, false);
+        BibEntry matching = new BibEntry();
+        matching.setField("title", "Efficient {S}earch");
+        BibEntry other = new BibEntry();
+        other.setField("title", "Efficient parsing");
+
+        assertTrue(searchQuery.isMatch(matching));
+        assertFalse(searchQuery.isMatch(other));
+        assertTrue(searchQuery.isMatch(matching));
+    }
+
+    @Test
+    public void testInvalidRegularExpressionMatchesNothing() {
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "a(b");
+        assertFalse(new SearchQuery("a(b", false, true).isMatch(entry));
+    }
+
+}
@@ -0,0 +1,62 @@
+package net.sf.jabref.logic.search;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SearchTextCacheTest {
+
+    private BibEntry entry;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+        entry = new BibEntry();
+        entry.setField("title", "The {L}atex \\emph{Title}");
+    }
+
+    @Test
+    public void latexCommandsAreRemoved() {
+        assertEquals("The Latex Title", SearchTextCache.getLatexFreeField(entry, "title"));
+        assertEquals("the latex title", SearchTextCache.getLatexFreeLowerCaseField(entry, "title"));
+        assertEquals("The Latex Title", SearchTextCache.getDoublyLatexFreeField(entry, "title"));
+    }
+
+    @Test
+    public void missingFieldIsNull() {
+        assertNull(SearchTextCache.getLatexFreeField(entry, "author"));
+    }
+
+    @Test
+    public void normalizedValueIsCached() {
+        assertSame(SearchTextCache.getLatexFreeField(entry, "title"), SearchTextCache.getLatexFreeField(entry, "title"));
+    }
+
+    @Test
+    public void changedFieldIsNormalizedAgain() {
+        SearchTextCache.getLatexFreeLowerCaseField(entry, "title");
+        entry.setField("title", "Another {T}itle");
+        assertEquals("another title", SearchTextCache.getLatexFreeLowerCaseField(entry, "title"));
+
+        entry.clearField("title");
+        assertNull(SearchTextCache.getLatexFreeLowerCaseField(entry, "title"));
+    }
+
+    @Test
+    public void entriesWithEqualContentAreCachedSeparately() {
+        BibEntry other = new BibEntry();
+        other.setField("title", "The {L}atex \\emph{Title}");
+        SearchTextCache.getLatexFreeField(entry, "title");
+        other.setField("title", "Other");
+        assertEquals("The Latex Title", SearchTextCache.getLatexFreeField(entry, "title"));
+        assertEquals("Other", SearchTextCache.getLatexFreeField(other, "title"));
+    }
+}
@@ -0,0 +1,83 @@
+package net.sf.jabref.logic.util;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompressedBitSetTest {
+
+    @Test
+    public void setAndClearValues() {
+        CompressedBitSet bitSet = new CompressedBitSet();
+        bitSet.set(3);
+        bitSet.set(70000);
+        bitSet.set(3);
+        Assert.assertTrue(bitSet.get(3));
+        Assert.assertTrue(bitSet.get(70000));
+        Assert.assertFalse(bitSet.get(4));
+        Assert.assertEquals(2, bitSet.cardinality());
+
+        bitSet.clear(3);
+        bitSet.clear(70000);
+        Assert.assertTrue(bitSet.isEmpty());
+        Assert.assertEquals("{}", bitSet.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setNegativeValueThrowsException() {
+        new CompressedBitSet().set(-1);
+    }
+
+    @Test
+    public void sparseAndDenseChunksBehaveLikeBitSet() {
+        Random random = new Random(42);
+        for (int density : new int[] {2, 10, 1000}) {
+            BitSet expectedFirst = new BitSet();
+            BitSet expectedSecond = new BitSet();
+            CompressedBitSet first = new CompressedBitSet();
+            CompressedBitSet second = new CompressedBitSet();
+            for (int value = 0; value < 200000; value++) {
+                if (random.nextInt(density) == 0) {
+                    expectedFirst.set(value);
+                    first.set(value);
+                }
+                if (random.nextInt(density) == 0) {
+                    expectedSecond.set(value);
+                    second.set(value);
+                }
+            }
+            for (int i = 0; i < 5000; i++) {
+                int value = random.nextInt(200000);
+                expectedFirst.clear(value);
+                first.clear(value);
+            }
+            assertSameValues(expectedFirst, first);
+
+            CompressedBitSet intersection = first.copy();
+            intersection.and(second);
+            BitSet expectedIntersection = (BitSet) expectedFirst.clone();
+            expectedIntersection.and(expectedSecond);
+            assertSameValues(expectedIntersection, intersection);
+
+            CompressedBitSet union = first.copy();
+            union.or(second);
+            BitSet expectedUnion = (BitSet) expectedFirst.clone();
+            expectedUnion.or(expectedSecond);
+            assertSameValues(expectedUnion, union);
+
+            // the operands are not changed
+            assertSameValues(expectedFirst, first);
+            assertSameValues(expectedSecond, second);
+        }
+    }
+
+    private static void assertSameValues(BitSet expected, CompressedBitSet actual) {
+        Assert.assertEquals(expected.cardinality(), actual.cardinality());
+        BitSet values = new BitSet();
+        actual.forEach(values::set);
+        Assert.assertEquals(expected, values);
+        expected.stream().forEach(value -> Assert.assertTrue(actual.get(value)));
+    }
+}
@@ -0,0 +1,112 @@
+package net.sf.jabref.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefPreferences;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.IdGenerator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateCandidateIndexTest {
+
+    private BibEntry article;
+    private BibEntry sameArticle;
+    private BibEntry otherArticle;
+    private BibEntry book;
+
+
+    @Before
+    public void setUp() {
+        Globals.prefs = JabRefPreferences.getInstance();
+
+        article = createArticle("Donald E. Knuth", "The Art of Computer Programming", "1968");
+        sameArticle = createArticle("Knuth, Donald", "The Art of Computer Programing", "1968");
+        otherArticle = createArticle("Alan Turing", "On Computable Numbers", "1936");
+        book = new BibEntry(IdGenerator.next(), "book");
+        book.setField("author", "Donald E. Knuth");
+        book.setField("title", "The Art of Computer Programming");
+        book.setField("year", "1968");
+    }
+
+    private static BibEntry createArticle(String author, String title, String year) {
+        BibEntry entry = new BibEntry(IdGenerator.next(), "article");
+        entry.setField("author", author);
+        entry.setField("title", title);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    @Test
+    public void similarEntriesAreCandidates() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(article, otherArticle, sameArticle));
+        assertEquals(Collections.singletonList(sameArticle), index.getCandidates(article));
+    }
+
+    @Test
+    public void entryIsNotCandidateOfItself() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Collections.singletonList(article));
+        assertTrue(index.getCandidates(article).isEmpty());
+    }
+
+    @Test
+    public void entriesOfDifferentTypesAreNoCandidates() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(article, book));
+        assertTrue(index.getCandidates(article).isEmpty());
+    }
+
+    @Test
+    public void entriesWithSameDoiAreCandidates() {
+        BibEntry first = new BibEntry(IdGenerator.next(), "article");
+        first.setField("doi", "10.1000/182");
+        BibEntry second = new BibEntry(IdGenerator.next(), "article");
+        second.setField("doi", "http://dx.doi.org/10.1000/182");
+        second.setField("title", "Something completely different");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(first, second));
+        assertEquals(Collections.singletonList(second), index.getCandidates(first));
+    }
+
+    @Test
+    public void entriesWithoutKeysAreCandidatesOfAllEntriesOfSameType() {
+        BibEntry empty = new BibEntry(IdGenerator.next(), "article");
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(article, empty, otherArticle));
+
+        assertEquals(Arrays.asList(article, otherArticle), index.getCandidates(empty));
+        assertEquals(Collections.singletonList(empty), index.getCandidates(otherArticle));
+    }
+
+    @Test
+    public void subsequentCandidatesOnlyContainLaterEntries() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(article, otherArticle, sameArticle));
+        assertEquals(Collections.singletonList(sameArticle), index.getSubsequentCandidates(0));
+        assertTrue(index.getSubsequentCandidates(1).isEmpty());
+        assertTrue(index.getSubsequentCandidates(2).isEmpty());
+    }
+
+    @Test
+    public void containsDuplicateFindsDuplicateInDatabase() {
+        BibDatabase database = new BibDatabase();
+        database.insertEntry(otherArticle);
+        database.insertEntry(article);
+
+        Optional<BibEntry> duplicate = DuplicateCheck.containsDuplicate(database, sameArticle, BibDatabaseMode.BIBTEX);
+        assertEquals(Optional.of(article), duplicate);
+    }
+
+    @Test
+    public void containsDuplicateWithoutDuplicateReturnsEmpty() {
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Collections.singletonList(otherArticle));
+        assertFalse(DuplicateCheck.containsDuplicate(index, article, BibDatabaseMode.BIBTEX).isPresent());
+    }
+}
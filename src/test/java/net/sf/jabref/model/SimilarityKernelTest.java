@@ -0,0 +1,121 @@
+package net.sf.jabref.model;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SimilarityKernelTest {
+
+    private SimilarityKernel kernel;
+
+
+    @Before
+    public void setUp() {
+        kernel = new SimilarityKernel();
+    }
+
+    private static int editDistance(String s1, String s2) {
+        int[][] distance = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) {
+            for (int j = 0; j <= s2.length(); j++) {
+                if (i == 0) {
+                    distance[i][j] = j;
+                } else if (j == 0) {
+                    distance[i][j] = i;
+                } else {
+                    int substitution = distance[i - 1][j - 1] + (s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1);
+                    distance[i][j] = Math.min(Math.min(distance[i - 1][j], distance[i][j - 1]) + 1, substitution);
+                }
+            }
+        }
+        return distance[s1.length()][s2.length()];
+    }
+
+    @Test
+    public void boundedEditDistanceEqualsEditDistanceWithinBound() {
+        assertEquals(3, kernel.boundedEditDistance("kitten", "sitting", 3));
+        assertEquals(0, kernel.boundedEditDistance("same", "same", 0));
+        assertEquals(4, kernel.boundedEditDistance("", "four", 4));
+    }
+
+    @Test
+    public void boundedEditDistanceStopsAboveBound() {
+        assertEquals(3, kernel.boundedEditDistance("kitten", "sitting", 2));
+        assertEquals(1, kernel.boundedEditDistance("a", "abc", 0));
+    }
+
+    @Test
+    public void boundedEditDistanceMatchesFullComputationForRandomStrings() {
+        Random random = new Random(1);
+        for (int run = 0; run < 2000; run++) {
+            String s1 = randomString(random);
+            String s2 = randomString(random);
+            int maxDistance = random.nextInt(6);
+            int expected = Math.min(editDistance(s1, s2), maxDistance + 1);
+            assertEquals(s1 + " / " + s2, expected, kernel.boundedEditDistance(s1, s2, maxDistance));
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void similarWordsWithinQuarterOfLength() {
+        assertTrue(kernel.isSimilarWord("duplicate", "duplikate"));
+        assertTrue(kernel.isSimilarWord("", ""));
+        assertFalse(kernel.isSimilarWord("cat", "dog"));
+        assertFalse(kernel.isSimilarWord("abcd", "ab"));
+    }
+
+    @Test
+    public void tokenizeSplitsLikeStringSplit() {
+        assertArrayEquals("a  b\tc ".toLowerCase().split("\\s"), SimilarityKernel.tokenize("a  B\tc "));
+        assertArrayEquals("".split("\\s"), SimilarityKernel.tokenize(""));
+    }
+
+    @Test
+    public void tokensAreCached() {
+        assertSame(kernel.getTextTokens("A Title"), kernel.getTextTokens("A Title"));
+        assertArrayEquals(new String[] {"a", "title"}, kernel.getTextTokens("A Title"));
+    }
+
+    @Test
+    public void journalTokensIgnorePeriods() {
+        assertArrayEquals(new String[] {"phys", "rev"}, kernel.getJournalTokens("Phys. Rev."));
+    }
+
+    @Test
+    public void correlatesByWordsAgreesWithCorrelation() {
+        String[] words1 = SimilarityKernel.tokenize("Characterization of Calanthe calanthoides");
+        String[] words2 = SimilarityKernel.tokenize("Characterization of Calanthe calanthoides var");
+        String[] words3 = SimilarityKernel.tokenize("Some completely different title");
+
+        assertEquals(1.0, kernel.correlateByWords(words1, words2), 0.01);
+        assertTrue(kernel.correlatesByWords(words1, words2, 0.8));
+        assertEquals(0.0, kernel.correlateByWords(words1, words3), 0.01);
+        assertFalse(kernel.correlatesByWords(words1, words3, 0.8));
+        assertFalse(kernel.correlatesByWords(new String[0], words1, 0.8));
+    }
+
+    @Test
+    public void equalPagesIgnoresKindOfSeparator() {
+        assertTrue(SimilarityKernel.equalPages("334--337", "334 - 337"));
+        assertTrue(SimilarityKernel.equalPages("334-337", "334 -- 337"));
+        assertFalse(SimilarityKernel.equalPages("334-337", "334-338"));
+        assertFalse(SimilarityKernel.equalPages("334", "334-"));
+        assertTrue(SimilarityKernel.equalPages("", ""));
+    }
+}
@@ -4,6 +4,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 
 import net.sf.jabref.Globals;
@@ -211,4 +212,120 @@ public class BibDatabaseTest {
         BibEntry actualEntry = tel.getBibEntry();
         assertEquals(expectedEntry, actualEntry);
     }
+
+    @Test
+    public void setCiteKeysForEntriesPostsOneEventForChangedEntries() {
+        BibDatabase database = new BibDatabase();
+        BibEntry first = new BibEntry();
+        first.setCiteKey("first");
+        BibEntry second = new BibEntry();
+        second.setCiteKey("unchanged");
+        BibEntry third = new BibEntry();
+        database.insertEntry(first);
+        database.insertEntry(second);
+        database.insertEntry(third);
+        TestEventListener tel = new TestEventListener();
+        database.registerListener(tel);
+
+        database.setCiteKeysForEntries(Arrays.asList(first, second, third), Arrays.asList("new", "unchanged", "third"));
+
+        assertEquals(Collections.singletonList(Arrays.asList(first, third)), tel.getChangedEntries());
+        assertEquals("new", first.getCiteKey());
+        assertEquals("third", third.getCiteKey());
+        assertEquals(0, database.getNumberOfKeyOccurrences("first"));
+        assertEquals(1, database.getNumberOfKeyOccurrences("new"));
+    }
+
+    @Test
+    public void setCiteKeysForEntriesDoesNotNotifyListenersOfEntries() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("old");
+        database.insertEntry(entry);
+        assertEquals(entry, database.getEntryByKey("old"));
+        TestEventListener tel = new TestEventListener();
+        entry.registerListener(tel);
+
+        database.setCiteKeysForEntries(Collections.singletonList(entry), Collections.singletonList("new"));
+
+        assertNull(tel.getBibEntry());
+        assertNull(database.getEntryByKey("old"));
+        assertEquals(entry, database.getEntryByKey("new"));
+    }
+
+    @Test
+    public void getEntryByKeyFindsInsertedEntry() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key");
+        database.insertEntry(entry);
+
+        assertEquals(entry, database.getEntryByKey("key"));
+        assertEquals(Collections.singletonList(entry), database.getEntriesByKey("key"));
+        assertNull(database.getEntryByKey("otherKey"));
+    }
+
+    @Test
+    public void getEntryByKeyFollowsChangedKey() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("oldKey");
+        database.insertEntry(entry);
+
+        entry.setCiteKey("newKey");
+        assertNull(database.getEntryByKey("oldKey"));
+        assertEquals(entry, database.getEntryByKey("newKey"));
+
+        database.setCiteKeyForEntry(entry, null);
+        assertNull(database.getEntryByKey("newKey"));
+    }
+
+    @Test
+    public void getEntryByKeyIgnoresRemovedEntry() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+
+        assertNull(database.getEntryByKey("key"));
+        assertEquals(Collections.emptyList(), database.getEntriesByKey("key"));
+
+        // the entry is not tracked anymore after it has been removed
+        entry.setCiteKey("otherKey");
+        assertNull(database.getEntryByKey("otherKey"));
+    }
+
+    @Test
+    public void getEntriesByKeyReturnsAllEntriesWithKeyInInsertionOrder() {
+        BibDatabase database = new BibDatabase();
+        BibEntry first = new BibEntry();
+        first.setCiteKey("key");
+        first.setField("title", "first");
+        BibEntry second = new BibEntry();
+        second.setCiteKey("key");
+        second.setField("title", "second");
+        database.insertEntry(first);
+        database.insertEntry(second);
+
+        assertEquals(Arrays.asList(first, second), database.getEntriesByKey("key"));
+        assertEquals(second, database.getEntryByKey("key"));
+    }
+
+    @Test
+    public void getEntryByKeyFollowsEntrySharedWithOtherDatabase() {
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("key");
+        database.insertEntry(entry);
+        assertEquals(entry, database.getEntryByKey("key"));
+
+        // creating the other database gives the entry a new id
+        BibDatabases.createDatabase(Collections.singletonList(entry));
+        entry.setCiteKey("newKey");
+        assertEquals(entry, database.getEntryByKey("newKey"));
+
+        database.removeEntry(entry);
+        assertNull(database.getEntryByKey("newKey"));
+    }
 }
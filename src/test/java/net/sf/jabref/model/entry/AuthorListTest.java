@@ -35,6 +35,16 @@ public class AuthorListTest {
         Assert.assertFalse(al == AuthorList.parse("Smith"));
     }
 
+    @Test
+    public void testCacheStatistics() {
+        long hits = AuthorList.getCacheStatistics().hitCount();
+        long misses = AuthorList.getCacheStatistics().missCount();
+        AuthorList.parse("Statistics, Counted");
+        AuthorList.parse("Statistics, Counted");
+        Assert.assertEquals(misses + 1, AuthorList.getCacheStatistics().missCount());
+        Assert.assertEquals(hits + 1, AuthorList.getCacheStatistics().hitCount());
+    }
+
     @SuppressWarnings("unused")
 	@Test
     public void testFixAuthorFirstNameFirstCommas() {
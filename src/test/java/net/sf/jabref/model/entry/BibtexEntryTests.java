@@ -333,20 +333,6 @@ public class BibtexEntryTests {
         Assert.assertFalse(emptyEntry.hasChanged());
     }
 
-    @Test
-    public void testGroupAndSearchHits() {
-        BibEntry be = new BibEntry();
-        be.setGroupHit(true);
-        Assert.assertTrue(be.isGroupHit());
-        be.setGroupHit(false);
-        Assert.assertFalse(be.isGroupHit());
-        be.setSearchHit(true);
-        Assert.assertTrue(be.isSearchHit());
-        be.setSearchHit(false);
-        Assert.assertFalse(be.isSearchHit());
-
-    }
-
     @Test
     public void testCiteKeyAndID() {
         BibEntry be = new BibEntry();